@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+// Generate a synthetic reactor:
+// - report-plugins: report plugins, each with report goals and a probe goal recording JVM statistics,
+// - reactor: a parent hierarchy, each level inheriting and extending reporting configuration of the previous one,
+//   the deepest level aggregating the modules.
+
+int modules = Integer.getInteger( 'synthetic.modules', 10 )
+int reportPlugins = Integer.getInteger( 'synthetic.reportPlugins', 5 )
+int reportSets = Integer.getInteger( 'synthetic.reportSets', 3 )
+int depth = Integer.getInteger( 'synthetic.depth', 4 )
+
+String groupId = 'org.apache.maven.shared.maven-reporting-exec.its'
+String version = '1.0-SNAPSHOT'
+String header = new File( basedir, 'pom.xml' ).text.find( /(?s)<\?xml.*?-->/ )
+
+def write = { File file, String content ->
+    file.parentFile.mkdirs()
+    file.text = content
+}
+
+def pom = { String parent, String artifactId, String packaging, String content ->
+    """${header}
+
+<project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+  <modelVersion>4.0.0</modelVersion>
+
+  <parent>
+    <groupId>${groupId}</groupId>
+    <artifactId>${parent}</artifactId>
+    <version>${version}</version>
+  </parent>
+
+  <artifactId>${artifactId}</artifactId>
+  <packaging>${packaging}</packaging>
+${content}
+</project>
+"""
+}
+
+def pluginArtifactId = { int i -> "synthetic-report${i}-maven-plugin" }
+
+// report plugins
+File pluginsDir = new File( basedir, 'report-plugins' )
+write( new File( pluginsDir, 'pom.xml' ), pom( 'synthetic-reactor', 'report-plugins', 'pom', """
+  <modules>
+${( 1..reportPlugins ).collect { "    <module>${pluginArtifactId( it )}</module>" }.join( '\n' )}
+  </modules>
+""" ) )
+
+for ( int i = 1; i <= reportPlugins; i++ )
+{
+    File pluginDir = new File( pluginsDir, pluginArtifactId( i ) )
+    write( new File( pluginDir, 'pom.xml' ), pom( 'report-plugins', pluginArtifactId( i ), 'maven-plugin', """
+  <dependencies>
+    <dependency>
+      <groupId>org.apache.maven.reporting</groupId>
+      <artifactId>maven-reporting-impl</artifactId>
+      <version>4.0.0</version>
+    </dependency>
+    <dependency>
+      <groupId>org.apache.maven</groupId>
+      <artifactId>maven-plugin-api</artifactId>
+      <version>\${mavenVersion}</version>
+      <scope>provided</scope>
+    </dependency>
+    <dependency>
+      <groupId>org.apache.maven.plugin-tools</groupId>
+      <artifactId>maven-plugin-annotations</artifactId>
+      <version>\${mavenPluginToolsVersion}</version>
+      <scope>provided</scope>
+    </dependency>
+  </dependencies>
+
+  <build>
+    <plugins>
+      <plugin>
+        <groupId>org.apache.maven.plugins</groupId>
+        <artifactId>maven-plugin-plugin</artifactId>
+        <configuration>
+          <goalPrefix>synthetic-report${i}</goalPrefix>
+        </configuration>
+      </plugin>
+    </plugins>
+  </build>
+""" ) )
+
+    String packageName = "org.apache.maven.shared.it.synthetic${i}"
+    File sourceDir = new File( pluginDir, 'src/main/java/' + packageName.replace( '.', '/' ) )
+    for ( int j = 1; j <= reportSets; j++ )
+    {
+        write( new File( sourceDir, "Report${j}.java" ), """package ${packageName};
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.reporting.AbstractMavenReport;
+
+/**
+ * Synthetic report displaying its inherited configuration.
+ */
+@Mojo( name = "report${j}", defaultPhase = LifecyclePhase.SITE, threadSafe = true )
+public class Report${j}
+    extends AbstractMavenReport
+{
+    @Parameter
+    private Map<String, String> levels;
+
+    @Parameter
+    private List<String> items;
+
+    @Parameter
+    private String reportSet;
+
+    public String getOutputName()
+    {
+        return "synthetic${i}-report${j}";
+    }
+
+    public String getName( Locale locale )
+    {
+        return "Synthetic ${i} report ${j}";
+    }
+
+    public String getDescription( Locale locale )
+    {
+        return "Synthetic report ${j} of plugin ${i}";
+    }
+
+    @Override
+    protected void executeReport( Locale locale )
+    {
+        getSink().verbatim( null );
+        getSink().text( "levels = " + levels + "\\nitems = " + items + "\\nreportSet = " + reportSet );
+        getSink().verbatim_();
+    }
+}
+""" )
+    }
+
+    if ( i == 1 )
+    {
+        write( new File( sourceDir, 'ProbeReport.java' ), """package ${packageName};
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.reporting.AbstractMavenReport;
+import org.apache.maven.reporting.MavenReportException;
+
+/**
+ * Report recording the JVM statistics of the build, for the last module to be rendered.
+ */
+@Mojo( name = "probe", defaultPhase = LifecyclePhase.SITE, threadSafe = true )
+public class ProbeReport
+    extends AbstractMavenReport
+{
+    @Parameter( defaultValue = "\${session.executionRootDirectory}/target/synthetic-reactor-probe.properties" )
+    private File probeFile;
+
+    public String getOutputName()
+    {
+        return "synthetic-probe";
+    }
+
+    public String getName( Locale locale )
+    {
+        return "Synthetic probe";
+    }
+
+    public String getDescription( Locale locale )
+    {
+        return "JVM statistics of the build";
+    }
+
+    @Override
+    protected void executeReport( Locale locale )
+        throws MavenReportException
+    {
+        long peakHeap = 0;
+        for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() )
+        {
+            if ( pool.getType() == MemoryType.HEAP )
+            {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty( "uptime", Long.toString( ManagementFactory.getRuntimeMXBean().getUptime() ) );
+        properties.setProperty( "peakHeap", Long.toString( peakHeap ) );
+        properties.setProperty( "loadedClasses",
+                                Integer.toString( ManagementFactory.getClassLoadingMXBean().getLoadedClassCount() ) );
+        properties.setProperty( "totalLoadedClasses",
+                                Long.toString( ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() ) );
+
+        probeFile.getParentFile().mkdirs();
+        try ( OutputStream out = new FileOutputStream( probeFile ) )
+        {
+            properties.store( out, "Synthetic reactor probe" );
+        }
+        catch ( IOException e )
+        {
+            throw new MavenReportException( "Unable to write " + probeFile, e );
+        }
+
+        getSink().text( "Peak heap: " + peakHeap );
+    }
+}
+""" )
+    }
+}
+
+// parent hierarchy: each level declares every report plugin, adding a level to the inherited configuration
+def reporting = { int level ->
+    """
+  <reporting>
+    <plugins>
+${( 1..reportPlugins ).collect { int i -> """      <plugin>
+        <groupId>${groupId}</groupId>
+        <artifactId>${pluginArtifactId( i )}</artifactId>
+        <version>${version}</version>
+        <configuration>
+          <levels>
+            <level${level}>plugin ${i} at level ${level}</level${level}>
+          </levels>
+          <items combine.children="append">
+${( 1..reportSets ).collect { "            <item>level ${level} item ${it}</item>" }.join( '\n' )}
+          </items>
+        </configuration>
+        <reportSets>
+${( 1..reportSets ).collect { int j -> """          <reportSet>
+            <id>report-set${j}</id>
+            <reports>
+              <report>report${j}</report>
+            </reports>
+            <configuration>
+              <reportSet>report-set${j} at level ${level}</reportSet>
+            </configuration>
+          </reportSet>""" }.join( '\n' )}${( i == 1 ) ? """
+          <reportSet>
+            <id>probe</id>
+            <reports>
+              <report>probe</report>
+            </reports>
+          </reportSet>""" : ''}
+        </reportSets>
+      </plugin>""" }.join( '\n' )}
+    </plugins>
+  </reporting>
+"""
+}
+
+File levelDir = new File( basedir, 'reactor' )
+String parentId = 'synthetic-reactor'
+for ( int level = 1; level <= depth; level++ )
+{
+    String artifactId = "level${level}"
+    String children = ( level < depth )
+        ? "    <module>level${level + 1}</module>"
+        : ( 1..modules ).collect { "    <module>module${it}</module>" }.join( '\n' )
+    write( new File( levelDir, 'pom.xml' ), pom( parentId, artifactId, 'pom', """
+  <modules>
+${children}
+  </modules>
+${reporting( level )}""" ) )
+
+    if ( level < depth )
+    {
+        levelDir = new File( levelDir, "level${level + 1}" )
+        parentId = artifactId
+    }
+    else
+    {
+        for ( int m = 1; m <= modules; m++ )
+        {
+            File moduleDir = new File( levelDir, "module${m}" )
+            write( new File( moduleDir, 'pom.xml' ), pom( artifactId, "module${m}", 'jar', '' ) )
+            write( new File( moduleDir, "src/main/java/synthetic/Module${m}.java" ),
+                   "package synthetic;\n\npublic class Module${m}\n{\n}\n" )
+        }
+    }
+}
+
+// record the reactor size for verify.groovy
+Properties size = new Properties()
+size.setProperty( 'modules', Integer.toString( modules ) )
+size.setProperty( 'reportPlugins', Integer.toString( reportPlugins ) )
+size.setProperty( 'reportSets', Integer.toString( reportSets ) )
+size.setProperty( 'depth', Integer.toString( depth ) )
+new File( basedir, 'synthetic-reactor.properties' ).withOutputStream { size.store( it, 'Synthetic reactor size' ) }
+
+println "Generated synthetic reactor: ${modules} modules, ${reportPlugins} report plugins, ${reportSets} report sets, depth ${depth}"
+
+return true
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+Properties size = new Properties()
+new File( basedir, 'synthetic-reactor.properties' ).withInputStream { size.load( it ) }
+int modules = size.modules as int
+int reportPlugins = size.reportPlugins as int
+int reportSets = size.reportSets as int
+int depth = size.depth as int
+
+// every report of every module has been rendered, with configuration inherited from every level
+File moduleParentDir = new File( basedir, 'reactor' )
+for ( int level = 2; level <= depth; level++ )
+{
+    moduleParentDir = new File( moduleParentDir, "level${level}" )
+}
+for ( int m = 1; m <= modules; m++ )
+{
+    for ( int i = 1; i <= reportPlugins; i++ )
+    {
+        for ( int j = 1; j <= reportSets; j++ )
+        {
+            File report = new File( moduleParentDir, "module${m}/target/site/synthetic${i}-report${j}.html" )
+            assert report.exists() : "missing ${report}"
+            String content = report.text
+            assert content.contains( "level${depth}=plugin ${i} at level ${depth}" )
+            assert content.contains( "level1=plugin ${i} at level 1" )
+            assert content.contains( "reportSet = report-set${j} at level ${depth}" )
+        }
+    }
+}
+
+// timings and JVM statistics of the site build, the last invocation
+String log = new File( basedir, 'build.log' ).text
+def totalTimes = ( log =~ /Total time:\s+(.+)/ ).collect { it[1].trim() }
+String wallTime = totalTimes ? totalTimes.last() : 'unknown'
+
+Properties probe = new Properties()
+new File( basedir, 'target/synthetic-reactor-probe.properties' ).withInputStream { probe.load( it ) }
+long peakHeap = probe.peakHeap as long
+
+println "Synthetic reactor of ${modules} modules, ${reportPlugins} report plugins, ${reportSets} report sets," +
+    " depth ${depth}: wall time ${wallTime}, peak heap ${peakHeap >> 20} MB," +
+    " ${probe.loadedClasses} loaded classes (${probe.totalLoadedClasses} in total)"
+
+// optional budgets, to fail on scaling regressions
+String maxPeakHeap = System.getProperty( 'synthetic.maxPeakHeapMb' )
+if ( maxPeakHeap )
+{
+    assert ( peakHeap >> 20 ) <= ( maxPeakHeap as long ) : "peak heap ${peakHeap >> 20} MB exceeds ${maxPeakHeap} MB"
+}
+String maxLoadedClasses = System.getProperty( 'synthetic.maxLoadedClasses' )
+if ( maxLoadedClasses )
+{
+    assert ( probe.loadedClasses as long ) <= ( maxLoadedClasses as long ) :
+        "${probe.loadedClasses} loaded classes exceed ${maxLoadedClasses}"
+}
+
+return true
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link DefaultMavenReportExecutor#buildMavenReports(MavenReportExecutorRequest)}, with plugin
+ * resolution, realm setup, mojo configuration and forked executions done in memory: it measures the executor own
+ * overhead, which grows with the count of report plugins.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildMavenReportsBenchmark {
+    @Param({"1", "20", "100"})
+    private int reportPlugins;
+
+    private ClassRealm realm;
+
+    private DefaultMavenReportExecutor executor;
+
+    private MavenReportExecutorRequest request;
+
+    @Setup
+    public void setup() throws Exception {
+        realm = InMemoryFixtures.newRealm(false);
+        executor = InMemoryFixtures.newExecutor(realm);
+        MavenProject project = InMemoryFixtures.newProject(reportPlugins, 2 * reportPlugins);
+        request = InMemoryFixtures.newRequest(project, InMemoryFixtures.newReportPlugins(reportPlugins));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        realm.getWorld().disposeRealm(realm.getId());
+    }
+
+    @Benchmark
+    public List<MavenReportExecution> buildMavenReports() throws MojoExecutionException {
+        List<MavenReportExecution> mavenReportExecutions = executor.buildMavenReports(request);
+        for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+            // drop the references to the reports and their realms, like a rendered report
+            mavenReportExecution.release();
+        }
+        return mavenReportExecutions;
+    }
+}
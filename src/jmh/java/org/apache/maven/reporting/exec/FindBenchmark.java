@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the lookup of a report plugin in large build plugins and plugin management lists, the report plugin
+ * being the last one of the list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FindBenchmark {
+    @Param({"10", "100", "1000"})
+    private int managedPlugins;
+
+    private DefaultMavenReportExecutor executor;
+
+    private ReportPlugin reportPlugin;
+
+    private List<Plugin> plugins;
+
+    @Setup
+    public void setup() {
+        executor = InMemoryFixtures.newExecutor(null);
+        reportPlugin = InMemoryFixtures.newReportPlugins(1)[0];
+        plugins = InMemoryFixtures.newProject(1, managedPlugins)
+                .getBuild()
+                .getPluginManagement()
+                .getPlugins();
+    }
+
+    @Benchmark
+    public Plugin find() {
+        return executor.find(reportPlugin, plugins);
+    }
+}
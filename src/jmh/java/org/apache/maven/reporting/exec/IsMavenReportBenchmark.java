@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the report goal detection: on the cold path, the mojo class is loaded from a fresh plugin realm, while
+ * on the warm path it is already loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IsMavenReportBenchmark {
+    @Param({"cold", "warm"})
+    private String path;
+
+    private ClassRealm realm;
+
+    private DefaultMavenReportExecutor executor;
+
+    private PluginDescriptor pluginDescriptor;
+
+    private MojoExecution mojoExecution;
+
+    @Setup(Level.Invocation)
+    public void setup() throws Exception {
+        if (realm != null && "warm".equals(path)) {
+            return;
+        }
+        realm = InMemoryFixtures.newRealm("cold".equals(path));
+        executor = InMemoryFixtures.newExecutor(realm);
+
+        Plugin plugin = new Plugin();
+        plugin.setGroupId(InMemoryFixtures.GROUP_ID);
+        plugin.setArtifactId(InMemoryFixtures.getArtifactId(0));
+        plugin.setVersion(InMemoryPluginVersionResolver.VERSION);
+        InMemoryMavenPluginManager mavenPluginManager = new InMemoryMavenPluginManager(realm);
+        pluginDescriptor = mavenPluginManager.getPluginDescriptor(plugin, null, null);
+        mavenPluginManager.setupPluginRealm(pluginDescriptor, null, null, null, null);
+
+        mojoExecution = new MojoExecution(plugin, "report", "default-site");
+        mojoExecution.setMojoDescriptor(pluginDescriptor.getMojo("report"));
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws Exception {
+        if ("cold".equals(path)) {
+            realm.getWorld().disposeRealm(realm.getId());
+        }
+    }
+
+    @Benchmark
+    public boolean isMavenReport() {
+        return executor.isMavenReport(mojoExecution, pluginDescriptor);
+    }
+}
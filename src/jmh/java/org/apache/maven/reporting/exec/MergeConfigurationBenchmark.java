@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.codehaus.plexus.configuration.xml.XmlPlexusConfiguration;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the mojo configuration merge, on small configurations, as usually written in POMs, and very large
+ * ones, as generated or inherited from corporate parents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MergeConfigurationBenchmark {
+    @Param({"small", "large"})
+    private String size;
+
+    private DefaultMavenReportExecutor executor;
+
+    private PlexusConfiguration mojoConfiguration;
+
+    private Xpp3Dom pluginManagementConfiguration;
+
+    private PlexusConfiguration pluginConfiguration;
+
+    private PlexusConfiguration reportSetConfiguration;
+
+    private Set<String> parameters;
+
+    @Setup
+    public void setup() throws Exception {
+        executor = InMemoryFixtures.newExecutor(null);
+
+        // a large configuration has 10 parameters of 1000 nested items: parameters outnumber supported ones
+        int count = "large".equals(size) ? 10 : 1;
+        int items = "large".equals(size) ? 10 : 2;
+        int depth = "large".equals(size) ? 3 : 1;
+        mojoConfiguration = new XmlPlexusConfiguration(InMemoryFixtures.newConfiguration(2 * count, 0, 0));
+        pluginManagementConfiguration = InMemoryFixtures.newConfiguration(count, items, depth);
+        pluginConfiguration = new XmlPlexusConfiguration(InMemoryFixtures.newConfiguration(count, items, depth));
+        reportSetConfiguration =
+                new XmlPlexusConfiguration(InMemoryFixtures.newConfiguration(3 * count, items, depth));
+
+        parameters = new HashSet<>();
+        for (int i = 0; i < 2 * count; i++) {
+            parameters.add("parameter" + i);
+        }
+    }
+
+    @Benchmark
+    public Xpp3Dom mergeConfiguration() {
+        return executor.mergeConfiguration(
+                mojoConfiguration,
+                pluginManagementConfiguration,
+                pluginConfiguration,
+                reportSetConfiguration,
+                parameters);
+    }
+
+    @Benchmark
+    public Xpp3Dom convert() {
+        return executor.convert(reportSetConfiguration);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the count of report tasks in flight, adapting the limit between configured bounds to heap and CPU pressure.
+ * Load is sampled at most once per sampling interval, when a task starts or waits:
+ * <ul>
+ * <li>heap occupancy after the last garbage collections, from {@link MemoryPoolMXBean#getCollectionUsage()} of heap
+ * pools relative to the maximum heap of {@link MemoryMXBean}: above 85%, the limit is halved,</li>
+ * <li>CPU load, from {@link OperatingSystemMXBean#getSystemLoadAverage()} relative to available processors: above 1,
+ * the limit is decreased by 1,</li>
+ * <li>otherwise, if tasks are waiting while heap occupancy is below 60% and CPU load below 0.75, the limit is
+ * increased by 1.</li>
+ * </ul>
+ * Unknown values, like the load average on Windows, don't take part in decisions. Limit changes are logged at debug
+ * level, for tuning. Waiting tasks don't pin the carrier of a virtual thread.
+ */
+final class AdaptiveConcurrencyLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final long SAMPLE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final double HIGH_HEAP_OCCUPANCY = 0.85;
+
+    private static final double LOW_HEAP_OCCUPANCY = 0.6;
+
+    private static final double HIGH_CPU_LOAD = 1.0;
+
+    private static final double LOW_CPU_LOAD = 0.75;
+
+    /**
+     * Source of load samples, values being <code>NaN</code> when unknown.
+     */
+    interface LoadProbe {
+        /**
+         * @return the heap occupancy after garbage collection, between 0 and 1
+         */
+        double getHeapOccupancy();
+
+        /**
+         * @return the CPU load relative to available processors, 1 when every processor is busy
+         */
+        double getCpuLoad();
+    }
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final LoadProbe probe;
+
+    private final long sampleInterval;
+
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Signalled when a task ends or the limit changes.
+     */
+    private final Condition available = lock.newCondition();
+
+    private int limit;
+
+    private int inFlight;
+
+    private int waiting;
+
+    private long lastSample;
+
+    /**
+     * @param name the name of the limited work, for logging
+     * @param minLimit the minimum count of tasks in flight, at least 1
+     * @param maxLimit the maximum count of tasks in flight
+     */
+    AdaptiveConcurrencyLimiter(String name, int minLimit, int maxLimit) {
+        this(name, minLimit, maxLimit, new PlatformLoadProbe(), SAMPLE_INTERVAL);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int minLimit, int maxLimit, LoadProbe probe, long sampleInterval) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("invalid bounds [" + minLimit + ", " + maxLimit + "]");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probe = probe;
+        this.sampleInterval = sampleInterval;
+        // start halfway, to adapt quickly in both directions
+        this.limit = (minLimit + maxLimit + 1) / 2;
+        this.lastSample = System.nanoTime();
+    }
+
+    /**
+     * Wait until a task can start.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            adapt();
+            while (inFlight >= limit) {
+                waiting++;
+                try {
+                    // woken up to sample the load again, even if no task ends
+                    available.awaitNanos(sampleInterval);
+                } finally {
+                    waiting--;
+                }
+                adapt();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signal the end of a task started with {@link #acquire()}.
+     */
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adapt() {
+        long now = System.nanoTime();
+        if (now - lastSample < sampleInterval) {
+            return;
+        }
+        lastSample = now;
+
+        double heapOccupancy = probe.getHeapOccupancy();
+        double cpuLoad = probe.getCpuLoad();
+        int previous = limit;
+        String reason;
+        if (heapOccupancy > HIGH_HEAP_OCCUPANCY) {
+            limit = Math.max(minLimit, limit / 2);
+            reason = "heap pressure";
+        } else if (cpuLoad > HIGH_CPU_LOAD) {
+            limit = Math.max(minLimit, limit - 1);
+            reason = "CPU saturation";
+        } else if ((waiting > 0 || inFlight >= limit)
+                && !(heapOccupancy >= LOW_HEAP_OCCUPANCY)
+                && !(cpuLoad >= LOW_CPU_LOAD)) {
+            limit = Math.min(maxLimit, limit + 1);
+            reason = "spare capacity";
+        } else {
+            return;
+        }
+
+        if (limit != previous) {
+            LOGGER.debug(
+                    "{} concurrency {} -> {} ({}): heap occupancy after GC {}, CPU load {}, {} in flight, {} waiting",
+                    name,
+                    previous,
+                    limit,
+                    reason,
+                    format(heapOccupancy),
+                    format(cpuLoad),
+                    inFlight,
+                    waiting);
+            available.signalAll();
+        }
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "unknown" : String.format("%.2f", value);
+    }
+
+    /**
+     * Load sampled from the platform MXBeans of the JVM.
+     */
+    private static final class PlatformLoadProbe implements LoadProbe {
+        private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+        private final List<MemoryPoolMXBean> memoryPools = ManagementFactory.getMemoryPoolMXBeans();
+
+        private final OperatingSystemMXBean operatingSystemBean = ManagementFactory.getOperatingSystemMXBean();
+
+        @Override
+        public double getHeapOccupancy() {
+            long max = memoryBean.getHeapMemoryUsage().getMax();
+            if (max <= 0) {
+                return Double.NaN;
+            }
+            long used = 0;
+            for (MemoryPoolMXBean memoryPool : memoryPools) {
+                MemoryUsage collectionUsage =
+                        (memoryPool.getType() == MemoryType.HEAP) ? memoryPool.getCollectionUsage() : null;
+                if (collectionUsage != null) {
+                    used += collectionUsage.getUsed();
+                }
+            }
+            return (double) used / max;
+        }
+
+        @Override
+        public double getCpuLoad() {
+            double loadAverage = operatingSystemBean.getSystemLoadAverage();
+            return (loadAverage < 0) ? Double.NaN : loadAverage / operatingSystemBean.getAvailableProcessors();
+        }
+    }
+}
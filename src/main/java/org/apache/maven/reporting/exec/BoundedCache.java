@@ -0,0 +1,399 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Cache bounded by the total weight of its values, every value weighing 1 by default. Keys are spread over
+ * independently locked segments, each one evicting in least recently used order. When a segment is full, a new value
+ * is admitted only if its key is used more frequently than the key of the value to evict, frequencies being estimated
+ * by a shared count-min sketch which is periodically aged, like TinyLFU. This keeps frequently used values when a
+ * large build scans many values only used once.
+ * <p>
+ * Hits, misses and evictions are counted per cache name, for all the caches of the JVM with that name: see
+ * {@link #getStats()}. <code>null</code> keys and values are not supported.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class BoundedCache<K, V> {
+    private static final ConcurrentMap<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int MIN_SEGMENT_WEIGHT = 64;
+
+    private final Segment<K, V>[] segments;
+
+    private final FrequencySketch sketch;
+
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    private final BiConsumer<? super K, ? super V> removalListener;
+
+    private final Counters counters;
+
+    /**
+     * @param name the name of the cache, to count its statistics
+     * @param maximumSize the maximum count of values
+     */
+    BoundedCache(String name, long maximumSize) {
+        this(name, maximumSize, (key, value) -> 1, null);
+    }
+
+    /**
+     * @param name the name of the cache, to count its statistics
+     * @param maximumWeight the maximum total weight of values
+     * @param weigher the weight of a value, at least 1
+     * @param removalListener notified of the values evicted or not admitted to keep the bound, while the segment of
+     *            the value is locked, may be <code>null</code>
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    BoundedCache(
+            String name,
+            long maximumWeight,
+            ToIntBiFunction<? super K, ? super V> weigher,
+            BiConsumer<? super K, ? super V> removalListener) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maximumWeight / (segmentCount * 2) >= MIN_SEGMENT_WEIGHT) {
+            segmentCount <<= 1;
+        }
+        long segmentWeight = (maximumWeight + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentWeight);
+        }
+        this.sketch = new FrequencySketch(maximumWeight);
+        this.weigher = weigher;
+        this.removalListener = removalListener;
+        this.counters = COUNTERS.computeIfAbsent(name, Counters::new);
+    }
+
+    /**
+     * @param key the key
+     * @return the value, or <code>null</code> if missing
+     */
+    V get(K key) {
+        int hash = hash(key);
+        sketch.increment(hash);
+        Segment<K, V> segment = segmentFor(hash);
+        Node<V> node;
+        synchronized (segment) {
+            node = segment.nodes.get(key);
+        }
+        if (node == null) {
+            counters.misses.increment();
+            return null;
+        }
+        counters.hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Get a value, computing it if missing. The value is computed without lock: concurrent calls for the same key may
+     * compute it more than once.
+     *
+     * @param key the key
+     * @param function computes the value of the key, may return <code>null</code> to not cache anything
+     * @return the value
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        V value = get(key);
+        if (value == null) {
+            value = function.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Cache a value, replacing any previous value of the key. If this exceeds the bound of the cache, the value may be
+     * evicted immediately if its key is not used more frequently than the least recently used keys.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    void put(K key, V value) {
+        int hash = hash(key);
+        sketch.increment(hash);
+        int weight = weigher.applyAsInt(key, value);
+        Segment<K, V> segment = segmentFor(hash);
+        List<Map.Entry<K, Node<V>>> removed = null;
+        synchronized (segment) {
+            Node<V> previous = segment.nodes.put(key, new Node<>(value, weight));
+            segment.weight += weight - (previous == null ? 0 : previous.weight);
+            Iterator<Map.Entry<K, Node<V>>> eldest = segment.nodes.entrySet().iterator();
+            while (segment.weight > segment.maximumWeight) {
+                Map.Entry<K, Node<V>> victim = eldest.hasNext() ? eldest.next() : null;
+                if (victim != null && victim.getKey().equals(key)) {
+                    continue;
+                }
+                if (removed == null) {
+                    removed = new ArrayList<>(1);
+                }
+                if (victim == null || previous == null && !admit(hash, victim.getKey())) {
+                    Node<V> rejected = segment.nodes.remove(key);
+                    segment.weight -= rejected.weight;
+                    removed.add(new Removal<>(key, rejected));
+                    break;
+                }
+                eldest.remove();
+                segment.weight -= victim.getValue().weight;
+                removed.add(new Removal<>(victim.getKey(), victim.getValue()));
+            }
+            if (removed != null && removalListener != null) {
+                removed.forEach(entry -> removalListener.accept(entry.getKey(), entry.getValue().value));
+            }
+        }
+        if (removed != null) {
+            counters.evictions.add(removed.size());
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return the removed value, or <code>null</code> if missing
+     */
+    V remove(K key) {
+        Segment<K, V> segment = segmentFor(hash(key));
+        synchronized (segment) {
+            Node<V> node = segment.nodes.remove(key);
+            if (node == null) {
+                return null;
+            }
+            segment.weight -= node.weight;
+            return node.value;
+        }
+    }
+
+    /**
+     * Remove all values, without notifying the removal listener.
+     */
+    void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.nodes.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the count of values
+     */
+    int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.nodes.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the statistics of the caches of the JVM, by cache name
+     */
+    static List<ReportCacheStats> getStats() {
+        return COUNTERS.values().stream()
+                .map(Counters::snapshot)
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .collect(Collectors.toList());
+    }
+
+    private boolean admit(int candidateHash, K victim) {
+        return sketch.frequency(candidateHash) > sketch.frequency(hash(victim));
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[(hash >>> 24) & (segments.length - 1)];
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode() * 0x9e3779b9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, Node<V>> nodes = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final long maximumWeight;
+
+        private long weight;
+
+        Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+    }
+
+    private static final class Node<V> {
+        private final V value;
+
+        private final int weight;
+
+        Node(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Removal<K, V> implements Map.Entry<K, Node<V>> {
+        private final K key;
+
+        private final Node<V> node;
+
+        Removal(K key, Node<V> node) {
+            this.key = key;
+            this.node = node;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public Node<V> getValue() {
+            return node;
+        }
+
+        @Override
+        public Node<V> setValue(Node<V> value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class Counters {
+        private final String name;
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private final LongAdder evictions = new LongAdder();
+
+        Counters(String name) {
+            this.name = name;
+        }
+
+        ReportCacheStats snapshot() {
+            return new ReportCacheStats(name, hits.sum(), misses.sum(), evictions.sum());
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, 16 counters per <code>long</code>, with 4 counters per key taken from the
+     * same <code>long</code> position of 4 hashed table slots. Counters are halved once the count of increments
+     * reaches 10 times the table size, so that frequencies reflect recent use. Increments are lock free.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private static final int MAX_TABLE_SIZE = 1 << 16;
+
+        private final AtomicLongArray table;
+
+        private final int sampleSize;
+
+        private final AtomicInteger additions = new AtomicInteger();
+
+        FrequencySketch(long maximumSize) {
+            int tableSize = 16;
+            while (tableSize < MAX_TABLE_SIZE && tableSize < maximumSize) {
+                tableSize <<= 1;
+            }
+            this.table = new AtomicLongArray(tableSize);
+            this.sampleSize = 10 * tableSize;
+        }
+
+        int frequency(int hash) {
+            int start = (hash & 3) << 2;
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                long slot = table.get(indexOf(hash, i));
+                frequency = Math.min(frequency, (int) ((slot >>> ((start + i) << 2)) & 0xfL));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && additions.incrementAndGet() >= sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            long slot;
+            do {
+                slot = table.get(index);
+                if ((slot & mask) == mask) {
+                    return false;
+                }
+            } while (!table.compareAndSet(index, slot, slot + (1L << offset)));
+            return true;
+        }
+
+        private synchronized void reset() {
+            if (additions.get() < sampleSize) {
+                return;
+            }
+            for (int i = 0; i < table.length(); i++) {
+                table.updateAndGet(i, slot -> (slot >>> 1) & RESET_MASK);
+            }
+            additions.set(sampleSize / 2);
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & (table.length() - 1);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.maven.reporting.MavenReportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates {@link MavenReportExecution#canGenerateReport()} for a list of reports concurrently, since some reports
+ * scan source trees or test results directories to decide.
+ * <p>
+ * Each evaluation runs with the report {@link ClassLoader} as thread context classloader. Reports that are not marked
+ * as thread-safe in their mojo descriptor are evaluated on the calling thread.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class CanGenerateReportChecker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CanGenerateReportChecker.class);
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of reports evaluated concurrently. A value of 1 evaluates every report serially.
+     *
+     * @param parallelism the maximum number of reports evaluated concurrently
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Evaluate <code>canGenerateReport()</code> for every report. Failures do not stop the evaluation of other
+     * reports: they are available from {@link CanGenerateReportResult#getException()}.
+     *
+     * @param mavenReportExecutions the reports to evaluate
+     * @return the results, in the same order as the reports
+     * @throws MavenReportException if interrupted while waiting for results
+     */
+    public List<CanGenerateReportResult> check(List<MavenReportExecution> mavenReportExecutions)
+            throws MavenReportException {
+        int size = mavenReportExecutions.size();
+        List<Future<CanGenerateReportResult>> futures = new ArrayList<>(size);
+        int concurrent = 0;
+        for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+            if (mavenReportExecution.isThreadSafe()) {
+                concurrent++;
+            }
+        }
+
+        if (parallelism <= 1 || concurrent <= 1) {
+            List<CanGenerateReportResult> results = new ArrayList<>(size);
+            for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+                results.add(check(mavenReportExecution));
+            }
+            return results;
+        }
+
+        ClassLoader callerClassLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor =
+                ReportTaskExecutors.newFixedThreadPool("maven-report-check", Math.min(parallelism, concurrent));
+        try {
+            for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+                if (mavenReportExecution.isThreadSafe()) {
+                    futures.add(executor.submit(() -> {
+                        Thread.currentThread().setContextClassLoader(callerClassLoader);
+                        return check(mavenReportExecution);
+                    }));
+                } else {
+                    futures.add(null);
+                }
+            }
+
+            List<CanGenerateReportResult> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Future<CanGenerateReportResult> future = futures.get(i);
+                results.add(future == null ? check(mavenReportExecutions.get(i)) : await(future));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CanGenerateReportResult check(MavenReportExecution mavenReportExecution) {
+        long start = System.nanoTime();
+        boolean canGenerateReport = false;
+        MavenReportException exception = null;
+        try {
+            canGenerateReport = mavenReportExecution.canGenerateReport();
+        } catch (MavenReportException e) {
+            exception = e;
+        }
+        CanGenerateReportResult result = new CanGenerateReportResult(
+                mavenReportExecution, canGenerateReport, exception, System.nanoTime() - start);
+        LOGGER.debug("{}", result);
+        return result;
+    }
+
+    private static CanGenerateReportResult await(Future<CanGenerateReportResult> future) throws MavenReportException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenReportException("Interrupted while checking reports", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import org.apache.maven.reporting.MavenReportException;
+
+/**
+ * Result of {@link MavenReportExecution#canGenerateReport()} evaluated by {@link CanGenerateReportChecker}.
+ *
+ * @since 2.1.0
+ */
+public class CanGenerateReportResult {
+    private final MavenReportExecution mavenReportExecution;
+
+    private final boolean canGenerateReport;
+
+    private final MavenReportException exception;
+
+    private final long durationNanos;
+
+    CanGenerateReportResult(
+            MavenReportExecution mavenReportExecution,
+            boolean canGenerateReport,
+            MavenReportException exception,
+            long durationNanos) {
+        this.mavenReportExecution = mavenReportExecution;
+        this.canGenerateReport = canGenerateReport;
+        this.exception = exception;
+        this.durationNanos = durationNanos;
+    }
+
+    public MavenReportExecution getMavenReportExecution() {
+        return mavenReportExecution;
+    }
+
+    /**
+     * @return the <code>canGenerateReport()</code> result, <code>false</code> if it failed
+     */
+    public boolean isCanGenerateReport() {
+        return canGenerateReport;
+    }
+
+    /**
+     * @return the exception thrown by <code>canGenerateReport()</code>, or <code>null</code>
+     */
+    public MavenReportException getException() {
+        return exception;
+    }
+
+    /**
+     * @return the time spent in <code>canGenerateReport()</code>, in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CanGenerateReportResult{goal='" + mavenReportExecution.getGoal() + "', canGenerateReport="
+                + canGenerateReport + ", durationNanos=" + durationNanos + "}";
+    }
+}
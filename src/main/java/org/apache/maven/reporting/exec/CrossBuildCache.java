@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache surviving between builds of a long-lived JVM, like a Maven daemon. Each value depends on files or
+ * directories: it is invalidated when a {@link WatchService} reports a change of one of them. Since some platforms
+ * only poll for changes, the modification time and size of the dependencies are checked too before handing a value
+ * over.
+ * <p>
+ * Values that depend on a path which can't be watched are not cached. The count of values is bounded by a
+ * {@link BoundedCache}, evicted values being unlinked from their dependencies. A directory is watched as long as
+ * values depend on it or on its entries.
+ * </p>
+ * <p>
+ * Only values owned by this component are cached: resolved versions, plugins artifacts checksums and report plans.
+ * Plugin descriptors are not: they are mutable, receiving the plugin realm and artifacts when the realm is set up,
+ * so a descriptor can't be shared between builds without the cloning done by the plugin descriptor cache of Maven
+ * core, which already keeps them for the life of the container and is thread-safe since Maven 3.9.
+ * </p>
+ */
+final class CrossBuildCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrossBuildCache.class);
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private static CrossBuildCache instance;
+
+    private final WatchService watchService;
+
+    private final BoundedCache<String, Entry> entries =
+            new BoundedCache<>("cross-build", MAX_ENTRIES, (key, entry) -> 1, this::unlink);
+
+    private final Map<Path, Set<String>> dependents = new HashMap<>();
+
+    private final Map<Path, Watch> watches = new HashMap<>();
+
+    CrossBuildCache(WatchService watchService) {
+        this.watchService = watchService;
+    }
+
+    /**
+     * @return the cache of the JVM, or <code>null</code> if file changes can't be watched
+     */
+    static synchronized CrossBuildCache getInstance() {
+        if (instance == null) {
+            try {
+                instance = new CrossBuildCache(FileSystems.getDefault().newWatchService());
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.warn("Cross-build cache disabled, file changes can't be watched: {}", e.getMessage());
+                return null;
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the cache of the JVM if it has already been created by a build, <code>null</code> otherwise
+     */
+    static synchronized CrossBuildCache getExistingInstance() {
+        return instance;
+    }
+
+    /**
+     * @param key the key
+     * @param <T> the type of the value
+     * @return the value, or <code>null</code> if missing or invalidated by a change of its dependencies
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> T get(String key) {
+        processEvents();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.isUpToDate()) {
+            remove(key);
+            return null;
+        }
+        return (T) entry.value;
+    }
+
+    /**
+     * Cache a value until one of its dependencies changes.
+     *
+     * @param key the key
+     * @param value the value
+     * @param dependencies files or directories the value is computed from: for a directory, any change of its entries
+     */
+    synchronized void put(String key, Object value, Collection<Path> dependencies) {
+        processEvents();
+        remove(key);
+
+        Map<Path, Stamp> stamps = new HashMap<>();
+        Set<Path> directories = new HashSet<>();
+        for (Path dependency : dependencies) {
+            Path path = dependency.toAbsolutePath().normalize();
+            Path directory = Files.isDirectory(path) ? path : path.getParent();
+            if (directory == null || (!directories.contains(directory) && !watch(directory))) {
+                LOGGER.debug("Not caching {}: {} can't be watched", key, path);
+                directories.forEach(this::unwatch);
+                return;
+            }
+            directories.add(directory);
+            stamps.put(path, Stamp.of(path));
+        }
+
+        for (Path path : stamps.keySet()) {
+            dependents.computeIfAbsent(path, p -> new HashSet<>()).add(key);
+        }
+        // unlinked again if evicted right away
+        entries.put(key, new Entry(value, stamps, directories));
+    }
+
+    /**
+     * Add a value depending on a directory, watching it if it's the first one.
+     *
+     * @return <code>false</code> if the directory can't be watched
+     */
+    private boolean watch(Path directory) {
+        Watch watch = watches.get(directory);
+        if (watch == null) {
+            try {
+                watch = new Watch(directory.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY));
+            } catch (IOException | ClosedWatchServiceException | UnsupportedOperationException e) {
+                return false;
+            }
+            watches.put(directory, watch);
+        }
+        watch.values++;
+        return true;
+    }
+
+    /**
+     * Remove a value depending on a directory, no longer watching it if it was the last one.
+     */
+    private void unwatch(Path directory) {
+        Watch watch = watches.get(directory);
+        if (watch != null && --watch.values == 0) {
+            watch.key.cancel();
+            watches.remove(directory);
+        }
+    }
+
+    /**
+     * @return the count of watched directories
+     */
+    synchronized int getWatchCount() {
+        return watches.size();
+    }
+
+    /**
+     * Invalidate values depending on changed paths.
+     */
+    private void processEvents() {
+        WatchKey watchKey;
+        while ((watchKey = watchService.poll()) != null) {
+            Path directory = (Path) watchKey.watchable();
+            // a directory dependency is changed by any change of its entries
+            invalidate(directory);
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    invalidateUnder(directory);
+                } else {
+                    invalidateUnder(directory.resolve((Path) event.context()));
+                }
+            }
+            if (!watchKey.reset()) {
+                // cancelled, or no longer valid like a deleted directory: values depending on it must be computed again
+                invalidateUnder(directory);
+                Watch watch = watches.get(directory);
+                if (watch != null && watch.key == watchKey) {
+                    watches.remove(directory);
+                }
+            }
+        }
+    }
+
+    private void invalidate(Path path) {
+        Set<String> keys = dependents.get(path);
+        if (keys != null) {
+            for (String key : new ArrayList<>(keys)) {
+                LOGGER.debug("Invalidating {}: {} changed", key, path);
+                remove(key);
+            }
+        }
+    }
+
+    private void invalidateUnder(Path path) {
+        List<Path> changed = new ArrayList<>();
+        for (Path dependency : dependents.keySet()) {
+            if (dependency.startsWith(path)) {
+                changed.add(dependency);
+            }
+        }
+        changed.forEach(this::invalidate);
+    }
+
+    private void remove(String key) {
+        unlink(key, entries.remove(key));
+    }
+
+    private void unlink(String key, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (Path path : entry.stamps.keySet()) {
+            Set<String> keys = dependents.get(path);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                dependents.remove(path);
+            }
+        }
+        entry.directories.forEach(this::unwatch);
+    }
+
+    private static class Entry {
+        private final Object value;
+
+        private final Map<Path, Stamp> stamps;
+
+        private final Set<Path> directories;
+
+        Entry(Object value, Map<Path, Stamp> stamps, Set<Path> directories) {
+            this.value = value;
+            this.stamps = stamps;
+            this.directories = directories;
+        }
+
+        boolean isUpToDate() {
+            for (Map.Entry<Path, Stamp> stamp : stamps.entrySet()) {
+                if (!stamp.getValue().equals(Stamp.of(stamp.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Watch key of a directory, with the count of values depending on the directory or its entries.
+     */
+    private static final class Watch {
+        private final WatchKey key;
+
+        private int values;
+
+        Watch(WatchKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Modification time and size of a file, or of the entries of a directory.
+     */
+    private static final class Stamp {
+        private static final Stamp MISSING = new Stamp(-1, -1);
+
+        private final long lastModified;
+
+        private final long size;
+
+        private Stamp(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        static Stamp of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isDirectory()) {
+                    return new Stamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+                }
+                long lastModified = attributes.lastModifiedTime().toMillis();
+                long size = 0;
+                try (Stream<Path> children = Files.list(path)) {
+                    for (Iterator<Path> it = children.iterator(); it.hasNext(); ) {
+                        Path child = it.next();
+                        lastModified = Math.max(
+                                lastModified, Files.getLastModifiedTime(child).toMillis());
+                        size++;
+                    }
+                }
+                return new Stamp(lastModified, size);
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Stamp)) {
+                return false;
+            }
+            Stamp other = (Stamp) o;
+            return lastModified == other.lastModified && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lastModified) * 31 + Long.hashCode(size);
+        }
+    }
+}
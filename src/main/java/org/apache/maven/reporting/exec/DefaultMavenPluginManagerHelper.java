@@ -22,8 +22,17 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.InvalidPluginDescriptorException;
@@ -32,10 +41,23 @@ import org.apache.maven.plugin.PluginContainerException;
 import org.apache.maven.plugin.PluginDescriptorParsingException;
 import org.apache.maven.plugin.PluginResolutionException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyFilter;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.util.filter.AndDependencyFilter;
 import org.eclipse.aether.util.filter.ExclusionsDependencyFilter;
+import org.eclipse.aether.util.filter.ScopeDependencyFilter;
 
 import static java.util.Objects.requireNonNull;
 
@@ -45,11 +67,76 @@ import static java.util.Objects.requireNonNull;
 @Singleton
 @Named
 public class DefaultMavenPluginManagerHelper implements MavenPluginManagerHelper {
+    private static final String REPOSITORY_CONTEXT = "plugin";
+
+    private static final int LOCK_STRIPES = 32;
+
+    /**
+     * The plugin descriptor cache in Maven core is thread-safe since Maven 3.9.
+     */
+    private static final boolean CONCURRENT_DESCRIPTOR_CACHE = isMavenCoreAtLeast("3.9.0");
+
     private final MavenPluginManager mavenPluginManager;
 
+    private final RepositorySystem repositorySystem;
+
+    /**
+     * Plugin descriptors may be loaded from concurrent threads, but the descriptor cache lookup and update in Maven
+     * core are not atomic before Maven 3.9: descriptor loading is serialized per plugin, while descriptors of
+     * different plugins are loaded concurrently, as Maven core itself does when modules are built in parallel.
+     * Explicit locks don't pin the carrier of a virtual thread.
+     */
+    private final Lock[] descriptorLocks = new Lock[LOCK_STRIPES];
+
+    /**
+     * Plugin realms may be set up concurrently by modules of a reactor built with multiple threads: the plugin realm
+     * cache lookup and update in Maven core are not atomic, which may create duplicate realms for the same plugin.
+     * Realm setup is serialized per plugin.
+     */
+    private final Object[] realmLocks = new Object[LOCK_STRIPES];
+
     @Inject
+    public DefaultMavenPluginManagerHelper(MavenPluginManager mavenPluginManager, RepositorySystem repositorySystem) {
+        this.mavenPluginManager = requireNonNull(mavenPluginManager);
+        this.repositorySystem = requireNonNull(repositorySystem);
+        Arrays.setAll(descriptorLocks, i -> new ReentrantLock());
+        Arrays.setAll(realmLocks, i -> new Object());
+    }
+
+    /**
+     * Create a helper without batched plugins resolution support.
+     *
+     * @param mavenPluginManager the Maven plugin manager
+     */
     public DefaultMavenPluginManagerHelper(MavenPluginManager mavenPluginManager) {
         this.mavenPluginManager = requireNonNull(mavenPluginManager);
+        this.repositorySystem = null;
+        Arrays.setAll(descriptorLocks, i -> new ReentrantLock());
+        Arrays.setAll(realmLocks, i -> new Object());
+    }
+
+    private Object getRealmLock(PluginDescriptor pluginDescriptor) {
+        return realmLocks[getStripe(pluginDescriptor.getPluginLookupKey())];
+    }
+
+    private static int getStripe(String pluginKey) {
+        int hash = pluginKey.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    private static boolean isMavenCoreAtLeast(String version) {
+        Properties properties = new Properties();
+        try (InputStream in = MavenPluginManager.class.getResourceAsStream(
+                "/META-INF/maven/org.apache.maven/maven-core/pom.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            // unknown version
+        }
+        String coreVersion = properties.getProperty("version");
+        return coreVersion != null
+                && new ComparableVersion(coreVersion).compareTo(new ComparableVersion(version)) >= 0;
     }
 
     private DependencyFilter createExclusionsDependencyFilter(List<String> artifactIdsList) {
@@ -64,7 +151,33 @@ public class DefaultMavenPluginManagerHelper implements MavenPluginManagerHelper
         List<RemoteRepository> remotePluginRepositories =
                 session.getCurrentProject().getRemotePluginRepositories();
 
-        return mavenPluginManager.getPluginDescriptor(plugin, remotePluginRepositories, repositorySystemSession);
+        if (CONCURRENT_DESCRIPTOR_CACHE) {
+            return mavenPluginManager.getPluginDescriptor(plugin, remotePluginRepositories, repositorySystemSession);
+        }
+
+        Lock lock = descriptorLocks[getStripe(plugin.getKey())];
+        lock.lock();
+        try {
+            return mavenPluginManager.getPluginDescriptor(plugin, remotePluginRepositories, repositorySystemSession);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only done with Maven 3.9 or later: before, the descriptor cache lookup and update are not atomic, and the build
+     * may load the same descriptor concurrently.
+     * </p>
+     */
+    @Override
+    public void prefetchPluginDescriptor(
+            Plugin plugin, List<RemoteRepository> repositories, RepositorySystemSession session)
+            throws PluginResolutionException, PluginDescriptorParsingException, InvalidPluginDescriptorException {
+        if (CONCURRENT_DESCRIPTOR_CACHE) {
+            mavenPluginManager.getPluginDescriptor(plugin, repositories, session);
+        }
     }
 
     /** {@inheritDoc} */
@@ -76,7 +189,73 @@ public class DefaultMavenPluginManagerHelper implements MavenPluginManagerHelper
             List<String> imports,
             List<String> excludeArtifactIds)
             throws PluginResolutionException, PluginContainerException {
-        mavenPluginManager.setupPluginRealm(
-                pluginDescriptor, session, parent, imports, createExclusionsDependencyFilter(excludeArtifactIds));
+        synchronized (getRealmLock(pluginDescriptor)) {
+            mavenPluginManager.setupPluginRealm(
+                    pluginDescriptor, session, parent, imports, createExclusionsDependencyFilter(excludeArtifactIds));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void resolvePluginArtifacts(
+            List<Plugin> plugins, List<RemoteRepository> repositories, RepositorySystemSession session)
+            throws PluginResolutionException {
+        if (repositorySystem == null || plugins.isEmpty()) {
+            return;
+        }
+
+        List<ArtifactRequest> requests = new ArrayList<>(plugins.size());
+        for (Plugin plugin : plugins) {
+            requests.add(new ArtifactRequest(toArtifact(plugin), repositories, REPOSITORY_CONTEXT));
+        }
+
+        try {
+            repositorySystem.resolveArtifacts(session, requests);
+        } catch (ArtifactResolutionException e) {
+            List<ArtifactResult> results = e.getResults();
+            for (int i = 0; i < results.size(); i++) {
+                if (!results.get(i).isResolved()) {
+                    throw new PluginResolutionException(plugins.get(i), e);
+                }
+            }
+            throw new PluginResolutionException(plugins.get(0), e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void resolvePluginDependencies(
+            Plugin plugin,
+            List<String> excludeArtifactIds,
+            List<RemoteRepository> repositories,
+            RepositorySystemSession session)
+            throws PluginResolutionException {
+        if (repositorySystem == null) {
+            return;
+        }
+
+        ArtifactTypeRegistry artifactTypeRegistry = session.getArtifactTypeRegistry();
+
+        CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRequestContext(REPOSITORY_CONTEXT);
+        collectRequest.setRepositories(repositories);
+        collectRequest.setRoot(new Dependency(toArtifact(plugin), null));
+        for (org.apache.maven.model.Dependency dependency : plugin.getDependencies()) {
+            collectRequest.addDependency(RepositoryUtils.toDependency(dependency, artifactTypeRegistry));
+        }
+
+        // same filtering as plugin realm setup
+        DependencyFilter filter = new AndDependencyFilter(
+                new ScopeDependencyFilter("system", "test"), createExclusionsDependencyFilter(excludeArtifactIds));
+
+        try {
+            repositorySystem.resolveDependencies(session, new DependencyRequest(collectRequest, filter));
+        } catch (DependencyResolutionException e) {
+            throw new PluginResolutionException(plugin, e);
+        }
+    }
+
+    private static Artifact toArtifact(Plugin plugin) {
+        return new DefaultArtifact(plugin.getGroupId(), plugin.getArtifactId(), "jar", plugin.getVersion());
     }
 }
@@ -22,17 +22,31 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.lifecycle.LifecycleExecutor;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
 import org.apache.maven.plugin.MavenPluginManager;
 import org.apache.maven.plugin.Mojo;
 import org.apache.maven.plugin.MojoExecution;
@@ -40,6 +54,8 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoNotFoundException;
 import org.apache.maven.plugin.PluginConfigurationException;
 import org.apache.maven.plugin.PluginContainerException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginResolutionException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.version.DefaultPluginVersionRequest;
@@ -53,6 +69,9 @@ import org.codehaus.plexus.configuration.PlexusConfiguration;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.Xpp3DomUtils;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.repository.RemoteRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -140,6 +159,30 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
     private static final List<String> EXCLUDES =
             Arrays.asList("doxia-sink-api", "doxia-site-renderer", "maven-reporting-api");
 
+    /**
+     * Repository session data key of the report plugins prefetch {@link Future}.
+     */
+    private static final String PREFETCH_KEY = DefaultMavenReportExecutor.class.getName() + ".prefetch";
+
+    /**
+     * Repository session data key of the report plugins prefetch of each reactor project, a
+     * <code>ConcurrentMap&lt;String, Future&lt;?&gt;&gt;</code> keyed by project id.
+     */
+    private static final String PREFETCH_PROJECTS_KEY = PREFETCH_KEY + ".projects";
+
+    /**
+     * Repository session data key of the cache of report plugins versions resolved from repositories, a
+     * <code>ConcurrentMap&lt;String, String&gt;</code> shared with other copies of this library, like the one of a
+     * build extension prefetching report plugins.
+     */
+    private static final String RESOLVED_VERSIONS_KEY = DefaultMavenReportExecutor.class.getName() + ".versions";
+
+    private static final String RESOLVING_VERSION = "resolving the plugin version";
+
+    private static final String RESOLVING_DEPENDENCIES = "resolving the plugin dependencies";
+
+    private static final String LOADING_DESCRIPTOR = "loading the plugin descriptor";
+
     @Inject
     public DefaultMavenReportExecutor(
             MavenPluginManager mavenPluginManager,
@@ -158,51 +201,738 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
         if (mavenReportExecutorRequest.getReportPlugins() == null) {
             return Collections.emptyList();
         }
+        // the context classloader of the calling thread is the Site plugin ClassRealm, parent of the plugin realms
+        ClassLoader parentClassLoader = Thread.currentThread().getContextClassLoader();
+
+        awaitPrefetch(mavenReportExecutorRequest.getMavenSession(), mavenReportExecutorRequest.getProject());
+
+        ReportPlugin[] reportPlugins = filterReportPlugins(mavenReportExecutorRequest);
+
+        ReportPlanCache planCache = newReportPlanCache(mavenReportExecutorRequest, reportPlugins);
+        List<ReportPlanCache.Entry> planEntries = null;
+        if (planCache != null) {
+            planEntries = planCache.load(reportPlugins);
+            if (planEntries != null) {
+                // skip report plugins without any report goal
+                List<ReportPlugin> plannedReportPlugins = new ArrayList<>(reportPlugins.length);
+                List<ReportPlanCache.Entry> plannedEntries = new ArrayList<>(reportPlugins.length);
+                for (int i = 0; i < reportPlugins.length; i++) {
+                    if (!planEntries.get(i).getPlans().isEmpty()) {
+                        plannedReportPlugins.add(reportPlugins[i]);
+                        plannedEntries.add(planEntries.get(i));
+                    }
+                }
+                reportPlugins = plannedReportPlugins.toArray(new ReportPlugin[0]);
+                planEntries = plannedEntries;
+            } else {
+                planEntries = new ArrayList<>(reportPlugins.length);
+                for (int i = 0; i < reportPlugins.length; i++) {
+                    planEntries.add(new ReportPlanCache.Entry(false));
+                }
+            }
+        }
 
-        Set<String> reportPluginKeys = new HashSet<>();
-        List<MavenReportExecution> reportExecutions = new ArrayList<>();
+        List<MavenReportExecution> reportExecutions;
+        if (mavenReportExecutorRequest.getParallelism() > 1
+                || mavenReportExecutorRequest.isVirtualThreads()
+                || mavenReportExecutorRequest.isPreResolvePlugins()) {
+            reportExecutions = buildMavenReportsInStages(
+                    mavenReportExecutorRequest, reportPlugins, planEntries, parentClassLoader);
+        } else {
+            reportExecutions = new ArrayList<>();
+            Set<String> reportPluginKeys = new HashSet<>();
+
+            String pluginKey = "";
+            try {
+                for (int i = 0; i < reportPlugins.length; i++) {
+                    ReportPlugin reportPlugin = reportPlugins[i];
+                    pluginKey = reportPlugin.getPluginKey();
+
+                    if (!reportPluginKeys.add(pluginKey)) {
+                        LOGGER.info("Plugin {} will be executed more than one time", pluginKey);
+                    }
+
+                    reportExecutions.addAll(buildReportPlugin(
+                            mavenReportExecutorRequest,
+                            reportPlugin,
+                            planEntries == null ? null : planEntries.get(i),
+                            parentClassLoader));
+                }
+            } catch (Exception e) {
+                throw new MojoExecutionException("Failed to get report for " + pluginKey, e);
+            }
+        }
+
+        if (planEntries != null && !planEntries.isEmpty() && !planEntries.get(0).isCached()) {
+            planCache.store(planEntries);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Report executor caches: {}", getCacheStats());
+        }
+        return reportExecutions;
+    }
+
+    /**
+     * Get the statistics of the internal caches of the report executor, like the caches of project fingerprints or
+     * of preparation results kept between builds, cumulated by cache name over the lifetime of the JVM.
+     *
+     * @return the statistics, sorted by cache name
+     * @since 2.1.0
+     */
+    public List<ReportCacheStats> getCacheStats() {
+        return BoundedCache.getStats();
+    }
+
+    /**
+     * Create the cache of the report plans of the project, if enabled. Plans are computed from the reporting section,
+     * the build plugins and plugin management sections, the project position in the reactor and the report filters:
+     * they are fingerprinted, and the checksums of the plugins artifacts are verified when loading the plans.
+     */
+    private ReportPlanCache newReportPlanCache(
+            MavenReportExecutorRequest mavenReportExecutorRequest, ReportPlugin[] reportPlugins) {
+        MavenProject project = mavenReportExecutorRequest.getProject();
+        if (!mavenReportExecutorRequest.isReportPlanCache()
+                || project == null
+                || project.getBuild() == null
+                || project.getBuild().getDirectory() == null) {
+            return null;
+        }
+
+        StringBuilder model = new StringBuilder();
+        model.append(mavenReportExecutorRequest.getExecutionId()).append('\n');
+        model.append(project.isExecutionRoot())
+                .append(':')
+                .append(project.getPackaging())
+                .append(':')
+                .append(project.getModules())
+                .append('\n');
+        model.append(mavenReportExecutorRequest.getReportIncludes())
+                .append(mavenReportExecutorRequest.getReportExcludes())
+                .append('\n');
+        for (ReportPlugin reportPlugin : reportPlugins) {
+            model.append(reportPlugin.getPluginKey())
+                    .append(':')
+                    .append(reportPlugin.getVersion())
+                    .append(reportPlugin.getReports())
+                    .append(convert(reportPlugin.getConfiguration()))
+                    .append('\n');
+            for (ReportSet reportSet : reportPlugin.getReportSets()) {
+                model.append(reportSet.getId())
+                        .append(reportSet.getReports())
+                        .append(convert(reportSet.getConfiguration()))
+                        .append('\n');
+            }
+        }
+        Build build = project.getBuild();
+        appendPlugins(model, build.getPlugins());
+        if (build.getPluginManagement() != null) {
+            appendPlugins(model, build.getPluginManagement().getPlugins());
+        }
+
+        return new ReportPlanCache(
+                new File(build.getDirectory(), "maven-reporting-exec/report-plans.xml"),
+                ReportPlanCache.sha256(model.toString()),
+                mavenReportExecutorRequest.getMavenSession().getRepositorySession(),
+                mavenReportExecutorRequest.isCrossBuildCache() ? CrossBuildCache.getInstance() : null,
+                project.getFile());
+    }
+
+    private static void appendPlugins(StringBuilder model, List<Plugin> plugins) {
+        for (Plugin plugin : plugins) {
+            model.append(plugin.getKey())
+                    .append(':')
+                    .append(plugin.getVersion())
+                    .append(plugin.getConfiguration())
+                    .append(plugin.getDependencies())
+                    .append('\n');
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Report goals declared in the POM are trusted to be reports. When report goals are detected, the plugin realm is
+     * set up to check which goals implement {@link MavenReport}. Report plans cached by a previous build are used when
+     * they are up to date, see {@link MavenReportExecutorRequest#setReportPlanCache(boolean)}.
+     * </p>
+     */
+    @Override
+    public List<MavenReportPlan> planMavenReports(MavenReportExecutorRequest mavenReportExecutorRequest)
+            throws MojoExecutionException {
+        if (mavenReportExecutorRequest.getReportPlugins() == null) {
+            return Collections.emptyList();
+        }
+
+        ClassLoader parentClassLoader = Thread.currentThread().getContextClassLoader();
+
+        awaitPrefetch(mavenReportExecutorRequest.getMavenSession(), mavenReportExecutorRequest.getProject());
+
+        ReportPlugin[] reportPlugins = filterReportPlugins(mavenReportExecutorRequest);
+        List<MavenReportPlan> plans = new ArrayList<>();
+
+        ReportPlanCache planCache = newReportPlanCache(mavenReportExecutorRequest, reportPlugins);
+        List<ReportPlanCache.Entry> planEntries = (planCache == null) ? null : planCache.load(reportPlugins);
+        if (planEntries != null) {
+            for (ReportPlanCache.Entry planEntry : planEntries) {
+                plans.addAll(planEntry.getPlans());
+            }
+            return plans;
+        }
+
+        ReportGoalFilter filter = ReportGoalFilter.of(mavenReportExecutorRequest);
+        for (ReportPlugin reportPlugin : reportPlugins) {
+            try {
+                Plugin plugin = preparePlugin(mavenReportExecutorRequest, reportPlugin, null);
+                PluginDescriptor pluginDescriptor = mavenPluginManagerHelper.getPluginDescriptor(
+                        plugin, mavenReportExecutorRequest.getMavenSession());
+
+                List<GoalWithConf> goalsWithConfiguration = new ArrayList<>();
+                boolean hasUserDefinedReports =
+                        prepareGoals(reportPlugin, pluginDescriptor, filter, goalsWithConfiguration);
+                for (GoalWithConf report : goalsWithConfiguration) {
+                    MavenReportPlan plan = planReportExecution(
+                            mavenReportExecutorRequest, report, hasUserDefinedReports, parentClassLoader);
+                    if (plan != null) {
+                        plans.add(plan);
+                    }
+                }
+            } catch (Exception e) {
+                throw new MojoExecutionException("Failed to plan report for " + reportPlugin.getPluginKey(), e);
+            }
+        }
+        return plans;
+    }
+
+    private MavenReportPlan planReportExecution(
+            MavenReportExecutorRequest mavenReportExecutorRequest,
+            GoalWithConf report,
+            boolean userDefined,
+            ClassLoader parentClassLoader)
+            throws Exception {
+        ReportPlugin reportPlugin = report.getReportPlugin();
+        PluginDescriptor pluginDescriptor = report.getPluginDescriptor();
+
+        MojoDescriptor mojoDescriptor = pluginDescriptor.getMojo(report.getGoal());
+        if (mojoDescriptor == null) {
+            throw new MojoNotFoundException(report.getGoal(), pluginDescriptor);
+        }
+
+        MavenProject project = mavenReportExecutorRequest.getProject();
+        if (!userDefined && mojoDescriptor.isAggregator() && !canAggregate(project)) {
+            // aggregator mojos automatically added from plugin are only run at execution root
+            return null;
+        }
+
+        if (!userDefined) {
+            MojoExecution mojoExecution = new MojoExecution(
+                    pluginDescriptor.getPlugin(), report.getGoal(), mavenReportExecutorRequest.getExecutionId());
+            mojoExecution.setMojoDescriptor(mojoDescriptor);
+
+            mavenPluginManagerHelper.setupPluginRealm(
+                    pluginDescriptor,
+                    mavenReportExecutorRequest.getMavenSession(),
+                    parentClassLoader,
+                    IMPORTS,
+                    EXCLUDES);
+
+            if (!isMavenReport(mojoExecution, pluginDescriptor)) {
+                LOGGER.debug(
+                        "Ignoring {}:{} goal since it is not a report",
+                        mojoExecution.getPlugin().getId(),
+                        report.getGoal());
+                return null;
+            }
+        }
+
+        Xpp3Dom configuration = mergeConfiguration(
+                mojoDescriptor.getMojoConfiguration(),
+                getPluginManagementConfiguration(project, reportPlugin),
+                reportPlugin.getConfiguration(),
+                report.getConfiguration(),
+                mojoDescriptor.getParameterMap().keySet());
+
+        return newMavenReportPlan(
+                pluginDescriptor, mojoDescriptor, report.getReportSetId(), configuration, userDefined);
+    }
+
+    private static MavenReportPlan newMavenReportPlan(
+            PluginDescriptor pluginDescriptor,
+            MojoDescriptor mojoDescriptor,
+            String reportSetId,
+            Xpp3Dom configuration,
+            boolean userDefined) {
+        return new MavenReportPlan.Builder()
+                .plugin(pluginDescriptor.getGroupId(), pluginDescriptor.getArtifactId(), pluginDescriptor.getVersion())
+                .goal(mojoDescriptor.getGoal())
+                .reportSet(reportSetId)
+                .configuration(new Xpp3Dom(configuration))
+                .userDefined(userDefined)
+                .aggregator(mojoDescriptor.isAggregator())
+                .fork(
+                        emptyToNull(mojoDescriptor.getExecutePhase()),
+                        emptyToNull(mojoDescriptor.getExecuteLifecycle()),
+                        emptyToNull(mojoDescriptor.getExecuteGoal()))
+                .build();
+    }
+
+    private static String emptyToNull(String value) {
+        return StringUtils.isEmpty(value) ? null : value;
+    }
+
+    /**
+     * Remove the report plugins which can't contain any report goal kept by the request report filters, before any
+     * version resolution.
+     */
+    private static ReportPlugin[] filterReportPlugins(MavenReportExecutorRequest mavenReportExecutorRequest) {
+        ReportPlugin[] reportPlugins = mavenReportExecutorRequest.getReportPlugins();
+        ReportGoalFilter filter = ReportGoalFilter.of(mavenReportExecutorRequest);
+        if (filter.isEmpty()) {
+            return reportPlugins;
+        }
+
+        List<ReportPlugin> included = new ArrayList<>(reportPlugins.length);
+        for (ReportPlugin reportPlugin : reportPlugins) {
+            if (filter.includesPlugin(reportPlugin.getGroupId(), reportPlugin.getArtifactId())) {
+                included.add(reportPlugin);
+            } else {
+                LOGGER.debug("Skipping report plugin {} filtered out by report filters", reportPlugin.getPluginKey());
+            }
+        }
+        return included.toArray(new ReportPlugin[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * For every reactor project, in reactor order, report plugins versions are resolved, then plugins artifacts and
+     * dependencies are resolved into the local repository, from the remote plugin repositories of the project. Building
+     * the reports of a project only waits for the prefetch of this project. With Maven 3.9 or later, plugin descriptors
+     * are then loaded into the plugin descriptor cache of Maven core: before, this cache is not thread-safe and the
+     * build is running concurrently. Failures are only logged at debug level: they will be reported with full context
+     * when reports are built.
+     * </p>
+     */
+    @Override
+    public Future<?> prefetchReportPlugins(MavenSession session) {
+        SessionData data = session.getRepositorySession().getData();
+        ConcurrentMap<String, CompletableFuture<Void>> projectPrefetches = new ConcurrentHashMap<>();
+        for (MavenProject project : session.getProjects()) {
+            projectPrefetches.put(project.getId(), new CompletableFuture<>());
+        }
+        FutureTask<Void> prefetch = new FutureTask<>(() -> {
+            try {
+                prefetch(session, projectPrefetches);
+            } finally {
+                // never leave a project waiting, whatever happened
+                projectPrefetches.values().forEach(future -> future.complete(null));
+            }
+            return null;
+        });
+        if (!data.set(PREFETCH_KEY, null, prefetch)) {
+            // already started for this session
+            return (Future<?>) data.get(PREFETCH_KEY);
+        }
+        data.set(PREFETCH_PROJECTS_KEY, projectPrefetches);
+
+        Thread thread = new Thread(prefetch, "maven-report-prefetch");
+        thread.setDaemon(true);
+        thread.setContextClassLoader(Thread.currentThread().getContextClassLoader());
+        thread.start();
+        return prefetch;
+    }
+
+    private void prefetch(MavenSession session, Map<String, CompletableFuture<Void>> projectPrefetches) {
+        long start = System.currentTimeMillis();
+
+        Set<String> prefetched = new HashSet<>();
+        for (MavenProject project : session.getProjects()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            Reporting reporting = project.getModel().getReporting();
+            if (reporting != null && !reporting.getPlugins().isEmpty()) {
+                prefetch(project, reporting, session, prefetched);
+            }
+            projectPrefetches.get(project.getId()).complete(null);
+        }
+
+        LOGGER.debug("Prefetched {} report plugins in {} ms", prefetched.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Prefetch the report plugins of a project, from its remote plugin repositories, skipping the plugins already
+     * prefetched for a previous project with the same dependencies and repositories.
+     */
+    private void prefetch(MavenProject project, Reporting reporting, MavenSession session, Set<String> prefetched) {
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+        List<RemoteRepository> repositories = project.getRemotePluginRepositories();
+
+        MavenReportExecutorRequest request = new MavenReportExecutorRequest();
+        request.setMavenSession(session);
+        request.setProject(project);
+        request.setReportPlugins(reporting.getPlugins().toArray(new org.apache.maven.model.ReportPlugin[0]));
+
+        List<Plugin> plugins = new ArrayList<>();
+        for (ReportPlugin reportPlugin : request.getReportPlugins()) {
+            try {
+                Plugin plugin = new Plugin();
+                plugin.setGroupId(reportPlugin.getGroupId());
+                plugin.setArtifactId(reportPlugin.getArtifactId());
+                plugin.setVersion(prefetchPluginVersion(reportPlugin, project, repositorySession));
+                mergePluginToReportPlugin(request, plugin, reportPlugin);
+
+                if (prefetched.add(plugin.getId() + plugin.getDependencies() + repositories)) {
+                    plugins.add(plugin);
+                }
+            } catch (PluginVersionResolutionException e) {
+                LOGGER.debug("Failed to prefetch report plugin {} version", reportPlugin.getPluginKey(), e);
+            }
+        }
 
-        String pluginKey = "";
         try {
-            for (ReportPlugin reportPlugin : mavenReportExecutorRequest.getReportPlugins()) {
-                pluginKey = reportPlugin.getGroupId() + ':' + reportPlugin.getArtifactId();
+            mavenPluginManagerHelper.resolvePluginArtifacts(plugins, repositories, repositorySession);
+        } catch (PluginResolutionException e) {
+            LOGGER.debug("Failed to prefetch report plugins artifacts of {}", project.getId(), e);
+        }
+        for (Plugin plugin : plugins) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                mavenPluginManagerHelper.resolvePluginDependencies(plugin, EXCLUDES, repositories, repositorySession);
+            } catch (PluginResolutionException e) {
+                LOGGER.debug("Failed to prefetch report plugin {} dependencies", plugin.getId(), e);
+            }
+            try {
+                mavenPluginManagerHelper.prefetchPluginDescriptor(plugin, repositories, repositorySession);
+            } catch (PluginResolutionException
+                    | PluginDescriptorParsingException
+                    | InvalidPluginDescriptorException e) {
+                LOGGER.debug("Failed to prefetch report plugin {} descriptor", plugin.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #resolvePluginVersion(ReportPlugin, MavenReportExecutorRequest)}, without any logging.
+     */
+    private String prefetchPluginVersion(
+            ReportPlugin reportPlugin, MavenProject project, RepositorySystemSession repositorySession)
+            throws PluginVersionResolutionException {
+        if (reportPlugin.getVersion() != null) {
+            return reportPlugin.getVersion();
+        }
+
+        Build build = project.getBuild();
+        if (build != null) {
+            Plugin plugin = find(reportPlugin, build.getPlugins());
+            if ((plugin == null || plugin.getVersion() == null) && build.getPluginManagement() != null) {
+                plugin = find(reportPlugin, build.getPluginManagement().getPlugins());
+            }
+            if (plugin != null && plugin.getVersion() != null) {
+                return plugin.getVersion();
+            }
+        }
+
+        return resolvePluginVersionFromRepository(
+                reportPlugin, project, repositorySession, CrossBuildCache.getExistingInstance());
+    }
+
+    /**
+     * Wait for report plugins prefetch of the project started for the session, if any, to avoid resolving the same
+     * artifacts twice. The prefetch of the next projects of the reactor is not waited for.
+     */
+    @SuppressWarnings("unchecked")
+    private void awaitPrefetch(MavenSession session, MavenProject project) {
+        if (session == null || session.getRepositorySession() == null || project == null) {
+            return;
+        }
+        Map<String, Future<?>> projectPrefetches =
+                (Map<String, Future<?>>) session.getRepositorySession().getData().get(PREFETCH_PROJECTS_KEY);
+        Future<?> prefetch = (projectPrefetches == null) ? null : projectPrefetches.get(project.getId());
+        if (prefetch == null || prefetch.isDone()) {
+            return;
+        }
+
+        LOGGER.debug("Waiting for report plugins prefetch of {} to complete", project.getId());
+        try {
+            prefetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.debug("Report plugins prefetch failed", e.getCause());
+        }
+    }
+
+    /**
+     * Build the reports in stages: I/O bound preparation steps (version resolution, optional plugins artifacts
+     * pre-resolution and plugin descriptor loading) are done concurrently for every report plugin, then mojo
+     * configuration and forked executions are done sequentially on the calling thread, in report plugins declaration
+     * order. Concurrent steps are scheduled from the {@link PreparationHistory#schedule(ReportPlugin[]) preparation
+     * history} of both stages, to keep the calling thread busy.
+     */
+    private List<MavenReportExecution> buildMavenReportsInStages(
+            MavenReportExecutorRequest mavenReportExecutorRequest,
+            ReportPlugin[] reportPlugins,
+            List<ReportPlanCache.Entry> planEntries,
+            ClassLoader parentClassLoader)
+            throws MojoExecutionException {
+        Set<String> reportPluginKeys = new HashSet<>();
+        for (ReportPlugin reportPlugin : reportPlugins) {
+            String pluginKey = reportPlugin.getPluginKey();
+            if (!reportPluginKeys.add(pluginKey)) {
+                LOGGER.info("Plugin {} will be executed more than one time", pluginKey);
+            }
+        }
 
-                if (!reportPluginKeys.add(pluginKey)) {
-                    LOGGER.info("Plugin {} will be executed more than one time", pluginKey);
+        MavenSession session = mavenReportExecutorRequest.getMavenSession();
+        PreparationHistory history = PreparationHistory.load(mavenReportExecutorRequest.getPreparationHistoryFile());
+        List<Integer> schedule = history.schedule(reportPlugins);
+
+        PreparationBudget[] budgets = new PreparationBudget[reportPlugins.length];
+        for (int i = 0; i < reportPlugins.length; i++) {
+            budgets[i] = new PreparationBudget(
+                    "report plugin " + reportPlugins[i].getPluginKey(),
+                    mavenReportExecutorRequest.getPluginPreparationTimeout());
+        }
+
+        int parallelism = Math.min(mavenReportExecutorRequest.getParallelism(), reportPlugins.length);
+        AdaptiveConcurrencyLimiter limiter = mavenReportExecutorRequest.isAdaptiveParallelism()
+                ? new AdaptiveConcurrencyLimiter("Report preparation", 1, Math.max(1, parallelism))
+                : null;
+        ExecutorService executor = ReportTaskExecutors.newExecutor(
+                "maven-report-preparation", parallelism, mavenReportExecutorRequest.isVirtualThreads());
+        try (PreparationTasks tasks =
+                new PreparationTasks(executor, mavenReportExecutorRequest.isFailFast(), limiter)) {
+            // stage 1: resolve the plugins versions
+            List<Future<Plugin>> pluginFutures = new ArrayList<>(Collections.nCopies(reportPlugins.length, null));
+            for (int i : schedule) {
+                ReportPlugin reportPlugin = reportPlugins[i];
+                String pluginKey = reportPlugin.getPluginKey();
+                ReportPlanCache.Entry planEntry = planEntries == null ? null : planEntries.get(i);
+                pluginFutures.set(
+                        i,
+                        tasks.submit(
+                                pluginKey,
+                                budgets[i],
+                                RESOLVING_VERSION,
+                                timed(history, pluginKey, () -> {
+                                    return preparePlugin(mavenReportExecutorRequest, reportPlugin, planEntry);
+                                })));
+            }
+            List<Plugin> plugins = new ArrayList<>(reportPlugins.length);
+            for (int i = 0; i < reportPlugins.length; i++) {
+                plugins.add(tasks.await(reportPlugins[i].getPluginKey(), pluginFutures.get(i)));
+            }
+
+            // stage 2: resolve the plugins artifacts and dependencies in a batch
+            if (mavenReportExecutorRequest.isPreResolvePlugins()) {
+                preResolvePlugins(
+                        reportPlugins, plugins, budgets, mavenReportExecutorRequest.getProject(), session, tasks);
+            }
+
+            // stage 3: load the plugins descriptors
+            List<Future<PluginDescriptor>> descriptorFutures =
+                    new ArrayList<>(Collections.nCopies(reportPlugins.length, null));
+            for (int i : schedule) {
+                Plugin plugin = plugins.get(i);
+                String pluginKey = reportPlugins[i].getPluginKey();
+                descriptorFutures.set(
+                        i,
+                        tasks.submit(
+                                pluginKey,
+                                budgets[i],
+                                LOADING_DESCRIPTOR,
+                                timed(history, pluginKey, () -> {
+                                    return mavenPluginManagerHelper.getPluginDescriptor(plugin, session);
+                                })));
+            }
+
+            // stage 4: prepare the reports, sequentially
+            List<MavenReportExecution> reportExecutions = new ArrayList<>();
+            for (int i = 0; i < reportPlugins.length; i++) {
+                ReportPlugin reportPlugin = reportPlugins[i];
+                PluginDescriptor pluginDescriptor = tasks.await(reportPlugin.getPluginKey(), descriptorFutures.get(i));
+                try {
+                    reportExecutions.addAll(buildReportPlugin(
+                            mavenReportExecutorRequest,
+                            reportPlugin,
+                            plugins.get(i),
+                            pluginDescriptor,
+                            history,
+                            planEntries == null ? null : planEntries.get(i),
+                            parentClassLoader));
+                } catch (Exception e) {
+                    throw new MojoExecutionException("Failed to get report for " + reportPlugin.getPluginKey(), e);
                 }
+            }
+            return reportExecutions;
+        } finally {
+            history.store();
+        }
+    }
 
-                reportExecutions.addAll(buildReportPlugin(mavenReportExecutorRequest, reportPlugin));
+    /**
+     * Wrap a task to record its duration in the preparation history.
+     */
+    private static <T> Callable<T> timed(PreparationHistory history, String key, Callable<T> task) {
+        return () -> {
+            long start = System.currentTimeMillis();
+            try {
+                return task.call();
+            } finally {
+                history.record(key, System.currentTimeMillis() - start);
             }
-        } catch (Exception e) {
-            throw new MojoExecutionException("Failed to get report for " + pluginKey, e);
+        };
+    }
+
+    /**
+     * Resolve all plugins artifacts in one request, then their dependencies concurrently, to have later plugin
+     * descriptor loading and realm setup only hit the local repository. Failures are ignored here: they will be
+     * reported with full context by the corresponding report plugin preparation. Time spent is still taken from the
+     * report plugins preparation budgets.
+     */
+    private void preResolvePlugins(
+            ReportPlugin[] reportPlugins,
+            List<Plugin> plugins,
+            PreparationBudget[] budgets,
+            MavenProject project,
+            MavenSession session,
+            PreparationTasks tasks)
+            throws MojoExecutionException {
+        List<RemoteRepository> repositories = project.getRemotePluginRepositories();
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+        try {
+            mavenPluginManagerHelper.resolvePluginArtifacts(plugins, repositories, repositorySession);
+        } catch (PluginResolutionException e) {
+            LOGGER.debug("Failed to pre-resolve report plugins artifacts", e);
         }
 
-        return reportExecutions;
+        List<Future<Void>> futures = new ArrayList<>(plugins.size());
+        for (int i = 0; i < plugins.size(); i++) {
+            Plugin plugin = plugins.get(i);
+            futures.add(tasks.submit(reportPlugins[i].getPluginKey(), budgets[i], RESOLVING_DEPENDENCIES, () -> {
+                try {
+                    mavenPluginManagerHelper.resolvePluginDependencies(
+                            plugin, EXCLUDES, repositories, repositorySession);
+                } catch (PluginResolutionException e) {
+                    LOGGER.debug("Failed to pre-resolve report plugin {} dependencies", plugin.getId(), e);
+                }
+                return null;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                tasks.await(reportPlugins[i].getPluginKey(), futures.get(i));
+            } catch (MojoExecutionException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                // overrun budget: will be reported when loading the plugin descriptor
+                LOGGER.debug(e.getMessage(), e.getCause());
+            }
+        }
+        tasks.checkFailure();
     }
 
     protected List<MavenReportExecution> buildReportPlugin(
             MavenReportExecutorRequest mavenReportExecutorRequest, ReportPlugin reportPlugin) throws Exception {
-        // step 1: prepare the plugin
+        return buildReportPlugin(
+                mavenReportExecutorRequest, reportPlugin, null, Thread.currentThread().getContextClassLoader());
+    }
+
+    private List<MavenReportExecution> buildReportPlugin(
+            MavenReportExecutorRequest mavenReportExecutorRequest,
+            ReportPlugin reportPlugin,
+            ReportPlanCache.Entry planEntry,
+            ClassLoader parentClassLoader)
+            throws Exception {
+        PreparationBudget budget = new PreparationBudget(
+                "report plugin " + reportPlugin.getPluginKey(),
+                mavenReportExecutorRequest.getPluginPreparationTimeout());
+
+        Plugin plugin = budget.run(
+                RESOLVING_VERSION, () -> preparePlugin(mavenReportExecutorRequest, reportPlugin, planEntry));
+
+        PluginDescriptor pluginDescriptor = budget.run(
+                LOADING_DESCRIPTOR,
+                () -> mavenPluginManagerHelper.getPluginDescriptor(
+                        plugin, mavenReportExecutorRequest.getMavenSession()));
+
+        return buildReportPlugin(
+                mavenReportExecutorRequest, reportPlugin, plugin, pluginDescriptor, null, planEntry, parentClassLoader);
+    }
+
+    /**
+     * Step 1: prepare the plugin, with its version resolved, or taken from the cached plans. This step does not depend
+     * on the calling thread and can be run concurrently for multiple report plugins.
+     */
+    private Plugin preparePlugin(
+            MavenReportExecutorRequest mavenReportExecutorRequest,
+            ReportPlugin reportPlugin,
+            ReportPlanCache.Entry planEntry)
+            throws PluginVersionResolutionException {
         Plugin plugin = new Plugin();
         plugin.setGroupId(reportPlugin.getGroupId());
         plugin.setArtifactId(reportPlugin.getArtifactId());
-        plugin.setVersion(resolvePluginVersion(reportPlugin, mavenReportExecutorRequest));
+        plugin.setVersion(
+                (planEntry != null && planEntry.isCached())
+                        ? planEntry.getVersion()
+                        : resolvePluginVersion(reportPlugin, mavenReportExecutorRequest));
         LOGGER.info("Configuring report plugin {}:{}", plugin.getArtifactId(), plugin.getVersion());
 
         mergePluginToReportPlugin(mavenReportExecutorRequest, plugin, reportPlugin);
 
-        PluginDescriptor pluginDescriptor =
-                mavenPluginManagerHelper.getPluginDescriptor(plugin, mavenReportExecutorRequest.getMavenSession());
+        return plugin;
+    }
 
+    private List<MavenReportExecution> buildReportPlugin(
+            MavenReportExecutorRequest mavenReportExecutorRequest,
+            ReportPlugin reportPlugin,
+            Plugin plugin,
+            PluginDescriptor pluginDescriptor,
+            PreparationHistory history,
+            ReportPlanCache.Entry planEntry,
+            ClassLoader parentClassLoader)
+            throws Exception {
         // step 2: prepare the goals
         List<GoalWithConf> goalsWithConfiguration = new ArrayList<>();
-        boolean hasUserDefinedReports = prepareGoals(reportPlugin, pluginDescriptor, goalsWithConfiguration);
+        ReportGoalFilter filter = ReportGoalFilter.of(mavenReportExecutorRequest);
+        boolean hasUserDefinedReports;
+        if (planEntry != null && planEntry.isCached()) {
+            for (MavenReportPlan plan : planEntry.getPlans()) {
+                goalsWithConfiguration.add(new GoalWithConf(reportPlugin, pluginDescriptor, plan));
+            }
+            hasUserDefinedReports = planEntry.getPlans().get(0).isUserDefined();
+        } else {
+            hasUserDefinedReports = prepareGoals(reportPlugin, pluginDescriptor, filter, goalsWithConfiguration);
+            if (planEntry != null) {
+                planEntry.setPlugin(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion());
+            }
+        }
 
         // step 3: prepare the reports
         List<MavenReportExecution> reports = new ArrayList<>(goalsWithConfiguration.size());
         for (GoalWithConf report : goalsWithConfiguration) {
-            MavenReportExecution mavenReportExecution =
-                    prepareReportExecution(mavenReportExecutorRequest, report, hasUserDefinedReports);
+            PreparationBudget budget = new PreparationBudget(
+                    "report goal " + reportPlugin.getPluginKey() + ':' + report.getGoal(),
+                    mavenReportExecutorRequest.getGoalPreparationTimeout());
+            long start = System.currentTimeMillis();
+            MavenReportExecution mavenReportExecution = budget.run(
+                    "checking the goal",
+                    () -> prepareReportExecution(
+                            mavenReportExecutorRequest,
+                            report,
+                            hasUserDefinedReports,
+                            budget,
+                            planEntry,
+                            parentClassLoader));
+            if (history != null) {
+                history.record(
+                        reportPlugin.getPluginKey() + ':' + report.getGoal(),
+                        System.currentTimeMillis() - start);
+            }
 
             if (mavenReportExecution != null) {
                 // ok, report is ready to generate
@@ -227,10 +957,10 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
                     plugin.getArtifactId(),
                     plugin.getVersion(),
                     buff);
-        } else if (!hasUserDefinedReports) {
+        } else if (!hasUserDefinedReports && filter.isEmpty()) {
             LOGGER.warn(
-                    "Ignoring report plugin {}:{},"
-                            + " it does not contain any report goals: should be removed from reporting configuration in POM",
+                    "Ignoring report plugin {}:{}, it does not contain any report goals:"
+                            + " should be removed from reporting configuration in POM",
                     plugin.getArtifactId(),
                     plugin.getVersion());
         }
@@ -239,36 +969,45 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
     }
 
     private boolean prepareGoals(
-            ReportPlugin reportPlugin, PluginDescriptor pluginDescriptor, List<GoalWithConf> goalsWithConfiguration) {
+            ReportPlugin reportPlugin,
+            PluginDescriptor pluginDescriptor,
+            ReportGoalFilter filter,
+            List<GoalWithConf> goalsWithConfiguration) {
         if (reportPlugin.getReportSets().isEmpty() && reportPlugin.getReports().isEmpty()) {
             // by default, use every goal which will be filtered later to only keep reporting goals
             List<MojoDescriptor> mojoDescriptors = pluginDescriptor.getMojos();
             for (MojoDescriptor mojoDescriptor : mojoDescriptors) {
-                goalsWithConfiguration.add(new GoalWithConf(
-                        reportPlugin, pluginDescriptor, mojoDescriptor.getGoal(), mojoDescriptor.getConfiguration()));
+                if (filter.includesGoal(pluginDescriptor, mojoDescriptor.getGoal())) {
+                    goalsWithConfiguration.add(new GoalWithConf(
+                            reportPlugin,
+                            pluginDescriptor,
+                            mojoDescriptor.getGoal(),
+                            mojoDescriptor.getConfiguration(),
+                            null));
+                }
             }
 
             return false;
         }
 
-        Set<String> goals = new HashSet<>();
-        for (String report : reportPlugin.getReports()) {
-            if (goals.add(report)) {
-                goalsWithConfiguration.add(
-                        new GoalWithConf(reportPlugin, pluginDescriptor, report, reportPlugin.getConfiguration()));
-            } else {
-                LOGGER.warn("{} report is declared twice in default reports", report);
+        for (String report : reportPlugin.getDuplicateReports()) {
+            LOGGER.warn("{} report is declared twice in default reports", report);
+        }
+        for (String report : reportPlugin.getDistinctReports()) {
+            if (filter.includesGoal(pluginDescriptor, report)) {
+                goalsWithConfiguration.add(new GoalWithConf(
+                        reportPlugin, pluginDescriptor, report, reportPlugin.getConfiguration(), null));
             }
         }
 
         for (ReportSet reportSet : reportPlugin.getReportSets()) {
-            goals = new HashSet<>();
-            for (String report : reportSet.getReports()) {
-                if (goals.add(report)) {
-                    goalsWithConfiguration.add(
-                            new GoalWithConf(reportPlugin, pluginDescriptor, report, reportSet.getConfiguration()));
-                } else {
-                    LOGGER.warn("{} report is declared twice in {} reportSet", report, reportSet.getId());
+            for (String report : reportSet.getDuplicateReports()) {
+                LOGGER.warn("{} report is declared twice in {} reportSet", report, reportSet.getId());
+            }
+            for (String report : reportSet.getDistinctReports()) {
+                if (filter.includesGoal(pluginDescriptor, report)) {
+                    goalsWithConfiguration.add(new GoalWithConf(
+                            reportPlugin, pluginDescriptor, report, reportSet.getConfiguration(), reportSet.getId()));
                 }
             }
         }
@@ -277,8 +1016,14 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
     }
 
     private MavenReportExecution prepareReportExecution(
-            MavenReportExecutorRequest mavenReportExecutorRequest, GoalWithConf report, boolean userDefined)
+            MavenReportExecutorRequest mavenReportExecutorRequest,
+            GoalWithConf report,
+            boolean userDefined,
+            PreparationBudget budget,
+            ReportPlanCache.Entry planEntry,
+            ClassLoader parentClassLoader)
             throws Exception {
+        MavenReportPlan plan = report.getPlan();
         ReportPlugin reportPlugin = report.getReportPlugin();
         PluginDescriptor pluginDescriptor = report.getPluginDescriptor();
 
@@ -288,7 +1033,7 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
         }
 
         MavenProject project = mavenReportExecutorRequest.getProject();
-        if (!userDefined && mojoDescriptor.isAggregator() && !canAggregate(project)) {
+        if (plan == null && !userDefined && mojoDescriptor.isAggregator() && !canAggregate(project)) {
             // aggregator mojos automatically added from plugin are only run at execution root
             return null;
         }
@@ -298,14 +1043,12 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
 
         mojoExecution.setMojoDescriptor(mojoDescriptor);
 
+        budget.phase("setting up the plugin realm");
         mavenPluginManagerHelper.setupPluginRealm(
-                pluginDescriptor,
-                mavenReportExecutorRequest.getMavenSession(),
-                Thread.currentThread().getContextClassLoader(),
-                IMPORTS,
-                EXCLUDES);
+                pluginDescriptor, mavenReportExecutorRequest.getMavenSession(), parentClassLoader, IMPORTS, EXCLUDES);
 
-        if (!isMavenReport(mojoExecution, pluginDescriptor)) {
+        // planned goals are known to be reports
+        if (plan == null && !isMavenReport(mojoExecution, pluginDescriptor)) {
             if (userDefined) {
                 // reports were explicitly written in the POM
                 LOGGER.warn(
@@ -322,24 +1065,20 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
             return null;
         }
 
-        Xpp3Dom pluginMgmtConfiguration = null;
-        if (project.getBuild() != null && project.getBuild().getPluginManagement() != null) {
-            Plugin pluginMgmt =
-                    find(reportPlugin, project.getBuild().getPluginManagement().getPlugins());
-
-            if (pluginMgmt != null) {
-                pluginMgmtConfiguration = (Xpp3Dom) pluginMgmt.getConfiguration();
-            }
+        if (plan != null) {
+            mojoExecution.setConfiguration(plan.getConfiguration());
+        } else {
+            mojoExecution.setConfiguration(mergeConfiguration(
+                    mojoDescriptor.getMojoConfiguration(),
+                    getPluginManagementConfiguration(project, reportPlugin),
+                    reportPlugin.getConfiguration(),
+                    report.getConfiguration(),
+                    mojoDescriptor.getParameterMap().keySet()));
         }
 
-        mojoExecution.setConfiguration(mergeConfiguration(
-                mojoDescriptor.getMojoConfiguration(),
-                pluginMgmtConfiguration,
-                reportPlugin.getConfiguration(),
-                report.getConfiguration(),
-                mojoDescriptor.getParameterMap().keySet()));
-
-        MavenReport mavenReport = getConfiguredMavenReport(mojoExecution, pluginDescriptor, mavenReportExecutorRequest);
+        budget.phase("configuring the mojo");
+        MavenSession session = mavenReportExecutorRequest.getMavenSession();
+        MavenReport mavenReport = getConfiguredMavenReport(session, project, mojoExecution);
 
         MavenReportExecution mavenReportExecution = new MavenReportExecution(
                 report.getGoal(),
@@ -347,7 +1086,21 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
                 mavenReport,
                 pluginDescriptor.getClassRealm(),
                 userDefined);
+        mavenReportExecution.setThreadSafe(mojoDescriptor.isThreadSafe());
+        mavenReportExecution.setReportSetId(report.getReportSetId());
+        mavenReportExecution.setInputs(project, mojoExecution.getConfiguration());
+
+        if (mavenReportExecutorRequest.isSoftReferencedReports()) {
+            // only what is needed to configure the report again, without the forked executions calculated below
+            MojoExecution reportExecution = new MojoExecution(
+                    mojoExecution.getPlugin(), mojoExecution.getGoal(), mojoExecution.getExecutionId());
+            reportExecution.setMojoDescriptor(mojoDescriptor);
+            reportExecution.setConfiguration(mojoExecution.getConfiguration());
+            mavenReportExecution.softReferenceMavenReport(
+                    () -> getConfiguredMavenReport(session, project, reportExecution));
+        }
 
+        budget.phase("calculating forked executions");
         lifecycleExecutor.calculateForkedExecutions(mojoExecution, mavenReportExecutorRequest.getMavenSession());
 
         if (!mojoExecution.getForkedExecutions().isEmpty()) {
@@ -368,14 +1121,39 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
 
             LOGGER.info("Preparing {} requires {}", reportDescription, execution);
 
+            budget.phase("executing " + execution);
             lifecycleExecutor.executeForkedExecutions(mojoExecution, mavenReportExecutorRequest.getMavenSession());
 
             LOGGER.info("{} for {} preparation done", execution, reportDescription);
         }
 
+        if (plan == null && planEntry != null && mavenReport != null) {
+            // only goals actually prepared are planned
+            planEntry
+                    .getPlans()
+                    .add(newMavenReportPlan(
+                            pluginDescriptor,
+                            mojoDescriptor,
+                            report.getReportSetId(),
+                            mojoExecution.getConfiguration(),
+                            userDefined));
+        }
+
         return mavenReportExecution;
     }
 
+    private Xpp3Dom getPluginManagementConfiguration(MavenProject project, ReportPlugin reportPlugin) {
+        if (project.getBuild() != null && project.getBuild().getPluginManagement() != null) {
+            Plugin pluginMgmt =
+                    find(reportPlugin, project.getBuild().getPluginManagement().getPlugins());
+
+            if (pluginMgmt != null) {
+                return (Xpp3Dom) pluginMgmt.getConfiguration();
+            }
+        }
+        return null;
+    }
+
     private boolean canAggregate(MavenProject project) {
         return project.isExecutionRoot()
                 && "pom".equals(project.getPackaging())
@@ -383,14 +1161,25 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
                 && !project.getModules().isEmpty();
     }
 
+    /**
+     * Configure the report mojo, evaluating its parameters against the given project: the current project of the
+     * session is set to it during the configuration, since it may be another module when reports are prepared again
+     * later, or concurrently.
+     */
     private MavenReport getConfiguredMavenReport(
-            MojoExecution mojoExecution,
-            PluginDescriptor pluginDescriptor,
-            MavenReportExecutorRequest mavenReportExecutorRequest)
+            MavenSession session, MavenProject project, MojoExecution mojoExecution)
             throws PluginContainerException, PluginConfigurationException {
         try {
-            Mojo mojo = mavenPluginManager.getConfiguredMojo(
-                    Mojo.class, mavenReportExecutorRequest.getMavenSession(), mojoExecution);
+            Mojo mojo;
+            synchronized (session) {
+                MavenProject currentProject = session.getCurrentProject();
+                session.setCurrentProject(project);
+                try {
+                    mojo = mavenPluginManager.getConfiguredMojo(Mojo.class, session, mojoExecution);
+                } finally {
+                    session.setCurrentProject(currentProject);
+                }
+            }
 
             return (MavenReport) mojo;
         } catch (ClassCastException e) {
@@ -403,7 +1192,7 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
         }
     }
 
-    private boolean isMavenReport(MojoExecution mojoExecution, PluginDescriptor pluginDescriptor) {
+    boolean isMavenReport(MojoExecution mojoExecution, PluginDescriptor pluginDescriptor) {
         ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
 
         // get the plugin's goal Mojo class
@@ -473,7 +1262,7 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
      * @param parameters set of supported parameters: any other parameter will be removed
      * @return the effective configuration to be used
      */
-    private Xpp3Dom mergeConfiguration(
+    Xpp3Dom mergeConfiguration(
             PlexusConfiguration mojoConf,
             Xpp3Dom pluginMgmtConfig,
             PlexusConfiguration pluginConf,
@@ -507,7 +1296,7 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
         return mojoConfig;
     }
 
-    private Xpp3Dom convert(PlexusConfiguration config) {
+    Xpp3Dom convert(PlexusConfiguration config) {
         if (config == null) {
             return null;
         }
@@ -545,7 +1334,7 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
     protected String resolvePluginVersion(
             ReportPlugin reportPlugin, MavenReportExecutorRequest mavenReportExecutorRequest)
             throws PluginVersionResolutionException {
-        String reportPluginKey = reportPlugin.getGroupId() + ':' + reportPlugin.getArtifactId();
+        String reportPluginKey = reportPlugin.getPluginKey();
         LOGGER.debug("Resolving version for {}", reportPluginKey);
 
         // look for version defined in the reportPlugin configuration
@@ -592,16 +1381,77 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
         LOGGER.warn("For this reason, future Maven versions might no"
                 + " longer support building such malformed projects.");
 
-        Plugin plugin = new Plugin();
-        plugin.setGroupId(reportPlugin.getGroupId());
-        plugin.setArtifactId(reportPlugin.getArtifactId());
+        String version = resolvePluginVersionFromRepository(
+                reportPlugin,
+                project,
+                mavenReportExecutorRequest.getMavenSession().getRepositorySession(),
+                mavenReportExecutorRequest.isCrossBuildCache() ? CrossBuildCache.getInstance() : null);
+        LOGGER.debug("Resolved {} version from repository: {}", reportPluginKey, version);
+        return version;
+    }
+
+    /**
+     * Ask {@link PluginVersionResolver} to get a version from repositories, the result being cached for the whole
+     * session, and between builds of the JVM with a cross-build cache, until the local repository metadata of the
+     * plugin changes. The version is searched in the remote plugin repositories of the given project.
+     */
+    private String resolvePluginVersionFromRepository(
+            ReportPlugin reportPlugin,
+            MavenProject project,
+            RepositorySystemSession repositorySession,
+            CrossBuildCache crossBuildCache)
+            throws PluginVersionResolutionException {
+        List<RemoteRepository> repositories = project.getRemotePluginRepositories();
+        String reportPluginKey = reportPlugin.getPluginKey() + ':' + repositories;
+        ConcurrentMap<String, String> resolvedVersions =
+                getSessionValue(repositorySession, RESOLVED_VERSIONS_KEY, ConcurrentHashMap::new);
+
+        String version = resolvedVersions.get(reportPluginKey);
+        if (version == null) {
+            File localRepository = repositorySession.getLocalRepository().getBasedir();
+            String cacheKey =
+                    "version:" + localRepository + ':' + reportPluginKey + ':' + repositorySession.isOffline();
+            if (crossBuildCache != null) {
+                version = crossBuildCache.get(cacheKey);
+            }
 
-        PluginVersionRequest pluginVersionRequest =
-                new DefaultPluginVersionRequest(plugin, mavenReportExecutorRequest.getMavenSession());
+            if (version == null) {
+                Plugin plugin = new Plugin();
+                plugin.setGroupId(reportPlugin.getGroupId());
+                plugin.setArtifactId(reportPlugin.getArtifactId());
+
+                PluginVersionRequest pluginVersionRequest =
+                        new DefaultPluginVersionRequest(plugin, repositorySession, repositories);
+
+                PluginVersionResult result = pluginVersionResolver.resolve(pluginVersionRequest);
+                version = result.getVersion();
+                if (crossBuildCache != null) {
+                    // the versions metadata of the plugin in the local repository
+                    File metadataDirectory = new File(
+                            localRepository,
+                            reportPlugin.getGroupId().replace('.', '/') + '/' + reportPlugin.getArtifactId());
+                    crossBuildCache.put(cacheKey, version, Collections.singletonList(metadataDirectory.toPath()));
+                }
+            }
+            resolvedVersions.put(reportPluginKey, version);
+        }
+        return version;
+    }
 
-        PluginVersionResult result = pluginVersionResolver.resolve(pluginVersionRequest);
-        LOGGER.debug("Resolved {} version from repository: {}", reportPluginKey, result.getVersion());
-        return result.getVersion();
+    /**
+     * Get a value stored in the repository session data, to share it with any request of the same session. Values
+     * must be of JDK types, since the session data is shared with copies of this library loaded by other
+     * classloaders.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T getSessionValue(RepositorySystemSession session, Object key, Supplier<T> factory) {
+        SessionData data = session.getData();
+        T value = (T) data.get(key);
+        if (value == null) {
+            data.set(key, null, factory.get());
+            value = (T) data.get(key);
+        }
+        return value;
     }
 
     /**
@@ -611,7 +1461,7 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
      * @param plugins the candidate plugins
      * @return the first similar plugin
      */
-    private Plugin find(ReportPlugin reportPlugin, List<Plugin> plugins) {
+    Plugin find(ReportPlugin reportPlugin, List<Plugin> plugins) {
         if (plugins == null) {
             return null;
         }
@@ -658,19 +1508,38 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
 
         private final PlexusConfiguration configuration;
 
+        private final String reportSetId;
+
         private final ReportPlugin reportPlugin;
 
         private final PluginDescriptor pluginDescriptor;
 
+        private final MavenReportPlan plan;
+
         GoalWithConf(
                 ReportPlugin reportPlugin,
                 PluginDescriptor pluginDescriptor,
                 String goal,
-                PlexusConfiguration configuration) {
+                PlexusConfiguration configuration,
+                String reportSetId) {
             this.reportPlugin = reportPlugin;
             this.pluginDescriptor = pluginDescriptor;
             this.goal = goal;
             this.configuration = configuration;
+            this.reportSetId = reportSetId;
+            this.plan = null;
+        }
+
+        /**
+         * Goal planned in a previous build, with its effective configuration.
+         */
+        GoalWithConf(ReportPlugin reportPlugin, PluginDescriptor pluginDescriptor, MavenReportPlan plan) {
+            this.reportPlugin = reportPlugin;
+            this.pluginDescriptor = pluginDescriptor;
+            this.goal = plan.getGoal();
+            this.configuration = null;
+            this.reportSetId = plan.getReportSetId();
+            this.plan = plan;
         }
 
         public ReportPlugin getReportPlugin() {
@@ -688,5 +1557,13 @@ public class DefaultMavenReportExecutor implements MavenReportExecutor {
         public PlexusConfiguration getConfiguration() {
             return configuration;
         }
+
+        public String getReportSetId() {
+            return reportSetId;
+        }
+
+        public MavenReportPlan getPlan() {
+            return plan;
+        }
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ReportOutputStore} keeping every output in a sub-directory of a base directory, named after the output key.
+ *
+ * @since 2.1.0
+ */
+public class FileSystemReportOutputStore implements ReportOutputStore {
+    private final Path baseDirectory;
+
+    /**
+     * @param baseDirectory the directory containing the outputs, created if needed
+     */
+    public FileSystemReportOutputStore(Path baseDirectory) {
+        this.baseDirectory = requireNonNull(baseDirectory);
+    }
+
+    public Path getBaseDirectory() {
+        return baseDirectory;
+    }
+
+    @Override
+    public boolean retrieve(String key, Path directory) throws IOException {
+        Path output = baseDirectory.resolve(key);
+        if (!Files.isDirectory(output)) {
+            return false;
+        }
+        copy(output, directory);
+        return true;
+    }
+
+    @Override
+    public void store(String key, Path directory) throws IOException {
+        Files.createDirectories(baseDirectory);
+        Path tmp = Files.createTempDirectory(baseDirectory, key + '.');
+        try {
+            copy(directory, tmp);
+            Path output = baseDirectory.resolve(key);
+            delete(output);
+            Files.move(tmp, output, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            delete(tmp);
+        }
+    }
+
+    static void copy(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(
+                        file,
+                        target.resolve(source.relativize(file).toString()),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -27,6 +27,8 @@ import org.apache.maven.plugin.PluginContainerException;
 import org.apache.maven.plugin.PluginDescriptorParsingException;
 import org.apache.maven.plugin.PluginResolutionException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
 
 /**
  * {@link org.apache.maven.plugin.MavenPluginManager} helper to deal with API changes between Maven 3.0.x and 3.1.x, ie
@@ -70,4 +72,60 @@ public interface MavenPluginManagerHelper {
             List<String> imports,
             List<String> excludeArtifactIds)
             throws PluginResolutionException, PluginContainerException;
+
+    /**
+     * Resolve the artifacts of the given plugins in a single resolver request, to populate the local repository.
+     * Default implementation does nothing.
+     *
+     * @param plugins the plugins, with their versions
+     * @param repositories the remote plugin repositories of the project
+     * @param session the repository session
+     * @throws PluginResolutionException on resolution issue, for the first plugin that failed
+     * @since 2.1.0
+     */
+    default void resolvePluginArtifacts(
+            List<Plugin> plugins, List<RemoteRepository> repositories, RepositorySystemSession session)
+            throws PluginResolutionException {
+        // nothing to do
+    }
+
+    /**
+     * Resolve the dependencies of the given plugin, to populate the local repository before
+     * {@link #setupPluginRealm(PluginDescriptor, MavenSession, ClassLoader, List, List) setupPluginRealm(...)}.
+     * Default implementation does nothing.
+     *
+     * @param plugin the plugin, with its version
+     * @param excludeArtifactIds artifacts excluded from classloader
+     * @param repositories the remote plugin repositories of the project
+     * @param session the repository session
+     * @throws PluginResolutionException on resolution issue
+     * @since 2.1.0
+     */
+    default void resolvePluginDependencies(
+            Plugin plugin,
+            List<String> excludeArtifactIds,
+            List<RemoteRepository> repositories,
+            RepositorySystemSession session)
+            throws PluginResolutionException {
+        // nothing to do
+    }
+
+    /**
+     * Load the descriptor of the given plugin into the plugin descriptor cache of Maven core ahead of
+     * {@link #getPluginDescriptor(Plugin, MavenSession)}, if it can be done concurrently with the build.
+     * Default implementation does nothing.
+     *
+     * @param plugin the plugin, with its version
+     * @param repositories the remote plugin repositories of the project
+     * @param session the repository session
+     * @throws PluginResolutionException on resolution issue
+     * @throws PluginDescriptorParsingException on descriptor parsing issue
+     * @throws InvalidPluginDescriptorException on invalid descriptor
+     * @since 2.1.0
+     */
+    default void prefetchPluginDescriptor(
+            Plugin plugin, List<RemoteRepository> repositories, RepositorySystemSession session)
+            throws PluginResolutionException, PluginDescriptorParsingException, InvalidPluginDescriptorException {
+        // nothing to do
+    }
 }
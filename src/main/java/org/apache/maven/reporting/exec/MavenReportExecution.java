@@ -18,9 +18,22 @@
  */
 package org.apache.maven.reporting.exec;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.reporting.MavenReport;
 import org.apache.maven.reporting.MavenReportException;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 /**
  * <p>
@@ -41,10 +54,14 @@ import org.apache.maven.reporting.MavenReportException;
  * <p>
  *   This bean is instantiated by {@link MavenReportExecutor}.
  * </p>
+ * <p>
+ *   Once the report has been generated, {@link #release()} drops the references to the report, its classloader and
+ *   its project, to let them be garbage collected even if the execution itself is still referenced.
+ * </p>
  *
  * @author Olivier Lamy
  */
-public class MavenReportExecution {
+public class MavenReportExecution implements AutoCloseable {
     private final String goal;
 
     private Plugin plugin;
@@ -55,6 +72,29 @@ public class MavenReportExecution {
 
     private boolean userDefined;
 
+    private boolean threadSafe;
+
+    private String reportSetId;
+
+    /**
+     * Soft handle on the report, when it can be re-created on demand by {@link #mavenReportFactory}.
+     */
+    private Reference<MavenReport> mavenReportReference;
+
+    private Callable<MavenReport> mavenReportFactory;
+
+    /**
+     * Inputs of the report: the project and the effective mojo configuration, when prepared by
+     * {@link MavenReportExecutor}.
+     */
+    private MavenProject project;
+
+    private Xpp3Dom configuration;
+
+    private List<File> inputPaths = Collections.emptyList();
+
+    private boolean released;
+
     public MavenReportExecution(
             String goal, Plugin plugin, MavenReport mavenReport, ClassLoader classLoader, boolean userDefined) {
         this.goal = goal;
@@ -84,7 +124,33 @@ public class MavenReportExecution {
                 Thread.currentThread().setContextClassLoader(classLoader);
             }
 
-            return mavenReport.canGenerateReport();
+            return getMavenReport().canGenerateReport();
+        } finally {
+            if (classLoader != null) {
+                Thread.currentThread().setContextClassLoader(originalClassLoader);
+            }
+        }
+    }
+
+    /**
+     * execute Maven Report's <code>generate()</code> with adequate classloader.
+     * @param sink the sink to use for the generation
+     * @param locale the wanted locale to generate the report
+     * @throws MavenReportException if any
+     * @since 2.1.0
+     */
+    public void generateReport(Sink sink, Locale locale) throws MavenReportException {
+        ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            if (classLoader != null) {
+                Thread.currentThread().setContextClassLoader(classLoader);
+            }
+
+            MavenReport report = getMavenReport();
+            if (report == null) {
+                throw new IllegalStateException("No " + goal + " report to generate");
+            }
+            report.generate(sink, locale);
         } finally {
             if (classLoader != null) {
                 Thread.currentThread().setContextClassLoader(originalClassLoader);
@@ -92,12 +158,164 @@ public class MavenReportExecution {
         }
     }
 
-    public MavenReport getMavenReport() {
-        return mavenReport;
+    /**
+     * Get the report. If the report is only softly referenced and has been garbage collected, it is configured again.
+     *
+     * @return the report
+     * @throws IllegalStateException if the execution has been released, or if the report can't be configured again
+     */
+    public synchronized MavenReport getMavenReport() {
+        if (released) {
+            throw new IllegalStateException("The " + goal + " report execution has been released");
+        }
+        if (mavenReport != null || mavenReportReference == null) {
+            return mavenReport;
+        }
+
+        MavenReport report = mavenReportReference.get();
+        if (report == null) {
+            try {
+                report = mavenReportFactory.call();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to configure again the " + goal + " report", e);
+            }
+            if (report == null) {
+                throw new IllegalStateException("Failed to configure again the " + goal + " report: not a report");
+            }
+            mavenReportReference = new SoftReference<>(report);
+        }
+        return report;
     }
 
-    public void setMavenReport(MavenReport mavenReport) {
+    public synchronized void setMavenReport(MavenReport mavenReport) {
         this.mavenReport = mavenReport;
+        this.mavenReportReference = null;
+        this.mavenReportFactory = null;
+    }
+
+    /**
+     * Keep only a soft reference to the report, which will be re-created with the given factory if garbage collected.
+     *
+     * @param mavenReportFactory the factory to configure the report again
+     */
+    synchronized void softReferenceMavenReport(Callable<MavenReport> mavenReportFactory) {
+        if (mavenReport != null) {
+            this.mavenReportReference = new SoftReference<>(mavenReport);
+            this.mavenReportFactory = mavenReportFactory;
+            this.mavenReport = null;
+        }
+    }
+
+    /**
+     * Set the inputs of the report, which it is generated from.
+     *
+     * @param project the project
+     * @param configuration the effective mojo configuration
+     */
+    synchronized void setInputs(MavenProject project, Xpp3Dom configuration) {
+        this.project = project;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Get the declared input paths of the report, in addition to the project sources and resources.
+     *
+     * @return the input files and directories
+     * @since 2.1.0
+     */
+    public List<File> getInputPaths() {
+        return inputPaths;
+    }
+
+    /**
+     * Declare input paths of the report, like a directory of generated files or an external data file, to be taken
+     * into account by {@link #getInputFingerprint()}.
+     *
+     * @param inputPaths the input files and directories
+     * @since 2.1.0
+     */
+    public void setInputPaths(List<File> inputPaths) {
+        this.inputPaths = Collections.unmodifiableList(new ArrayList<>(inputPaths));
+    }
+
+    /**
+     * Compute a stable fingerprint of the inputs the report is generated from: report plugin version and dependencies,
+     * report goal and its effective configuration, project model, resolved dependencies, content of the project source
+     * and resource directories, and content of the declared {@link #getInputPaths() input paths}. The locale is not
+     * part of the fingerprint.
+     * <p>
+     * Files are read each time this method is called: callers should keep the result.
+     * </p>
+     *
+     * @return the SHA-256 fingerprint as hexadecimal string, or <code>null</code> if the execution was not prepared by
+     *         {@link MavenReportExecutor} or has been released, and its inputs are unknown
+     * @throws IOException if an input file can't be read
+     * @since 2.1.0
+     */
+    public String getInputFingerprint() throws IOException {
+        MavenProject project = getProject();
+        if (project == null) {
+            return null;
+        }
+        return ReportInputs.fingerprint(this, ReportInputs.projectFingerprint(project));
+    }
+
+    /**
+     * Check if the inputs of the report are the same as when a previous fingerprint was computed, ie if the previous
+     * output of the report can be reused instead of generating it again.
+     *
+     * @param previousFingerprint the fingerprint from {@link #getInputFingerprint()} when the previous output was
+     *            generated, can be <code>null</code>
+     * @return <code>true</code> if the inputs did not change, <code>false</code> if they changed or are unknown
+     * @throws IOException if an input file can't be read
+     * @since 2.1.0
+     */
+    public boolean isUpToDate(String previousFingerprint) throws IOException {
+        return previousFingerprint != null && previousFingerprint.equals(getInputFingerprint());
+    }
+
+    synchronized MavenProject getProject() {
+        return project;
+    }
+
+    synchronized Xpp3Dom getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Release the references to the report, its classloader and its inputs, the project and the mojo configuration:
+     * the report can't be used any more after this call.
+     * Calling this method more than once has no effect.
+     *
+     * @since 2.1.0
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        mavenReport = null;
+        mavenReportReference = null;
+        mavenReportFactory = null;
+        classLoader = null;
+        project = null;
+        configuration = null;
+    }
+
+    /**
+     * @return <code>true</code> if {@link #release()} has been called
+     * @since 2.1.0
+     */
+    public synchronized boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Same as {@link #release()}, to use the execution in a try-with-resources statement.
+     */
+    @Override
+    public void close() {
+        release();
     }
 
     public ClassLoader getClassLoader() {
@@ -127,4 +345,32 @@ public class MavenReportExecution {
     public void setUserDefined(boolean userDefined) {
         this.userDefined = userDefined;
     }
+
+    /**
+     * Is the report goal marked as thread-safe in its mojo descriptor, ie can it be generated concurrently with other
+     * reports?
+     *
+     * @return <code>true</code> if the report can be rendered in parallel with other reports
+     * @since 2.1.0
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    public void setThreadSafe(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+    }
+
+    /**
+     * @return the id of the report set the report goal is declared in, or <code>null</code> if the goal is declared
+     *            in the report plugin or detected
+     * @since 2.1.0
+     */
+    public String getReportSetId() {
+        return reportSetId;
+    }
+
+    public void setReportSetId(String reportSetId) {
+        this.reportSetId = reportSetId;
+    }
 }
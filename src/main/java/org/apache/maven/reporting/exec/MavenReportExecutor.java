@@ -18,9 +18,15 @@
  */
 package org.apache.maven.reporting.exec;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 /**
  * This component will prepare {@link org.apache.maven.reporting.MavenReport}s for later generation. If a
@@ -43,4 +49,75 @@ public interface MavenReportExecutor {
      */
     List<MavenReportExecution> buildMavenReports(MavenReportExecutorRequest mavenReportExecutorRequest)
             throws MojoExecutionException;
+
+    /**
+     * Plan the report goals that {@link #buildMavenReports(MavenReportExecutorRequest)} would prepare, stopping after
+     * plugin version resolution, plugin descriptor loading and report goals detection: report mojos are never
+     * configured and forked executions are never run.
+     * <p>
+     * Default implementation, for implementations of this interface written against a previous version, builds the
+     * reports with {@link #buildMavenReports(MavenReportExecutorRequest)}, which configures the report mojos and runs
+     * their forked executions, then releases them: since the mojo descriptors are not known, plans are never marked
+     * as aggregators or forking.
+     * </p>
+     *
+     * @param mavenReportExecutorRequest the request
+     * @return the plans of the report goals, in the order reports would be built
+     * @throws MojoExecutionException on report plugin resolution issue
+     * @since 2.1.0
+     */
+    default List<MavenReportPlan> planMavenReports(MavenReportExecutorRequest mavenReportExecutorRequest)
+            throws MojoExecutionException {
+        List<MavenReportExecution> mavenReportExecutions = buildMavenReports(mavenReportExecutorRequest);
+        List<MavenReportPlan> plans = new ArrayList<>(mavenReportExecutions.size());
+        for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+            Plugin plugin = mavenReportExecution.getPlugin();
+            if (plugin != null) {
+                Xpp3Dom configuration = mavenReportExecution.getConfiguration();
+                plans.add(new MavenReportPlan.Builder()
+                        .plugin(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion())
+                        .goal(mavenReportExecution.getGoal())
+                        .reportSet(mavenReportExecution.getReportSetId())
+                        .configuration(
+                                (configuration == null) ? new Xpp3Dom("configuration") : new Xpp3Dom(configuration))
+                        .userDefined(mavenReportExecution.isUserDefined())
+                        .build());
+            }
+            mavenReportExecution.release();
+        }
+        return plans;
+    }
+
+    /**
+     * Build the ordering of report executions prepared by {@link #buildMavenReports(MavenReportExecutorRequest)},
+     * from the <code>runAfter</code> declarations of the report plugins and report sets of the request: a reference
+     * of a report plugin applies to every report of the plugin, a reference of a report set to the reports built from
+     * the set, as given by {@link MavenReportExecution#getReportSetId()}. References to reports which were not built
+     * are ignored.
+     *
+     * @param mavenReportExecutorRequest the request the reports were built from
+     * @param mavenReportExecutions the report executions
+     * @return the ordering of the report executions
+     * @throws MojoExecutionException if the ordering has a cycle
+     * @since 2.1.0
+     */
+    default MavenReportGraph buildReportGraph(
+            MavenReportExecutorRequest mavenReportExecutorRequest, List<MavenReportExecution> mavenReportExecutions)
+            throws MojoExecutionException {
+        return MavenReportGraph.of(mavenReportExecutorRequest, mavenReportExecutions);
+    }
+
+    /**
+     * Start resolving, in background, the report plugins declared in the <code>&lt;reporting&gt;</code> section of
+     * every project of the session, to have caches warm when {@link #buildMavenReports(MavenReportExecutorRequest)}
+     * is called later in the build. Calling this method more than once for a session has no effect.
+     * Default implementation does nothing.
+     *
+     * @param session the session, at its start
+     * @return the prefetch task, which never fails
+     * @since 2.1.0
+     */
+    default Future<?> prefetchReportPlugins(MavenSession session) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
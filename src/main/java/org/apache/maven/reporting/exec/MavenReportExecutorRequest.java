@@ -18,6 +18,7 @@
  */
 package org.apache.maven.reporting.exec;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -46,6 +47,32 @@ public class MavenReportExecutorRequest {
 
     private ReportPlugin[] reportPlugins;
 
+    private int parallelism = 1;
+
+    private boolean virtualThreads;
+
+    private boolean adaptiveParallelism;
+
+    private boolean preResolvePlugins;
+
+    private boolean softReferencedReports;
+
+    private File preparationHistoryFile;
+
+    private long pluginPreparationTimeout;
+
+    private long goalPreparationTimeout;
+
+    private boolean failFast;
+
+    private List<String> reportIncludes;
+
+    private List<String> reportExcludes;
+
+    private boolean reportPlanCache;
+
+    private boolean crossBuildCache;
+
     @Deprecated
     public ArtifactRepository getLocalRepository() {
         return localRepository;
@@ -88,6 +115,224 @@ public class MavenReportExecutorRequest {
         this.reportPlugins = reportPlugins;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of threads used to prepare report plugins: plugin version resolution and plugin descriptor
+     * loading, which are mostly waiting on file and repository I/O, are done concurrently for all report plugins.
+     * Mojo configuration and forked executions are always done sequentially, on the calling thread.
+     *
+     * @param parallelism the number of threads, 1 (the default) to prepare report plugins sequentially
+     * @since 2.1.0
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Use a virtual thread per report plugin for concurrent preparation, when running on JDK 21 or later. On older
+     * JDKs, a pool of {@link #getParallelism()} platform threads is used.
+     *
+     * @param virtualThreads <code>true</code> to use virtual threads when available
+     * @since 2.1.0
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isAdaptiveParallelism() {
+        return adaptiveParallelism;
+    }
+
+    /**
+     * Adapt the number of report plugins prepared concurrently between 1 and {@link #getParallelism()} to heap
+     * occupancy after garbage collection and CPU load, sampled from the JVM management beans. Decisions are logged at
+     * debug level.
+     *
+     * @param adaptiveParallelism <code>true</code> to adapt concurrency to heap and CPU pressure
+     * @since 2.1.0
+     */
+    public void setAdaptiveParallelism(boolean adaptiveParallelism) {
+        this.adaptiveParallelism = adaptiveParallelism;
+    }
+
+    public boolean isPreResolvePlugins() {
+        return preResolvePlugins;
+    }
+
+    /**
+     * Resolve the artifacts and dependencies of all report plugins in a batch, once their versions are resolved and
+     * before any plugin descriptor is loaded, instead of one plugin after the other: following per-plugin steps
+     * then only hit the local repository.
+     *
+     * @param preResolvePlugins <code>true</code> to pre-resolve report plugins artifacts and dependencies
+     * @since 2.1.0
+     */
+    public void setPreResolvePlugins(boolean preResolvePlugins) {
+        this.preResolvePlugins = preResolvePlugins;
+    }
+
+    public boolean isSoftReferencedReports() {
+        return softReferencedReports;
+    }
+
+    /**
+     * Have the built {@link MavenReportExecution}s keep only a soft reference to their configured report, that the
+     * garbage collector can clear under memory pressure: the report is then configured again on demand by
+     * {@link MavenReportExecution#getMavenReport()}, losing any state set on it after preparation, like its report
+     * output directory. The report classloader is still strongly referenced, since it is shared with the other
+     * modules using the same report plugin.
+     *
+     * @param softReferencedReports <code>true</code> to keep only soft references to configured reports
+     * @since 2.1.0
+     */
+    public void setSoftReferencedReports(boolean softReferencedReports) {
+        this.softReferencedReports = softReferencedReports;
+    }
+
+    public File getPreparationHistoryFile() {
+        return preparationHistoryFile;
+    }
+
+    /**
+     * Set the file where report plugins and report goals preparation durations are stored from one build to the
+     * next. When report plugins are prepared concurrently, they are started in the order that minimizes the time spent
+     * waiting for them by the sequential preparation of their goals in previous builds, the longest ones first if
+     * goals took no time; built reports are still returned in declaration order.
+     *
+     * @param preparationHistoryFile the history file, <code>null</code> (the default) to not use any history
+     * @since 2.1.0
+     */
+    public void setPreparationHistoryFile(File preparationHistoryFile) {
+        this.preparationHistoryFile = preparationHistoryFile;
+    }
+
+    public long getPluginPreparationTimeout() {
+        return pluginPreparationTimeout;
+    }
+
+    /**
+     * Set the time budget for the preparation of each report plugin: version resolution, optional pre-resolution
+     * and plugin descriptor loading. When the budget is exceeded, the thread doing the work is interrupted and report
+     * building fails with a {@link java.util.concurrent.TimeoutException} naming the phase that was stuck.
+     *
+     * @param pluginPreparationTimeout the budget in milliseconds, 0 (the default) for no limit
+     * @since 2.1.0
+     */
+    public void setPluginPreparationTimeout(long pluginPreparationTimeout) {
+        this.pluginPreparationTimeout = pluginPreparationTimeout;
+    }
+
+    public long getGoalPreparationTimeout() {
+        return goalPreparationTimeout;
+    }
+
+    /**
+     * Set the time budget for the preparation of each report goal: plugin realm setup, mojo configuration and
+     * forked executions. Preparation is done on the calling thread, which is interrupted when the budget is exceeded:
+     * report building then fails with a {@link java.util.concurrent.TimeoutException} naming the phase that was
+     * stuck, as soon as the interrupted work returns.
+     *
+     * @param goalPreparationTimeout the budget in milliseconds, 0 (the default) for no limit
+     * @since 2.1.0
+     */
+    public void setGoalPreparationTimeout(long goalPreparationTimeout) {
+        this.goalPreparationTimeout = goalPreparationTimeout;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * When report plugins are prepared concurrently, cancel the preparation of every other report plugin as soon as
+     * one fails, instead of reporting failures in report plugins declaration order once previous ones are done.
+     *
+     * @param failFast <code>true</code> to interrupt remaining preparation work on first failure
+     * @since 2.1.0
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    public List<String> getReportIncludes() {
+        return reportIncludes;
+    }
+
+    /**
+     * Only build the report goals matching one of the given patterns, in <code>groupId:artifactId:goal</code>,
+     * <code>groupId:artifactId</code>, <code>prefix:goal</code> or <code>prefix</code> form, where <code>*</code> and
+     * <code>?</code> wildcards can be used, for example <code>jacoco:report</code>. Report plugins that can't contain
+     * any matching goal are skipped before their version is resolved.
+     *
+     * @param reportIncludes the include patterns, <code>null</code> or empty (the default) to include every goal
+     * @since 2.1.0
+     */
+    public void setReportIncludes(List<String> reportIncludes) {
+        this.reportIncludes = reportIncludes;
+    }
+
+    public List<String> getReportExcludes() {
+        return reportExcludes;
+    }
+
+    /**
+     * Don't build the report goals matching one of the given patterns, in the same form as
+     * {@link #setReportIncludes(List)}. Excludes win over includes.
+     *
+     * @param reportExcludes the exclude patterns, <code>null</code> or empty (the default) to exclude no goal
+     * @since 2.1.0
+     */
+    public void setReportExcludes(List<String> reportExcludes) {
+        this.reportExcludes = reportExcludes;
+    }
+
+    public boolean isReportPlanCache() {
+        return reportPlanCache;
+    }
+
+    /**
+     * Store the report plans of the project under its build directory: report plugins versions, report goals and
+     * their effective configurations. When the reporting section, the build plugins and plugin management sections,
+     * the report filters and the plugins artifacts are unchanged in a next build, version resolution and report goals
+     * detection are skipped, going straight to mojo configuration.
+     * Notice that versions resolved from repositories are then only updated when the build directory is cleaned.
+     *
+     * @param reportPlanCache <code>true</code> to cache report plans between builds
+     * @since 2.1.0
+     */
+    public void setReportPlanCache(boolean reportPlanCache) {
+        this.reportPlanCache = reportPlanCache;
+    }
+
+    public boolean isCrossBuildCache() {
+        return crossBuildCache;
+    }
+
+    /**
+     * Keep preparation results in memory between builds run by the same JVM, like a Maven daemon: versions resolved
+     * from repositories, checksums of plugins artifacts and report plans loaded from the build directory. They are
+     * invalidated when the POM files, the plugins artifacts or the repository metadata they depend on change.
+     * Notice that versions resolved from repositories are then only updated when the local repository metadata
+     * changes, remote repositories not being checked anymore. Plugin descriptors are left to the plugin descriptor
+     * cache of Maven core.
+     *
+     * @param crossBuildCache <code>true</code> to keep preparation results between builds
+     * @since 2.1.0
+     */
+    public void setCrossBuildCache(boolean crossBuildCache) {
+        this.crossBuildCache = crossBuildCache;
+    }
+
     /**
      * Set the report plugin directly from <code>${project.reporting.plugins}</code> parameter value.
      *
@@ -106,6 +351,7 @@ public class MavenReportExecutorRequest {
             if (r.getConfiguration() != null) {
                 p.setConfiguration(new XmlPlexusConfiguration((Xpp3Dom) r.getConfiguration()));
             }
+            p.setRunAfter(ReportSet.getRunAfter((Xpp3Dom) r.getConfiguration()));
 
             List<ReportSet> prs = new ArrayList<>();
             for (org.apache.maven.model.ReportSet rs : r.getReportSets()) {
@@ -115,6 +361,7 @@ public class MavenReportExecutorRequest {
                 if (rs.getConfiguration() != null) {
                     ps.setConfiguration(new XmlPlexusConfiguration((Xpp3Dom) rs.getConfiguration()));
                 }
+                ps.setRunAfter(ReportSet.getRunAfter((Xpp3Dom) rs.getConfiguration()));
                 prs.add(ps);
             }
             p.setReportSets(prs);
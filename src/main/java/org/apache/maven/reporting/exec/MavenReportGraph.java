@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable ordering of {@link MavenReportExecution}s, computed by
+ * {@link MavenReportExecutor#buildReportGraph(MavenReportExecutorRequest, List)} from the <code>runAfter</code>
+ * declarations of report plugins and report sets: a report is generated only after its predecessors, reports without
+ * path between them being free to be generated concurrently, see
+ * {@link MavenReportRenderer#render(MavenReportGraph, Collection, ReportSinkProvider)}.
+ * <p>
+ * Executions are sorted topologically, ties being broken by the order reports were built in, so the order is
+ * deterministic.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public final class MavenReportGraph {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MavenReportGraph.class);
+
+    private final List<MavenReportExecution> executions;
+
+    private final Map<MavenReportExecution, List<MavenReportExecution>> predecessors;
+
+    private final Map<MavenReportExecution, List<MavenReportExecution>> successors;
+
+    private final int edgeCount;
+
+    private MavenReportGraph(
+            List<MavenReportExecution> executions,
+            Map<MavenReportExecution, List<MavenReportExecution>> predecessors,
+            Map<MavenReportExecution, List<MavenReportExecution>> successors,
+            int edgeCount) {
+        this.executions = executions;
+        this.predecessors = predecessors;
+        this.successors = successors;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Build the ordering of report executions from the <code>runAfter</code> declarations of the request report
+     * plugins: a reference of a report plugin applies to every report of the plugin, a reference of a report set to
+     * the reports built from the set. References to reports which were not built are ignored.
+     *
+     * @param mavenReportExecutorRequest the request the reports were built from
+     * @param mavenReportExecutions the report executions, in build order
+     * @return the graph
+     * @throws MojoExecutionException if the ordering has a cycle
+     */
+    static MavenReportGraph of(
+            MavenReportExecutorRequest mavenReportExecutorRequest, List<MavenReportExecution> mavenReportExecutions)
+            throws MojoExecutionException {
+        Map<String, List<Integer>> indexes = new HashMap<>();
+        for (int i = 0; i < mavenReportExecutions.size(); i++) {
+            MavenReportExecution mavenReportExecution = mavenReportExecutions.get(i);
+            Plugin plugin = mavenReportExecution.getPlugin();
+            if (plugin != null) {
+                String pluginKey = plugin.getGroupId() + ':' + plugin.getArtifactId();
+                String reportKey = pluginKey + ':' + mavenReportExecution.getGoal();
+                indexes.computeIfAbsent(pluginKey, k -> new ArrayList<>()).add(i);
+                indexes.computeIfAbsent(reportKey, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Set<Integer>> predecessors = new ArrayList<>(mavenReportExecutions.size());
+        for (int i = 0; i < mavenReportExecutions.size(); i++) {
+            Set<Integer> reportPredecessors = new TreeSet<>();
+            MavenReportExecution mavenReportExecution = mavenReportExecutions.get(i);
+            for (String reference : getRunAfter(mavenReportExecutorRequest, mavenReportExecution)) {
+                List<Integer> referenced = indexes.get(reference);
+                if (referenced == null) {
+                    LOGGER.debug(
+                            "Ignoring runAfter {} of {}: no such report", reference, describe(mavenReportExecution));
+                    continue;
+                }
+                for (int predecessor : referenced) {
+                    if (predecessor != i) {
+                        reportPredecessors.add(predecessor);
+                    }
+                }
+            }
+            predecessors.add(reportPredecessors);
+        }
+
+        return of(mavenReportExecutions, predecessors);
+    }
+
+    private static List<String> getRunAfter(
+            MavenReportExecutorRequest mavenReportExecutorRequest, MavenReportExecution mavenReportExecution) {
+        Plugin plugin = mavenReportExecution.getPlugin();
+        if (plugin == null || mavenReportExecutorRequest.getReportPlugins() == null) {
+            return Collections.emptyList();
+        }
+        String pluginKey = plugin.getGroupId() + ':' + plugin.getArtifactId();
+        List<String> runAfter = new ArrayList<>();
+        for (ReportPlugin reportPlugin : mavenReportExecutorRequest.getReportPlugins()) {
+            if (pluginKey.equals(reportPlugin.getPluginKey())) {
+                runAfter.addAll(reportPlugin.getRunAfter());
+                for (ReportSet reportSet : reportPlugin.getReportSets()) {
+                    // the same goal may be declared in several report sets, with their own ordering
+                    if (reportSet.getId().equals(mavenReportExecution.getReportSetId())) {
+                        runAfter.addAll(reportSet.getRunAfter());
+                    }
+                }
+            }
+        }
+        return runAfter;
+    }
+
+    /**
+     * @param executions the report executions, in build order
+     * @param predecessorIndexes for each execution, the indexes of the executions to generate before it
+     * @return the graph
+     * @throws MojoExecutionException if the ordering has a cycle
+     */
+    static MavenReportGraph of(
+            List<MavenReportExecution> executions, List<? extends Collection<Integer>> predecessorIndexes)
+            throws MojoExecutionException {
+        int count = executions.size();
+        List<List<Integer>> successorIndexes = new ArrayList<>(count);
+        int[] inDegrees = new int[count];
+        int edgeCount = 0;
+        for (int i = 0; i < count; i++) {
+            successorIndexes.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            for (int predecessor : predecessorIndexes.get(i)) {
+                successorIndexes.get(predecessor).add(i);
+                inDegrees[i]++;
+                edgeCount++;
+            }
+        }
+
+        // Kahn's algorithm, always taking the first ready execution in build order
+        List<MavenReportExecution> sorted = new ArrayList<>(count);
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < count; i++) {
+            if (inDegrees[i] == 0) {
+                ready.add(i);
+            }
+        }
+        while (!ready.isEmpty()) {
+            int index = ready.poll();
+            sorted.add(executions.get(index));
+            for (int successor : successorIndexes.get(index)) {
+                if (--inDegrees[successor] == 0) {
+                    ready.add(successor);
+                }
+            }
+        }
+        if (sorted.size() < count) {
+            throw new MojoExecutionException("Cycle in report ordering: "
+                    + findCycle(inDegrees, predecessorIndexes).stream()
+                            .map(i -> describe(executions.get(i)))
+                            .collect(Collectors.joining(" -> ")));
+        }
+
+        Map<MavenReportExecution, List<MavenReportExecution>> predecessors = new IdentityHashMap<>();
+        Map<MavenReportExecution, List<MavenReportExecution>> successors = new IdentityHashMap<>();
+        for (int i = 0; i < count; i++) {
+            predecessors.put(executions.get(i), toExecutions(executions, predecessorIndexes.get(i)));
+            successors.put(executions.get(i), toExecutions(executions, successorIndexes.get(i)));
+        }
+        return new MavenReportGraph(Collections.unmodifiableList(sorted), predecessors, successors, edgeCount);
+    }
+
+    /**
+     * Every execution left by Kahn's algorithm has a predecessor left too: walking predecessors ends in a cycle.
+     */
+    private static List<Integer> findCycle(int[] inDegrees, List<? extends Collection<Integer>> predecessorIndexes) {
+        int[] visited = new int[inDegrees.length];
+        List<Integer> path = new ArrayList<>();
+        int index = 0;
+        while (inDegrees[index] == 0) {
+            index++;
+        }
+        while (visited[index] == 0) {
+            path.add(index);
+            visited[index] = path.size();
+            for (int predecessor : predecessorIndexes.get(index)) {
+                if (inDegrees[predecessor] > 0) {
+                    index = predecessor;
+                    break;
+                }
+            }
+        }
+        List<Integer> cycle = new ArrayList<>(path.subList(visited[index] - 1, path.size()));
+        // from predecessors to successors
+        Collections.reverse(cycle);
+        cycle.add(cycle.get(0));
+        return cycle;
+    }
+
+    private static List<MavenReportExecution> toExecutions(
+            List<MavenReportExecution> executions, Collection<Integer> indexes) {
+        if (indexes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<MavenReportExecution> result = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            result.add(executions.get(index));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    static String describe(MavenReportExecution mavenReportExecution) {
+        Plugin plugin = mavenReportExecution.getPlugin();
+        if (plugin == null) {
+            return mavenReportExecution.getMavenReport().getOutputPath();
+        }
+        return plugin.getGroupId() + ':' + plugin.getArtifactId() + ':' + mavenReportExecution.getGoal();
+    }
+
+    /**
+     * @return the report executions, sorted topologically
+     */
+    public List<MavenReportExecution> getExecutions() {
+        return executions;
+    }
+
+    /**
+     * @param mavenReportExecution a report execution of the graph
+     * @return the report executions to generate before it, in build order
+     */
+    public List<MavenReportExecution> getPredecessors(MavenReportExecution mavenReportExecution) {
+        return get(predecessors, mavenReportExecution);
+    }
+
+    /**
+     * @param mavenReportExecution a report execution of the graph
+     * @return the report executions to generate after it, in build order
+     */
+    public List<MavenReportExecution> getSuccessors(MavenReportExecution mavenReportExecution) {
+        return get(successors, mavenReportExecution);
+    }
+
+    /**
+     * @return the count of ordering edges, 0 if every report can be generated independently
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    private static List<MavenReportExecution> get(
+            Map<MavenReportExecution, List<MavenReportExecution>> edges, MavenReportExecution mavenReportExecution) {
+        List<MavenReportExecution> result = edges.get(mavenReportExecution);
+        if (result == null) {
+            throw new IllegalArgumentException("Not a report execution of the graph: " + mavenReportExecution);
+        }
+        return result;
+    }
+}
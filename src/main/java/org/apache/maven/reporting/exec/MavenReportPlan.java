@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Immutable plan of a report goal, computed by {@link MavenReportExecutor#planMavenReports(MavenReportExecutorRequest)}
+ * without configuring the report mojo nor executing any forked execution.
+ *
+ * @since 2.1.0
+ */
+public final class MavenReportPlan {
+    private final String groupId;
+
+    private final String artifactId;
+
+    private final String version;
+
+    private final String goal;
+
+    private final String reportSetId;
+
+    private final Xpp3Dom configuration;
+
+    private final boolean userDefined;
+
+    private final boolean aggregator;
+
+    private final String executePhase;
+
+    private final String executeLifecycle;
+
+    private final String executeGoal;
+
+    private MavenReportPlan(Builder builder) {
+        this.groupId = builder.groupId;
+        this.artifactId = builder.artifactId;
+        this.version = builder.version;
+        this.goal = builder.goal;
+        this.reportSetId = builder.reportSetId;
+        this.configuration = builder.configuration;
+        this.userDefined = builder.userDefined;
+        this.aggregator = builder.aggregator;
+        this.executePhase = builder.executePhase;
+        this.executeLifecycle = builder.executeLifecycle;
+        this.executeGoal = builder.executeGoal;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    /**
+     * @return the resolved report plugin version
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the report plugin key, <code>groupId:artifactId</code>
+     */
+    public String getPluginKey() {
+        return groupId + ':' + artifactId;
+    }
+
+    public String getGoal() {
+        return goal;
+    }
+
+    /**
+     * @return the id of the report set the goal is declared in, or <code>null</code> if the goal is declared in the
+     *            report plugin or detected
+     */
+    public String getReportSetId() {
+        return reportSetId;
+    }
+
+    /**
+     * @return a copy of the effective configuration of the report mojo, as it would be used to configure it
+     */
+    public Xpp3Dom getConfiguration() {
+        return new Xpp3Dom(configuration);
+    }
+
+    /**
+     * @return <code>true</code> if the report goal is declared in the POM, <code>false</code> if it is detected
+     */
+    public boolean isUserDefined() {
+        return userDefined;
+    }
+
+    public boolean isAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * @return <code>true</code> if preparing the report requires a forked execution
+     */
+    public boolean isForking() {
+        return executePhase != null || executeGoal != null;
+    }
+
+    /**
+     * @return the lifecycle phase executed in a fork before the report, or <code>null</code>
+     */
+    public String getExecutePhase() {
+        return executePhase;
+    }
+
+    /**
+     * @return the lifecycle of the forked phase execution, or <code>null</code> for the default lifecycle
+     */
+    public String getExecuteLifecycle() {
+        return executeLifecycle;
+    }
+
+    /**
+     * @return the goal executed in a fork before the report, or <code>null</code>
+     */
+    public String getExecuteGoal() {
+        return executeGoal;
+    }
+
+    @Override
+    public String toString() {
+        return "MavenReportPlan{" + getPluginKey() + ':' + version + ':' + goal + ", userDefined=" + userDefined
+                + ", aggregator=" + aggregator + ", forking=" + isForking() + "}";
+    }
+
+    /**
+     * Builder of a plan, from a plugin and mojo descriptors or from a stored plan.
+     */
+    static final class Builder {
+        private String groupId;
+
+        private String artifactId;
+
+        private String version;
+
+        private String goal;
+
+        private String reportSetId;
+
+        private Xpp3Dom configuration;
+
+        private boolean userDefined;
+
+        private boolean aggregator;
+
+        private String executePhase;
+
+        private String executeLifecycle;
+
+        private String executeGoal;
+
+        Builder plugin(String groupId, String artifactId, String version) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            return this;
+        }
+
+        Builder goal(String goal) {
+            this.goal = goal;
+            return this;
+        }
+
+        Builder reportSet(String reportSetId) {
+            this.reportSetId = reportSetId;
+            return this;
+        }
+
+        Builder configuration(Xpp3Dom configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        Builder userDefined(boolean userDefined) {
+            this.userDefined = userDefined;
+            return this;
+        }
+
+        Builder aggregator(boolean aggregator) {
+            this.aggregator = aggregator;
+            return this;
+        }
+
+        /**
+         * @param executePhase the lifecycle phase executed in a fork, or <code>null</code>
+         * @param executeLifecycle the lifecycle of the forked phase execution, or <code>null</code>
+         * @param executeGoal the goal executed in a fork, or <code>null</code>
+         */
+        Builder fork(String executePhase, String executeLifecycle, String executeGoal) {
+            this.executePhase = executePhase;
+            this.executeLifecycle = executeLifecycle;
+            this.executeGoal = executeGoal;
+            return this;
+        }
+
+        MavenReportPlan build() {
+            return new MavenReportPlan(this);
+        }
+    }
+}
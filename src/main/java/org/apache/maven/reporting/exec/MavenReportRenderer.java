@@ -0,0 +1,527 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.reporting.MavenReport;
+import org.apache.maven.reporting.MavenReportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ * Renders a list of {@link MavenReportExecution}s prepared by {@link MavenReportExecutor}, running reports
+ * concurrently when possible.
+ * </p>
+ * <p>
+ * Each report is rendered on a worker thread with its own {@link Sink}, obtained from a {@link ReportSinkProvider},
+ * and with the report {@link ClassLoader} set as thread context classloader during the generation.
+ * Reports that are not marked as thread-safe in their mojo descriptor, and reports explicitly listed with
+ * {@link #setSerialReports(Collection)}, are rendered one after the other in a serial lane, on the calling thread.
+ * </p>
+ * <p>
+ * Reports prepared once can be rendered for several locales in a single call, see
+ * {@link #render(List, Collection, ReportSinkProvider)}: preparation cost doesn't grow with the count of locales.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class MavenReportRenderer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MavenReportRenderer.class);
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private final Set<String> serialReports = new HashSet<>();
+
+    private boolean adaptiveParallelism;
+
+    private int writeBehindBufferSize;
+
+    private ReportOutputStore outputStore;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of reports rendered concurrently. A value of 1 renders every report serially.
+     *
+     * @param parallelism the maximum number of reports rendered concurrently
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public boolean isAdaptiveParallelism() {
+        return adaptiveParallelism;
+    }
+
+    /**
+     * Adapt the number of reports rendered concurrently between 1 and {@link #getParallelism()} to heap occupancy
+     * after garbage collection and CPU load, sampled from the JVM management beans. Decisions are logged at debug
+     * level.
+     *
+     * @param adaptiveParallelism <code>true</code> to adapt concurrency to heap and CPU pressure
+     */
+    public void setAdaptiveParallelism(boolean adaptiveParallelism) {
+        this.adaptiveParallelism = adaptiveParallelism;
+    }
+
+    public Set<String> getSerialReports() {
+        return serialReports;
+    }
+
+    /**
+     * Set the reports that must be rendered in the serial lane even if they are marked as thread-safe.
+     *
+     * @param serialReports the reports, as <code>groupId:artifactId</code> for every report of a plugin or
+     *            <code>groupId:artifactId:goal</code> for a single report
+     */
+    public void setSerialReports(Collection<String> serialReports) {
+        this.serialReports.clear();
+        this.serialReports.addAll(serialReports);
+    }
+
+    public int getWriteBehindBufferSize() {
+        return writeBehindBufferSize;
+    }
+
+    /**
+     * Write the sink events of each report behind it: events are buffered and written to the sink by a writer task
+     * running on the rendering thread pool, so that report computation and output serialization overlap. A report
+     * producing events faster than they are written waits once the buffer is full, writing them itself when no
+     * rendering thread is idle.
+     *
+     * @param writeBehindBufferSize the maximum count of buffered sink events per report, 0 (the default) to write
+     *            sink events on the rendering thread
+     */
+    public void setWriteBehindBufferSize(int writeBehindBufferSize) {
+        if (writeBehindBufferSize < 0) {
+            throw new IllegalArgumentException(
+                    "writeBehindBufferSize must be positive or 0, but was " + writeBehindBufferSize);
+        }
+        this.writeBehindBufferSize = writeBehindBufferSize;
+    }
+
+    public ReportOutputStore getOutputStore() {
+        return outputStore;
+    }
+
+    /**
+     * Set the store of report outputs: when a report prepared by {@link MavenReportExecutor} has the same inputs as a
+     * report stored previously (plugin, goal, effective configuration, project model, dependencies and sources, and
+     * locale), its output is restored from the store instead of being generated again. The output of a generated
+     * report is stored for next renderings.
+     *
+     * @param outputStore the store, <code>null</code> (the default) to always generate reports
+     */
+    public void setOutputStore(ReportOutputStore outputStore) {
+        this.outputStore = outputStore;
+    }
+
+    /**
+     * Render the reports for the given locale.
+     *
+     * @param mavenReportExecutions the reports to render
+     * @param locale the locale to render the reports for
+     * @param sinkProvider the provider of a dedicated sink for each report
+     * @throws MavenReportException if any report fails to render: remaining reports are cancelled
+     */
+    public void render(
+            List<MavenReportExecution> mavenReportExecutions, Locale locale, ReportSinkProvider sinkProvider)
+            throws MavenReportException {
+        render(mavenReportExecutions, Collections.singletonList(locale), sinkProvider);
+    }
+
+    /**
+     * Render the reports for several locales, each report being prepared once by {@link MavenReportExecutor} for
+     * every locale. A report is rendered for each locale in turn with a dedicated sink, since a report instance can't
+     * generate concurrently: reports are rendered concurrently with each other, like for a single locale.
+     *
+     * @param mavenReportExecutions the reports to render
+     * @param locales the locales to render the reports for, in rendering order
+     * @param sinkProvider the provider of a dedicated sink for each report and locale
+     * @throws MavenReportException if any report fails to render: remaining reports are cancelled
+     */
+    public void render(
+            List<MavenReportExecution> mavenReportExecutions,
+            Collection<Locale> locales,
+            ReportSinkProvider sinkProvider)
+            throws MavenReportException {
+        requireNonNull(sinkProvider);
+        ReportOutputCache outputCache = (outputStore == null) ? null : new ReportOutputCache(outputStore);
+
+        List<MavenReportExecution> parallelLane = new ArrayList<>();
+        List<MavenReportExecution> serialLane = new ArrayList<>();
+        for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+            if (parallelism > 1 && !isSerial(mavenReportExecution)) {
+                parallelLane.add(mavenReportExecution);
+            } else {
+                serialLane.add(mavenReportExecution);
+            }
+        }
+
+        if (parallelLane.size() <= 1) {
+            // nothing to gain from a thread pool
+            renderSerially(mavenReportExecutions, locales, sinkProvider, outputCache);
+            return;
+        }
+
+        LOGGER.debug(
+                "Rendering {} reports in {} locales with parallelism {}, {} in serial lane",
+                mavenReportExecutions.size(),
+                locales.size(),
+                parallelism,
+                serialLane.size());
+
+        ClassLoader callerClassLoader = Thread.currentThread().getContextClassLoader();
+        int threads = Math.min(parallelism, parallelLane.size());
+        AdaptiveConcurrencyLimiter limiter =
+                adaptiveParallelism ? new AdaptiveConcurrencyLimiter("Report rendering", 1, threads) : null;
+        ExecutorService executor = ReportTaskExecutors.newFixedThreadPool("maven-report-renderer", threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(parallelLane.size());
+            for (MavenReportExecution mavenReportExecution : parallelLane) {
+                futures.add(executor.submit(() -> {
+                    Thread.currentThread().setContextClassLoader(callerClassLoader);
+                    renderReport(mavenReportExecution, locales, sinkProvider, outputCache, limiter, executor);
+                    return null;
+                }));
+            }
+
+            // serial lane runs on the calling thread while the pool works
+            for (MavenReportExecution mavenReportExecution : serialLane) {
+                renderReport(mavenReportExecution, locales, sinkProvider, outputCache, limiter, executor);
+            }
+
+            for (Future<Void> future : futures) {
+                await(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Render the reports of a graph for several locales: a report is rendered only once its predecessors are rendered
+     * in every locale, independent reports being rendered concurrently. Reports are started in the order of the graph,
+     * so waiting for predecessors can't starve the worker threads.
+     *
+     * @param mavenReportGraph the reports to render, built by
+     *            {@link MavenReportExecutor#buildReportGraph(MavenReportExecutorRequest, List)}
+     * @param locales the locales to render the reports for, in rendering order
+     * @param sinkProvider the provider of a dedicated sink for each report and locale
+     * @throws MavenReportException if any report fails to render: remaining reports are cancelled
+     */
+    public void render(MavenReportGraph mavenReportGraph, Collection<Locale> locales, ReportSinkProvider sinkProvider)
+            throws MavenReportException {
+        List<MavenReportExecution> mavenReportExecutions = mavenReportGraph.getExecutions();
+        if (mavenReportGraph.getEdgeCount() == 0) {
+            render(mavenReportExecutions, locales, sinkProvider);
+            return;
+        }
+        requireNonNull(sinkProvider);
+        ReportOutputCache outputCache = (outputStore == null) ? null : new ReportOutputCache(outputStore);
+
+        List<MavenReportExecution> parallelLane = new ArrayList<>();
+        List<MavenReportExecution> serialLane = new ArrayList<>();
+        Map<MavenReportExecution, CompletableFuture<Void>> completions = new IdentityHashMap<>();
+        for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+            if (parallelism > 1 && !isSerial(mavenReportExecution)) {
+                parallelLane.add(mavenReportExecution);
+            } else {
+                serialLane.add(mavenReportExecution);
+            }
+            completions.put(mavenReportExecution, new CompletableFuture<>());
+        }
+
+        if (parallelLane.size() <= 1) {
+            // topological order satisfies the ordering
+            renderSerially(mavenReportExecutions, locales, sinkProvider, outputCache);
+            return;
+        }
+
+        LOGGER.debug(
+                "Rendering {} reports with {} ordering edges in {} locales with parallelism {}, {} in serial lane",
+                mavenReportExecutions.size(),
+                mavenReportGraph.getEdgeCount(),
+                locales.size(),
+                parallelism,
+                serialLane.size());
+
+        ClassLoader callerClassLoader = Thread.currentThread().getContextClassLoader();
+        int threads = Math.min(parallelism, parallelLane.size());
+        AdaptiveConcurrencyLimiter limiter =
+                adaptiveParallelism ? new AdaptiveConcurrencyLimiter("Report rendering", 1, threads) : null;
+        ExecutorService executor = ReportTaskExecutors.newFixedThreadPool("maven-report-renderer", threads);
+        try {
+            // tasks are queued in topological order: predecessors of a running task are running or done
+            List<Future<Void>> futures = new ArrayList<>(parallelLane.size());
+            for (MavenReportExecution mavenReportExecution : parallelLane) {
+                futures.add(executor.submit(() -> {
+                    Thread.currentThread().setContextClassLoader(callerClassLoader);
+                    renderReportAfter(
+                            mavenReportGraph,
+                            mavenReportExecution,
+                            completions,
+                            locales,
+                            sinkProvider,
+                            outputCache,
+                            limiter,
+                            executor);
+                    return null;
+                }));
+            }
+
+            // serial lane runs on the calling thread while the pool works
+            for (MavenReportExecution mavenReportExecution : serialLane) {
+                renderReportAfter(
+                        mavenReportGraph,
+                        mavenReportExecution,
+                        completions,
+                        locales,
+                        sinkProvider,
+                        outputCache,
+                        limiter,
+                        executor);
+            }
+
+            for (Future<Void> future : futures) {
+                await(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void renderReportAfter(
+            MavenReportGraph mavenReportGraph,
+            MavenReportExecution mavenReportExecution,
+            Map<MavenReportExecution, CompletableFuture<Void>> completions,
+            Collection<Locale> locales,
+            ReportSinkProvider sinkProvider,
+            ReportOutputCache outputCache,
+            AdaptiveConcurrencyLimiter limiter,
+            Executor writer)
+            throws MavenReportException {
+        CompletableFuture<Void> completion = completions.get(mavenReportExecution);
+        try {
+            for (MavenReportExecution predecessor : mavenReportGraph.getPredecessors(mavenReportExecution)) {
+                await(completions.get(predecessor));
+            }
+            // predecessors are awaited without holding a slot of the limiter
+            renderReport(mavenReportExecution, locales, sinkProvider, outputCache, limiter, writer);
+            completion.complete(null);
+        } catch (MavenReportException | RuntimeException | Error e) {
+            completion.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void renderSerially(
+            List<MavenReportExecution> mavenReportExecutions,
+            Collection<Locale> locales,
+            ReportSinkProvider sinkProvider,
+            ReportOutputCache outputCache)
+            throws MavenReportException {
+        // sink events are written behind the reports by a single writer thread
+        ExecutorService writer = (writeBehindBufferSize > 0)
+                ? ReportTaskExecutors.newFixedThreadPool("maven-report-sink-writer", 1)
+                : null;
+        try {
+            for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+                renderReport(mavenReportExecution, locales, sinkProvider, outputCache, null, writer);
+            }
+        } finally {
+            if (writer != null) {
+                writer.shutdown();
+            }
+        }
+    }
+
+    private boolean isSerial(MavenReportExecution mavenReportExecution) {
+        if (!mavenReportExecution.isThreadSafe()) {
+            return true;
+        }
+        Plugin plugin = mavenReportExecution.getPlugin();
+        if (plugin == null) {
+            return false;
+        }
+        String pluginKey = plugin.getGroupId() + ':' + plugin.getArtifactId();
+        return serialReports.contains(pluginKey)
+                || serialReports.contains(pluginKey + ':' + mavenReportExecution.getGoal());
+    }
+
+    private void renderReport(
+            MavenReportExecution mavenReportExecution,
+            Collection<Locale> locales,
+            ReportSinkProvider sinkProvider,
+            ReportOutputCache outputCache,
+            AdaptiveConcurrencyLimiter limiter,
+            Executor writer)
+            throws MavenReportException {
+        if (limiter != null) {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MavenReportException("Interrupted while rendering reports", e);
+            }
+        }
+        // strongly reachable until every locale is rendered, so that a softly referenced report is configured once
+        MavenReport mavenReport = mavenReportExecution.getMavenReport();
+        try {
+            for (Locale locale : locales) {
+                renderReport(mavenReportExecution, locale, sinkProvider, outputCache, writer);
+            }
+        } finally {
+            if (limiter != null) {
+                limiter.release();
+            }
+        }
+        if (mavenReport != null) {
+            LOGGER.debug("Rendered {} report in {} locales", mavenReport.getOutputPath(), locales.size());
+        }
+    }
+
+    private void renderReport(
+            MavenReportExecution mavenReportExecution,
+            Locale locale,
+            ReportSinkProvider sinkProvider,
+            ReportOutputCache outputCache,
+            Executor writer)
+            throws MavenReportException {
+        Sink sink;
+        try {
+            sink = sinkProvider.createSink(mavenReportExecution, locale);
+        } catch (IOException e) {
+            throw new MavenReportException("Failed to create sink for " + describe(mavenReportExecution), e);
+        }
+
+        WriteBehindSink writeBehindSink =
+                (writeBehindBufferSize > 0) ? WriteBehindSink.of(sink, writeBehindBufferSize, writer) : null;
+        try {
+            Sink reportSink = (writeBehindSink == null) ? sink : writeBehindSink;
+            if (outputCache == null) {
+                mavenReportExecution.generateReport(reportSink, locale);
+            } else {
+                renderReport(mavenReportExecution, locale, reportSink, outputCache);
+            }
+            if (writeBehindSink != null) {
+                writeBehindSink.finish();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenReportException("Interrupted while rendering reports", e);
+        } finally {
+            if (writeBehindSink != null) {
+                writeBehindSink.abort();
+            }
+            try {
+                sinkProvider.releaseSink(mavenReportExecution, locale, sink);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to release sink for {}", describe(mavenReportExecution), e);
+            }
+        }
+    }
+
+    /**
+     * Restore the report output from the cache, or generate the report and store its output. Cache failures are
+     * only logged.
+     */
+    private void renderReport(
+            MavenReportExecution mavenReportExecution, Locale locale, Sink sink, ReportOutputCache outputCache)
+            throws MavenReportException {
+        MavenReport mavenReport = mavenReportExecution.getMavenReport();
+        String key = null;
+        try {
+            key = outputCache.getKey(mavenReportExecution, locale);
+            if (key != null && outputCache.restore(key, mavenReport, sink)) {
+                LOGGER.debug("Restored {} output from cache {}", describe(mavenReportExecution), key);
+                return;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to restore {} output from cache", describe(mavenReportExecution), e);
+        }
+
+        if (key == null) {
+            mavenReportExecution.generateReport(sink, locale);
+            return;
+        }
+
+        ReportOutputCache.Recorder recorder = outputCache.record(sink);
+        mavenReportExecution.generateReport(recorder.getSink(), locale);
+        try {
+            outputCache.store(key, mavenReport, recorder);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store {} output in cache", describe(mavenReportExecution), e);
+        }
+    }
+
+    private static void await(Future<Void> future) throws MavenReportException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenReportException("Interrupted while rendering reports", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MavenReportException) {
+                throw (MavenReportException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MavenReportException(cause.getMessage(), (Exception) cause);
+        }
+    }
+
+    private static String describe(MavenReportExecution mavenReportExecution) {
+        Plugin plugin = mavenReportExecution.getPlugin();
+        if (plugin == null) {
+            return mavenReportExecution.getMavenReport().getOutputPath() + " report";
+        }
+        return plugin.getArtifactId() + ':' + mavenReportExecution.getGoal() + " report";
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preparation time budget of a report plugin or of a report goal, consumed by its successive preparation phases.
+ * <p>
+ * When a phase overruns the remaining budget, the thread running it is interrupted and the phase fails with a
+ * {@link TimeoutException} naming the phase it was stuck in. Cancellation is cooperative: code that ignores
+ * interruption runs to completion before the timeout is reported.
+ * </p>
+ */
+final class PreparationBudget {
+    private static final int RUNNING = 0;
+
+    private static final int DONE = 1;
+
+    private static final int EXPIRED = 2;
+
+    private final String subject;
+
+    private final long timeout;
+
+    private long consumed;
+
+    private volatile String phase;
+
+    /**
+     * @param subject the description of what is prepared, for example <code>report plugin groupId:artifactId</code>
+     * @param timeout the budget in milliseconds, <code>0</code> for no limit
+     */
+    PreparationBudget(String subject, long timeout) {
+        this.subject = subject;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Run a preparation phase within the remaining budget.
+     *
+     * @param phase the description of the phase, for example <code>resolving plugin version</code>
+     * @param task the phase work
+     * @return the task result
+     * @throws TimeoutException if the budget is exhausted, before or during the phase
+     * @throws Exception the task failure
+     */
+    <T> T run(String phase, Callable<T> task) throws Exception {
+        return run(phase, task, null);
+    }
+
+    /**
+     * Run a preparation phase within the remaining budget.
+     *
+     * @param phase the description of the phase, for example <code>resolving plugin version</code>
+     * @param task the phase work
+     * @param onExpiry called from the watchdog thread when the phase overruns the budget, can be <code>null</code>
+     * @return the task result
+     * @throws TimeoutException if the budget is exhausted, before or during the phase
+     * @throws Exception the task failure
+     */
+    <T> T run(String phase, Callable<T> task, Runnable onExpiry) throws Exception {
+        if (timeout <= 0) {
+            this.phase = phase;
+            return task.call();
+        }
+
+        long remaining = getRemaining();
+        if (remaining <= 0) {
+            // report the phase which exhausted the budget
+            throw newTimeoutException();
+        }
+        this.phase = phase;
+
+        Thread thread = Thread.currentThread();
+        AtomicInteger state = new AtomicInteger(RUNNING);
+        ScheduledFuture<?> alarm = ReportTaskExecutors.watchdog()
+                .schedule(
+                        () -> {
+                            if (state.compareAndSet(RUNNING, EXPIRED)) {
+                                thread.interrupt();
+                                if (onExpiry != null) {
+                                    onExpiry.run();
+                                }
+                            }
+                        },
+                        remaining,
+                        TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        T result = null;
+        Exception failure = null;
+        boolean expired = false;
+        try {
+            result = task.call();
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            if (state.compareAndSet(RUNNING, DONE)) {
+                alarm.cancel(false);
+                consume(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } else {
+                // the watchdog expired the phase, exhausting the budget whatever the measured duration: its
+                // interruption may not have landed yet, and must not leak to the next work of this thread
+                consume(timeout);
+                awaitWatchdog(alarm);
+                Thread.interrupted();
+                expired = true;
+            }
+        }
+
+        if (!expired) {
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+        TimeoutException timeoutException = newTimeoutException();
+        timeoutException.initCause(failure);
+        throw timeoutException;
+    }
+
+    private static void awaitWatchdog(Future<?> alarm) {
+        while (true) {
+            try {
+                alarm.get();
+                return;
+            } catch (InterruptedException e) {
+                // interrupted before the watchdog action completed: wait again
+            } catch (ExecutionException e) {
+                // the expiry callback failed, the interruption already landed
+                return;
+            }
+        }
+    }
+
+    /**
+     * Update the description of the running phase, to be reported if the budget is exhausted.
+     *
+     * @param phase the description of the phase
+     */
+    void phase(String phase) {
+        this.phase = phase;
+    }
+
+    TimeoutException newTimeoutException() {
+        return new TimeoutException(
+                "Preparation of " + subject + " exceeded its " + timeout + " ms budget while " + phase);
+    }
+
+    private synchronized long getRemaining() {
+        return timeout - consumed;
+    }
+
+    private synchronized void consume(long duration) {
+        consumed += duration;
+    }
+}
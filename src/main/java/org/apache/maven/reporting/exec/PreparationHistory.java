@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Preparation durations of report plugins (<code>groupId:artifactId</code> keys) and report goals
+ * (<code>groupId:artifactId:goal</code> keys) from previous builds, stored in a properties file, to schedule the
+ * concurrent preparation of report plugins against the sequential preparation of their goals. Stored durations are
+ * averaged with the ones measured during the current build.
+ */
+class PreparationHistory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreparationHistory.class);
+
+    private final File file;
+
+    private final Map<String, Long> previous = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> current = new ConcurrentHashMap<>();
+
+    private PreparationHistory(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the history from a file.
+     *
+     * @param file the history file, or <code>null</code> for an history that is never stored
+     * @return the history, empty if the file does not exist or can't be read
+     */
+    static PreparationHistory load(File file) {
+        PreparationHistory history = new PreparationHistory(file);
+        if (file != null && file.isFile()) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                properties.load(in);
+                for (String key : properties.stringPropertyNames()) {
+                    history.previous.put(key, Long.valueOf(properties.getProperty(key)));
+                }
+            } catch (IOException | NumberFormatException e) {
+                LOGGER.debug("Ignoring unreadable report preparation history {}", file, e);
+                history.previous.clear();
+            }
+        }
+        return history;
+    }
+
+    /**
+     * @param key the plugin or goal key
+     * @return the duration from previous builds in milliseconds, 0 if unknown
+     */
+    long getDuration(String key) {
+        Long duration = previous.get(key);
+        return duration == null ? 0 : duration;
+    }
+
+    /**
+     * @param pluginKey the plugin key
+     * @return the duration from previous builds of all the goals of the plugin in milliseconds, 0 if unknown
+     */
+    long getGoalsDuration(String pluginKey) {
+        String prefix = pluginKey + ':';
+        long duration = 0;
+        for (Map.Entry<String, Long> entry : previous.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                duration += entry.getValue();
+            }
+        }
+        return duration;
+    }
+
+    /**
+     * Order report plugins for their concurrent preparation (version resolution and plugin descriptor loading), while
+     * the calling thread prepares their goals sequentially in declaration order, waiting for each plugin to be
+     * prepared. The plugin at index <code>i</code> is needed once the goals of the plugins before it are prepared: its
+     * slack is the goals duration of these plugins minus its own preparation duration, both from previous builds.
+     * Report plugins are started by increasing slack, so that the calling thread waits as little as possible.
+     * Without goals durations, the longest preparations are started first; without any history, report plugins keep
+     * their declaration order.
+     *
+     * @param reportPlugins the report plugins, in declaration order
+     * @return the indexes of the report plugins, in scheduling order
+     */
+    List<Integer> schedule(ReportPlugin[] reportPlugins) {
+        long[] slacks = new long[reportPlugins.length];
+        List<Integer> schedule = new ArrayList<>(reportPlugins.length);
+        long goalsBefore = 0;
+        for (int i = 0; i < reportPlugins.length; i++) {
+            String pluginKey = reportPlugins[i].getPluginKey();
+            slacks[i] = goalsBefore - getDuration(pluginKey);
+            goalsBefore += getGoalsDuration(pluginKey);
+            schedule.add(i);
+        }
+        // stable sort
+        schedule.sort((i1, i2) -> Long.compare(slacks[i1], slacks[i2]));
+        return schedule;
+    }
+
+    /**
+     * Record a duration measured during the current build, added to the ones already recorded for the same key.
+     *
+     * @param key the plugin or goal key
+     * @param duration the duration in milliseconds
+     */
+    void record(String key, long duration) {
+        current.merge(key, duration, Long::sum);
+    }
+
+    /**
+     * Store the history, if a file was given and durations have been recorded. Failures are only logged.
+     */
+    void store() {
+        if (file == null || current.isEmpty()) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        for (Map.Entry<String, Long> entry : previous.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        for (Map.Entry<String, Long> entry : current.entrySet()) {
+            Long before = previous.get(entry.getKey());
+            long duration = (before == null) ? entry.getValue() : (before + entry.getValue()) / 2;
+            properties.setProperty(entry.getKey(), Long.toString(duration));
+        }
+
+        Path tmp = null;
+        try {
+            Path directory = file.getAbsoluteFile().getParentFile().toPath();
+            Files.createDirectories(directory);
+            // write then move, as concurrent module builds may store the same history
+            tmp = Files.createTempFile(directory, file.getName(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "report preparation durations in milliseconds");
+            }
+            Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to store report preparation history {}", file, e);
+            try {
+                if (tmp != null) {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException ignored) {
+                // nothing more to do
+            }
+        }
+    }
+}
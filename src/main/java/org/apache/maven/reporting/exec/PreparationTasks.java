@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Report plugins preparation tasks run concurrently, each one within the {@link PreparationBudget} of its report
+ * plugin and with the context classloader of the thread which created this instance.
+ * <p>
+ * Results are available as soon as a task completes or overruns its budget, even if the task ignores interruption. In
+ * fail-fast mode, the first failure cancels every other task through interruption.
+ * </p>
+ */
+final class PreparationTasks implements AutoCloseable {
+    private final ExecutorService executor;
+
+    private final boolean failFast;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final ClassLoader callerClassLoader;
+
+    private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+
+    private final AtomicReference<MojoExecutionException> failure = new AtomicReference<>();
+
+    /**
+     * @param executor the executor running the tasks, shut down when this instance is closed
+     * @param failFast <code>true</code> to cancel every task on the first failure
+     */
+    PreparationTasks(ExecutorService executor, boolean failFast) {
+        this(executor, failFast, null);
+    }
+
+    /**
+     * @param executor the executor running the tasks, shut down when this instance is closed
+     * @param failFast <code>true</code> to cancel every task on the first failure
+     * @param limiter the limiter of tasks in flight, waiting not being taken from budgets, may be <code>null</code>
+     */
+    PreparationTasks(ExecutorService executor, boolean failFast, AdaptiveConcurrencyLimiter limiter) {
+        this.executor = executor;
+        this.failFast = failFast;
+        this.limiter = limiter;
+        this.callerClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    /**
+     * Submit a preparation phase of a report plugin.
+     *
+     * @param pluginKey the report plugin key, for failure reporting
+     * @param budget the report plugin preparation budget
+     * @param phase the description of the phase
+     * @param task the phase work
+     * @return the phase result
+     */
+    <T> Future<T> submit(String pluginKey, PreparationBudget budget, String phase, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        futures.add(result);
+        result.whenComplete((value, e) -> {
+            if (e != null && !(e instanceof CancellationException)) {
+                onFailure(pluginKey, e);
+            }
+        });
+
+        futures.add(executor.submit(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader workerClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(callerClassLoader);
+            try {
+                if (limiter != null) {
+                    limiter.acquire();
+                }
+                try {
+                    result.complete(budget.run(
+                            phase, task, () -> result.completeExceptionally(budget.newTimeoutException())));
+                } finally {
+                    if (limiter != null) {
+                        limiter.release();
+                    }
+                }
+            } catch (Exception | Error e) {
+                result.completeExceptionally(e);
+            } finally {
+                thread.setContextClassLoader(workerClassLoader);
+            }
+        }));
+
+        return result;
+    }
+
+    /**
+     * Wait for a phase result.
+     *
+     * @param pluginKey the report plugin key, for failure reporting
+     * @param future the phase result
+     * @return the phase result value
+     * @throws MojoExecutionException if the phase failed, or if it was cancelled after the failure of another one
+     */
+    <T> T await(String pluginKey, Future<T> future) throws MojoExecutionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new MojoExecutionException("Failed to get report for " + pluginKey, e);
+        } catch (CancellationException e) {
+            checkFailure();
+            throw new MojoExecutionException("Failed to get report for " + pluginKey, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MojoExecutionException("Failed to get report for " + pluginKey, cause);
+        }
+    }
+
+    /**
+     * In fail-fast mode, report the first failure of any task.
+     *
+     * @throws MojoExecutionException the first failure
+     */
+    void checkFailure() throws MojoExecutionException {
+        MojoExecutionException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private void onFailure(String pluginKey, Throwable cause) {
+        if (failFast
+                && failure.compareAndSet(
+                        null, new MojoExecutionException("Failed to get report for " + pluginKey, cause))) {
+            cancel();
+        }
+    }
+
+    private void cancel() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
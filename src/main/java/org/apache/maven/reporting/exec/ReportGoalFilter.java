@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+
+/**
+ * Filter of report goals, from include and exclude patterns in one of the following glob forms, where <code>*</code>
+ * matches any characters and <code>?</code> any single character:
+ * <ul>
+ * <li><code>groupId:artifactId:goal</code>, for example <code>org.jacoco:*:report</code>,</li>
+ * <li><code>groupId:artifactId</code> or <code>prefix:goal</code>, for example <code>jacoco:report</code>,</li>
+ * <li><code>prefix</code> or <code>artifactId</code>, for every goal of the plugin.</li>
+ * </ul>
+ * A goal is kept if it matches any include pattern, or if there is no include pattern, and if it matches no exclude
+ * pattern.
+ */
+final class ReportGoalFilter {
+    private static final ReportGoalFilter NONE = new ReportGoalFilter(Collections.emptyList(), Collections.emptyList());
+
+    private final List<GoalPattern> includes;
+
+    private final List<GoalPattern> excludes;
+
+    private ReportGoalFilter(List<GoalPattern> includes, List<GoalPattern> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    static ReportGoalFilter of(MavenReportExecutorRequest mavenReportExecutorRequest) {
+        return of(mavenReportExecutorRequest.getReportIncludes(), mavenReportExecutorRequest.getReportExcludes());
+    }
+
+    static ReportGoalFilter of(List<String> includes, List<String> excludes) {
+        if ((includes == null || includes.isEmpty()) && (excludes == null || excludes.isEmpty())) {
+            return NONE;
+        }
+        return new ReportGoalFilter(parse(includes), parse(excludes));
+    }
+
+    private static List<GoalPattern> parse(List<String> patterns) {
+        if (patterns == null) {
+            return Collections.emptyList();
+        }
+        List<GoalPattern> goalPatterns = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            if (pattern != null && !pattern.trim().isEmpty()) {
+                goalPatterns.add(new GoalPattern(pattern.trim()));
+            }
+        }
+        return goalPatterns;
+    }
+
+    boolean isEmpty() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * Check if some goals of a plugin may be kept, before its descriptor is available: the goal prefix is guessed
+     * from the artifactId. A plugin is never dropped by a <code>groupId:artifactId</code> or <code>prefix:goal</code>
+     * include, since the goal prefix of its descriptor may differ from the guessed one: its goals are filtered by
+     * {@link #includesGoal(PluginDescriptor, String)}.
+     *
+     * @param groupId the plugin groupId
+     * @param artifactId the plugin artifactId
+     * @return <code>false</code> if no goal of the plugin can be kept
+     */
+    boolean includesPlugin(String groupId, String artifactId) {
+        String prefix = PluginDescriptor.getGoalPrefixFromArtifactId(artifactId);
+        if (!includes.isEmpty()
+                && includes.stream().noneMatch(include -> include.mayMatchPlugin(groupId, artifactId, prefix))) {
+            return false;
+        }
+        return excludes.stream().noneMatch(exclude -> exclude.matchesPlugin(groupId, artifactId, prefix));
+    }
+
+    /**
+     * Check if a goal is kept.
+     *
+     * @param pluginDescriptor the plugin descriptor
+     * @param goal the goal
+     * @return <code>true</code> if the goal is kept
+     */
+    boolean includesGoal(PluginDescriptor pluginDescriptor, String goal) {
+        String groupId = pluginDescriptor.getGroupId();
+        String artifactId = pluginDescriptor.getArtifactId();
+        String prefix = pluginDescriptor.getGoalPrefix() != null
+                ? pluginDescriptor.getGoalPrefix()
+                : PluginDescriptor.getGoalPrefixFromArtifactId(artifactId);
+        if (!includes.isEmpty()
+                && includes.stream().noneMatch(include -> include.matchesGoal(groupId, artifactId, prefix, goal))) {
+            return false;
+        }
+        return excludes.stream().noneMatch(exclude -> exclude.matchesGoal(groupId, artifactId, prefix, goal));
+    }
+
+    private static class GoalPattern {
+        private final Pattern[] segments;
+
+        private final boolean anyGoal;
+
+        GoalPattern(String pattern) {
+            String[] parts = pattern.split(":", -1);
+            if (parts.length > 3) {
+                throw new IllegalArgumentException("Invalid report pattern '" + pattern
+                        + "', expected groupId:artifactId:goal, groupId:artifactId, prefix:goal or prefix");
+            }
+            segments = new Pattern[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                segments[i] = toRegex(parts[i]);
+            }
+            anyGoal = parts.length == 3 && parts[2].matches("\\**");
+        }
+
+        private static Pattern toRegex(String glob) {
+            StringBuilder regex = new StringBuilder();
+            int start = 0;
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '*' || c == '?') {
+                    if (i > start) {
+                        regex.append(Pattern.quote(glob.substring(start, i)));
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                    start = i + 1;
+                }
+            }
+            if (start < glob.length()) {
+                regex.append(Pattern.quote(glob.substring(start)));
+            }
+            return Pattern.compile(regex.toString());
+        }
+
+        private boolean matches(int segment, String value) {
+            return value != null && segments[segment].matcher(value).matches();
+        }
+
+        boolean matchesGoal(String groupId, String artifactId, String prefix, String goal) {
+            switch (segments.length) {
+                case 3:
+                    return matches(0, groupId) && matches(1, artifactId) && matches(2, goal);
+                case 2:
+                    return (matches(0, groupId) && matches(1, artifactId)) || (matches(0, prefix) && matches(1, goal));
+                default:
+                    return matches(0, prefix) || matches(0, artifactId);
+            }
+        }
+
+        /**
+         * @return <code>true</code> if the pattern may match some goal of the plugin
+         */
+        boolean mayMatchPlugin(String groupId, String artifactId, String prefix) {
+            switch (segments.length) {
+                case 3:
+                    return matches(0, groupId) && matches(1, artifactId);
+                case 2:
+                    // a prefix:goal pattern may match the goal prefix of the descriptor, whatever the guessed prefix
+                    return true;
+                default:
+                    return matches(0, prefix) || matches(0, artifactId);
+            }
+        }
+
+        /**
+         * @return <code>true</code> if the pattern matches every goal of the plugin
+         */
+        boolean matchesPlugin(String groupId, String artifactId, String prefix) {
+            switch (segments.length) {
+                case 3:
+                    return anyGoal && matches(0, groupId) && matches(1, artifactId);
+                case 2:
+                    return matches(0, groupId) && matches(1, artifactId);
+                default:
+                    return matches(0, prefix) || matches(0, artifactId);
+            }
+        }
+    }
+}
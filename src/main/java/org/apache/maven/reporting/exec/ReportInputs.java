@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Resource;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Fingerprints of the inputs a report is generated from, as SHA-256 hashes:
+ * <ul>
+ * <li>the report plugin coordinates and dependencies, the report goal and its effective configuration,</li>
+ * <li>the project model, its resolved dependencies, and the content of its source and resource directories,</li>
+ * <li>the content of the input paths declared on the report execution.</li>
+ * </ul>
+ * Released dependencies are identified by their coordinates, snapshot dependencies and dependencies resolved to a
+ * directory, like reactor modules not packaged, also by their content.
+ * <p>
+ * Fingerprints don't depend on the location of the project, so that they can be shared between machines: paths are
+ * hashed relative to the project base directory, which is also replaced by a placeholder in the model and the report
+ * configuration.
+ * </p>
+ */
+final class ReportInputs {
+    private static final String BASEDIR = "${project.basedir}";
+
+    private ReportInputs() {
+        // utility class
+    }
+
+    /**
+     * Compute the fingerprint of the project inputs, shared by every report of the project.
+     *
+     * @param project the project
+     * @return the fingerprint
+     * @throws IOException if a source file can't be read
+     */
+    static String projectFingerprint(MavenProject project) throws IOException {
+        // before writing the model: getting resources adds an empty build section to a model without one
+        List<String> roots = new ArrayList<>();
+        roots.addAll(project.getCompileSourceRoots());
+        roots.addAll(project.getTestCompileSourceRoots());
+        for (Resource resource : project.getResources()) {
+            roots.add(resource.getDirectory());
+        }
+        for (Resource resource : project.getTestResources()) {
+            roots.add(resource.getDirectory());
+        }
+
+        Path basedir = getBasedir(project);
+        MessageDigest digest = ReportPlanCache.newSha256();
+
+        StringWriter model = new StringWriter();
+        new MavenXpp3Writer().write(model, project.getModel());
+        update(digest, relativize(basedir, model.toString()));
+
+        List<Artifact> artifacts = new ArrayList<>(project.getArtifacts());
+        artifacts.sort((a1, a2) -> a1.getId().compareTo(a2.getId()));
+        for (Artifact artifact : artifacts) {
+            update(digest, artifact.getId());
+            File file = artifact.getFile();
+            if (file != null && file.exists() && (artifact.isSnapshot() || file.isDirectory())) {
+                // the content of a reactor module output directory changes without changing its own timestamp
+                updateContent(digest, file.toPath());
+            }
+        }
+
+        for (String root : roots) {
+            updateTree(digest, basedir, root == null ? null : new File(root).toPath());
+        }
+
+        return ReportPlanCache.toHex(digest.digest());
+    }
+
+    /**
+     * Compute the fingerprint of the inputs of a report.
+     *
+     * @param mavenReportExecution the report execution, prepared by {@link MavenReportExecutor}
+     * @param projectFingerprint the fingerprint of the project inputs
+     * @return the fingerprint, or <code>null</code> if the report inputs are unknown
+     * @throws IOException if an input file can't be read
+     */
+    static String fingerprint(MavenReportExecution mavenReportExecution, String projectFingerprint)
+            throws IOException {
+        Plugin plugin = mavenReportExecution.getPlugin();
+        Xpp3Dom configuration = mavenReportExecution.getConfiguration();
+        if (plugin == null || configuration == null) {
+            return null;
+        }
+
+        Path basedir = getBasedir(mavenReportExecution.getProject());
+        MessageDigest digest = ReportPlanCache.newSha256();
+        update(digest, plugin.getId());
+        for (Dependency dependency : plugin.getDependencies()) {
+            update(digest, dependency.getManagementKey() + ':' + dependency.getVersion());
+        }
+        update(digest, mavenReportExecution.getGoal());
+        update(digest, relativize(basedir, configuration.toString()));
+        update(digest, projectFingerprint);
+        for (File inputPath : mavenReportExecution.getInputPaths()) {
+            updateTree(digest, basedir, inputPath.toPath());
+        }
+        return ReportPlanCache.toHex(digest.digest());
+    }
+
+    private static Path getBasedir(MavenProject project) {
+        File basedir = (project == null) ? null : project.getBasedir();
+        return (basedir == null) ? null : basedir.toPath().toAbsolutePath();
+    }
+
+    /**
+     * Replace the project base directory in a text, like the effective model or a mojo configuration, where it has
+     * been interpolated into paths.
+     */
+    private static String relativize(Path basedir, String text) {
+        if (basedir == null) {
+            return text;
+        }
+        String path = basedir.toString();
+        return text.replace(path + File.separator, BASEDIR + '/').replace('>' + path + '<', '>' + BASEDIR + '<');
+    }
+
+    /**
+     * Get a path relative to the project base directory, like sibling reactor modules, or the path itself if it can't
+     * be relativized.
+     */
+    private static String relativize(Path basedir, Path path) {
+        Path absolutePath = path.toAbsolutePath();
+        if (basedir == null || !basedir.getRoot().equals(absolutePath.getRoot())) {
+            return absolutePath.toString();
+        }
+        return basedir.relativize(absolutePath).toString().replace(File.separatorChar, '/');
+    }
+
+    private static void updateTree(MessageDigest digest, Path basedir, Path root) throws IOException {
+        if (root != null && Files.exists(root)) {
+            update(digest, relativize(basedir, root));
+            updateContent(digest, root);
+        }
+    }
+
+    /**
+     * Update the digest with the content of a file, or with the relative paths and content of the files of a
+     * directory.
+     */
+    private static void updateContent(MessageDigest digest, Path root) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        byte[] buffer = new byte[8192];
+        for (Path file : files) {
+            update(digest, root.relativize(file).toString().replace(File.separatorChar, '/'));
+            try (InputStream in = Files.newInputStream(file)) {
+                for (int n; (n = in.read(buffer)) >= 0; ) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        // separator, to avoid collisions between successive values
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import javax.swing.text.SimpleAttributeSet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.reporting.MavenReport;
+
+/**
+ * Report output cache, on top of a {@link ReportOutputStore}. The output of a report is made of:
+ * <ul>
+ * <li>the {@link Sink} events emitted by the report, recorded while it is generated then replayed on a new sink,</li>
+ * <li>the files written by the report in the sub-directory of the report output directory where its page is, like
+ * <code>apidocs/</code> for an <code>apidocs/index</code> page: reports writing their page at the root of the output
+ * directory have no files in their output.</li>
+ * </ul>
+ * Outputs are keyed by the fingerprint of the report inputs (see {@link ReportInputs}) and the locale. Reports
+ * emitting sink events with values that can't be recorded, like non-textual attributes, are not cached.
+ */
+class ReportOutputCache {
+    private static final String EVENTS = "sink-events";
+
+    private static final String FILES = "files";
+
+    private static final int NULL = 0;
+
+    private static final int STRING = 1;
+
+    private static final int INT = 2;
+
+    private static final int BOOLEAN = 3;
+
+    private static final int INTS = 4;
+
+    private static final int ATTRIBUTES = 5;
+
+    private static final int OBJECTS = 6;
+
+    private static final int MAX_PROJECT_FINGERPRINTS = 1_000;
+
+    private static final Map<String, Method> SINK_METHODS = new HashMap<>();
+
+    static {
+        for (Method method : Sink.class.getMethods()) {
+            SINK_METHODS.put(getSignature(method), method);
+        }
+    }
+
+    private final ReportOutputStore store;
+
+    private final BoundedCache<MavenProject, String> projectFingerprints =
+            new BoundedCache<>("project-fingerprints", MAX_PROJECT_FINGERPRINTS);
+
+    ReportOutputCache(ReportOutputStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @return the key of the report output, or <code>null</code> if the report can't be cached
+     */
+    String getKey(MavenReportExecution mavenReportExecution, Locale locale) throws IOException {
+        MavenProject project = mavenReportExecution.getProject();
+        if (project == null) {
+            return null;
+        }
+        String projectFingerprint = projectFingerprints.get(project);
+        if (projectFingerprint == null) {
+            projectFingerprint = ReportInputs.projectFingerprint(project);
+            projectFingerprints.put(project, projectFingerprint);
+        }
+        String fingerprint = ReportInputs.fingerprint(mavenReportExecution, projectFingerprint);
+        return fingerprint == null ? null : fingerprint + '-' + locale.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Restore the output of a report: files are copied back to the report output directory, then sink events are
+     * replayed on the given sink.
+     *
+     * @return <code>true</code> if the output was found and restored
+     */
+    boolean restore(String key, MavenReport mavenReport, Sink sink) throws IOException {
+        Path staging = Files.createTempDirectory("maven-report-output");
+        try {
+            if (!store.retrieve(key, staging)) {
+                return false;
+            }
+            List<Object[]> events = readEvents(staging.resolve(EVENTS));
+
+            File outputDirectory = getOutputDirectory(mavenReport);
+            Path files = staging.resolve(FILES);
+            if (outputDirectory != null && Files.isDirectory(files)) {
+                FileSystemReportOutputStore.copy(files, outputDirectory.toPath());
+            }
+
+            for (Object[] event : events) {
+                ((Method) event[0]).invoke(sink, (Object[]) event[1]);
+            }
+            return true;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            FileSystemReportOutputStore.delete(staging);
+        }
+    }
+
+    /**
+     * Start recording the sink events of a report.
+     *
+     * @param sink the sink the report generates to
+     * @return the recorder, providing the sink to give to the report
+     */
+    Recorder record(Sink sink) {
+        return new Recorder(sink);
+    }
+
+    /**
+     * Store the output of a generated report.
+     */
+    void store(String key, MavenReport mavenReport, Recorder recorder) throws IOException {
+        if (!recorder.isRecordable()) {
+            return;
+        }
+
+        Path staging = Files.createTempDirectory("maven-report-output");
+        try {
+            writeEvents(staging.resolve(EVENTS), recorder.events);
+
+            File outputDirectory = getOutputDirectory(mavenReport);
+            if (outputDirectory != null && outputDirectory.isDirectory()) {
+                FileSystemReportOutputStore.copy(outputDirectory.toPath(), staging.resolve(FILES));
+            }
+
+            store.store(key, staging);
+        } finally {
+            FileSystemReportOutputStore.delete(staging);
+        }
+    }
+
+    /**
+     * @return the directory of the report page, if not the root of the report output directory
+     */
+    private static File getOutputDirectory(MavenReport mavenReport) {
+        File reportOutputDirectory = mavenReport.getReportOutputDirectory();
+        String outputPath = mavenReport.getOutputPath();
+        if (reportOutputDirectory == null || outputPath == null) {
+            return null;
+        }
+        int index = outputPath.lastIndexOf('/');
+        return index <= 0 ? null : new File(reportOutputDirectory, outputPath.substring(0, index));
+    }
+
+    private static String getSignature(Method method) {
+        StringBuilder signature = new StringBuilder(method.getName()).append('(');
+        for (Class<?> type : method.getParameterTypes()) {
+            signature.append(type.getName()).append(',');
+        }
+        return signature.append(')').toString();
+    }
+
+    private static void writeEvents(Path file, List<Object[]> events) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file);
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+            data.writeInt(events.size());
+            for (Object[] event : events) {
+                data.writeUTF(getSignature((Method) event[0]));
+                Object[] args = (Object[]) event[1];
+                data.writeInt(args.length);
+                for (Object arg : args) {
+                    writeValue(data, arg);
+                }
+            }
+        }
+    }
+
+    private static void writeValue(DataOutputStream data, Object value) throws IOException {
+        if (value == null) {
+            data.writeByte(NULL);
+        } else if (value instanceof String) {
+            data.writeByte(STRING);
+            writeString(data, (String) value);
+        } else if (value instanceof Integer) {
+            data.writeByte(INT);
+            data.writeInt((Integer) value);
+        } else if (value instanceof Boolean) {
+            data.writeByte(BOOLEAN);
+            data.writeBoolean((Boolean) value);
+        } else if (value instanceof int[]) {
+            int[] ints = (int[]) value;
+            data.writeByte(INTS);
+            data.writeInt(ints.length);
+            for (int i : ints) {
+                data.writeInt(i);
+            }
+        } else if (value instanceof Map) {
+            // recorded attributes
+            Map<?, ?> attributes = (Map<?, ?>) value;
+            data.writeByte(ATTRIBUTES);
+            data.writeInt(attributes.size());
+            for (Map.Entry<?, ?> attribute : attributes.entrySet()) {
+                writeString(data, (String) attribute.getKey());
+                writeString(data, (String) attribute.getValue());
+            }
+        } else {
+            Object[] objects = (Object[]) value;
+            data.writeByte(OBJECTS);
+            data.writeInt(objects.length);
+            for (Object object : objects) {
+                writeValue(data, object);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        // writeUTF is limited to 64 KB
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static List<Object[]> readEvents(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+                DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            int count = data.readInt();
+            List<Object[]> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String signature = data.readUTF();
+                Method method = SINK_METHODS.get(signature);
+                if (method == null) {
+                    throw new IOException("Unknown sink event " + signature);
+                }
+                Object[] args = new Object[data.readInt()];
+                for (int j = 0; j < args.length; j++) {
+                    args[j] = readValue(data);
+                }
+                events.add(new Object[] {method, args});
+            }
+            return events;
+        }
+    }
+
+    private static Object readValue(DataInputStream data) throws IOException {
+        int type = data.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(data);
+            case INT:
+                return data.readInt();
+            case BOOLEAN:
+                return data.readBoolean();
+            case INTS:
+                int[] ints = new int[data.readInt()];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = data.readInt();
+                }
+                return ints;
+            case ATTRIBUTES:
+                ReplayedAttributes attributes = new ReplayedAttributes();
+                for (int i = data.readInt(); i > 0; i--) {
+                    attributes.addAttribute(readString(data), readString(data));
+                }
+                return attributes;
+            case OBJECTS:
+                Object[] objects = new Object[data.readInt()];
+                for (int i = 0; i < objects.length; i++) {
+                    objects[i] = readValue(data);
+                }
+                return objects;
+            default:
+                throw new IOException("Unknown sink event value type " + type);
+        }
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[data.readInt()];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Records the sink events of a report while forwarding them to the actual sink.
+     */
+    static final class Recorder implements InvocationHandler {
+        private final Sink sink;
+
+        private final Sink recordingSink;
+
+        private final List<Object[]> events = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile boolean recordable = true;
+
+        Recorder(Sink sink) {
+            this.sink = sink;
+            this.recordingSink =
+                    (Sink) Proxy.newProxyInstance(Sink.class.getClassLoader(), new Class<?>[] {Sink.class}, this);
+        }
+
+        /**
+         * @return the sink to give to the report
+         */
+        Sink getSink() {
+            return recordingSink;
+        }
+
+        /**
+         * @return <code>true</code> if every sink event could be recorded
+         */
+        boolean isRecordable() {
+            return recordable;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "recording " + sink;
+                }
+            }
+
+            // document locator is not an output event
+            if (recordable
+                    && method.getReturnType() == void.class
+                    && !"setDocumentLocator".equals(method.getName())) {
+                Object[] recordedArgs = args == null ? new Object[0] : new Object[args.length];
+                for (int i = 0; i < recordedArgs.length && recordable; i++) {
+                    recordedArgs[i] = toRecordable(args[i]);
+                }
+                events.add(new Object[] {method, recordedArgs});
+            }
+
+            try {
+                return method.invoke(sink, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object toRecordable(Object value) {
+            if (value == null
+                    || value instanceof String
+                    || value instanceof Integer
+                    || value instanceof Boolean
+                    || value instanceof int[]) {
+                return value;
+            }
+            if (value instanceof SinkEventAttributes) {
+                SinkEventAttributes attributes = (SinkEventAttributes) value;
+                Map<String, String> recorded = new LinkedHashMap<>();
+                for (Enumeration<?> names = attributes.getAttributeNames(); names.hasMoreElements(); ) {
+                    Object name = names.nextElement();
+                    Object attribute = attributes.getAttribute(name);
+                    if (!(name instanceof String) || !(attribute instanceof String)) {
+                        recordable = false;
+                        return null;
+                    }
+                    recorded.put((String) name, (String) attribute);
+                }
+                return recorded;
+            }
+            if (value instanceof Object[]) {
+                Object[] objects = (Object[]) value;
+                Object[] recorded = new Object[objects.length];
+                for (int i = 0; i < objects.length; i++) {
+                    recorded[i] = toRecordable(objects[i]);
+                }
+                return recorded;
+            }
+            recordable = false;
+            return null;
+        }
+    }
+
+    /**
+     * Replayed sink event attributes.
+     */
+    private static class ReplayedAttributes extends SimpleAttributeSet implements SinkEventAttributes {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            Map<String, Object> entries = new LinkedHashMap<>();
+            for (Enumeration<?> names = getAttributeNames(); names.hasMoreElements(); ) {
+                Object name = names.nextElement();
+                entries.put(String.valueOf(name), getAttribute(name));
+            }
+            return entries.entrySet();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Store of rendered report outputs, used by {@link MavenReportRenderer} to restore the output of a report instead of
+ * generating it again when its inputs did not change. Implementations can share outputs between builds and machines.
+ * <p>
+ * An output is a directory tree, exchanged through a local directory: its content is opaque to the store.
+ * </p>
+ *
+ * @see FileSystemReportOutputStore
+ * @since 2.1.0
+ */
+public interface ReportOutputStore {
+    /**
+     * Copy the output stored for a key into a directory.
+     *
+     * @param key the output key, made of lowercase hexadecimal characters, dashes and underscores
+     * @param directory the existing empty directory to copy the output to
+     * @return <code>true</code> if an output is stored for the key, <code>false</code> otherwise
+     * @throws IOException if the output can't be retrieved
+     */
+    boolean retrieve(String key, Path directory) throws IOException;
+
+    /**
+     * Store an output for a key, replacing any output already stored for the same key.
+     *
+     * @param key the output key, made of lowercase hexadecimal characters, dashes and underscores
+     * @param directory the directory containing the output, which can be deleted once this method returns
+     * @throws IOException if the output can't be stored
+     */
+    void store(String key, Path directory) throws IOException;
+}
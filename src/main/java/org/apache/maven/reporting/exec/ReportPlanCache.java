@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+import org.codehaus.plexus.util.xml.Xpp3DomWriter;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Report plans of a project from a previous build, stored as XML under the project build directory: plugins
+ * versions, report goals and their effective configurations. The plans are valid as long as the fingerprint of the
+ * model parts used to compute them and the checksums of the plugins artifacts don't change.
+ * <p>
+ * With a {@link CrossBuildCache}, loaded plans and checksums are kept in memory until the plans file, the POM file or
+ * the plugins artifacts change.
+ * </p>
+ */
+class ReportPlanCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportPlanCache.class);
+
+    private final File file;
+
+    private final String fingerprint;
+
+    private final RepositorySystemSession repositorySession;
+
+    private final CrossBuildCache crossBuildCache;
+
+    private final File pomFile;
+
+    private final Map<String, String> checksums = new HashMap<>();
+
+    private final List<Path> artifacts = new ArrayList<>();
+
+    /**
+     * @param file the cache file
+     * @param fingerprint the fingerprint of the model parts the plans are computed from
+     * @param repositorySession the repository session, to find plugins artifacts in the local repository
+     * @param crossBuildCache the cache to keep loaded plans and plugins artifacts checksums between builds of the JVM,
+     *            or <code>null</code>
+     * @param pomFile the POM file of the project, or <code>null</code>
+     */
+    ReportPlanCache(
+            File file,
+            String fingerprint,
+            RepositorySystemSession repositorySession,
+            CrossBuildCache crossBuildCache,
+            File pomFile) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.repositorySession = repositorySession;
+        this.crossBuildCache = crossBuildCache;
+        this.pomFile = pomFile;
+    }
+
+    /**
+     * Load the plans from a previous build.
+     *
+     * @param reportPlugins the report plugins, in order
+     * @return the plans of every report plugin, in the same order, or <code>null</code> if they are missing or stale
+     */
+    List<Entry> load(ReportPlugin[] reportPlugins) {
+        String cacheKey = "plans:" + file.getAbsolutePath() + ':' + fingerprint;
+        if (crossBuildCache != null) {
+            List<Entry> entries = crossBuildCache.get(cacheKey);
+            if (entries != null) {
+                return entries;
+            }
+        }
+
+        List<Entry> entries = read(reportPlugins);
+        if (entries != null && crossBuildCache != null) {
+            // plans are also stale when the plugins artifacts change, checked when read
+            List<Path> dependencies = new ArrayList<>(artifacts);
+            dependencies.add(file.toPath());
+            if (pomFile != null) {
+                dependencies.add(pomFile.toPath());
+            }
+            crossBuildCache.put(cacheKey, entries, dependencies);
+        }
+        return entries;
+    }
+
+    private List<Entry> read(ReportPlugin[] reportPlugins) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        Xpp3Dom dom;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            dom = Xpp3DomBuilder.build(reader);
+        } catch (IOException | XmlPullParserException e) {
+            LOGGER.debug("Ignoring unreadable report plans {}", file, e);
+            return null;
+        }
+
+        Xpp3Dom[] plugins = dom.getChildren("plugin");
+        if (!fingerprint.equals(dom.getAttribute("fingerprint")) || plugins.length != reportPlugins.length) {
+            LOGGER.debug("Ignoring stale report plans {}", file);
+            return null;
+        }
+
+        List<Entry> entries = new ArrayList<>(plugins.length);
+        for (int i = 0; i < plugins.length; i++) {
+            Xpp3Dom plugin = plugins[i];
+            String groupId = plugin.getAttribute("groupId");
+            String artifactId = plugin.getAttribute("artifactId");
+            String version = plugin.getAttribute("version");
+            String checksum = checksum(groupId, artifactId, version);
+            if (!reportPlugins[i].getGroupId().equals(groupId)
+                    || !reportPlugins[i].getArtifactId().equals(artifactId)
+                    || checksum == null
+                    || !checksum.equals(plugin.getAttribute("sha256"))) {
+                LOGGER.debug("Ignoring stale report plans {}: {}:{} changed", file, groupId, artifactId);
+                return null;
+            }
+
+            Entry entry = new Entry(true);
+            entry.setPlugin(groupId, artifactId, version);
+            for (Xpp3Dom report : plugin.getChildren("report")) {
+                Xpp3Dom configuration = report.getChild("configuration");
+                entry.getPlans()
+                        .add(new MavenReportPlan.Builder()
+                                .plugin(groupId, artifactId, version)
+                                .goal(report.getAttribute("goal"))
+                                .reportSet(report.getAttribute("reportSet"))
+                                .configuration(configuration == null ? new Xpp3Dom("configuration") : configuration)
+                                .userDefined(Boolean.parseBoolean(report.getAttribute("userDefined")))
+                                .aggregator(Boolean.parseBoolean(report.getAttribute("aggregator")))
+                                .fork(
+                                        report.getAttribute("executePhase"),
+                                        report.getAttribute("executeLifecycle"),
+                                        report.getAttribute("executeGoal"))
+                                .build());
+            }
+            entries.add(entry);
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Store the plans of the current build. Failures are only logged.
+     *
+     * @param entries the plans of every report plugin, in order
+     */
+    void store(List<Entry> entries) {
+        Xpp3Dom dom = new Xpp3Dom("reportPlans");
+        dom.setAttribute("fingerprint", fingerprint);
+        for (Entry entry : entries) {
+            if (entry.getGroupId() == null) {
+                // report plugin not prepared
+                return;
+            }
+            Xpp3Dom plugin = new Xpp3Dom("plugin");
+            plugin.setAttribute("groupId", entry.getGroupId());
+            plugin.setAttribute("artifactId", entry.getArtifactId());
+            plugin.setAttribute("version", entry.getVersion());
+            String checksum = checksum(entry.getGroupId(), entry.getArtifactId(), entry.getVersion());
+            if (checksum == null) {
+                // plans could never be verified
+                LOGGER.debug("Not storing report plans {}: {} artifact is missing", file, entry.getArtifactId());
+                return;
+            }
+            plugin.setAttribute("sha256", checksum);
+            for (MavenReportPlan plan : entry.getPlans()) {
+                Xpp3Dom report = new Xpp3Dom("report");
+                report.setAttribute("goal", plan.getGoal());
+                setAttribute(report, "reportSet", plan.getReportSetId());
+                report.setAttribute("userDefined", Boolean.toString(plan.isUserDefined()));
+                report.setAttribute("aggregator", Boolean.toString(plan.isAggregator()));
+                setAttribute(report, "executePhase", plan.getExecutePhase());
+                setAttribute(report, "executeLifecycle", plan.getExecuteLifecycle());
+                setAttribute(report, "executeGoal", plan.getExecuteGoal());
+                report.addChild(rename(plan.getConfiguration(), "configuration"));
+                plugin.addChild(report);
+            }
+            dom.addChild(plugin);
+        }
+
+        Path tmp = null;
+        try {
+            Path directory = file.getAbsoluteFile().getParentFile().toPath();
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, file.getName(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                Xpp3DomWriter.write(writer, dom);
+            }
+            Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to store report plans {}", file, e);
+            try {
+                if (tmp != null) {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException ignored) {
+                // nothing more to do
+            }
+        }
+    }
+
+    private static void setAttribute(Xpp3Dom dom, String name, String value) {
+        if (value != null) {
+            dom.setAttribute(name, value);
+        }
+    }
+
+    private static Xpp3Dom rename(Xpp3Dom dom, String name) {
+        return dom.getName().equals(name) ? dom : new Xpp3Dom(dom, name);
+    }
+
+    /**
+     * @return the SHA-256 checksum of the plugin artifact in the local repository, or <code>null</code> if missing
+     */
+    private String checksum(String groupId, String artifactId, String version) {
+        String key = groupId + ':' + artifactId + ':' + version;
+        if (!checksums.containsKey(key)) {
+            File artifact = new File(
+                    repositorySession.getLocalRepository().getBasedir(),
+                    repositorySession
+                            .getLocalRepositoryManager()
+                            .getPathForLocalArtifact(new DefaultArtifact(groupId, artifactId, "jar", version)));
+            artifacts.add(artifact.toPath());
+            String cacheKey = "sha256:" + artifact.getAbsolutePath();
+            String checksum = (crossBuildCache == null) ? null : crossBuildCache.get(cacheKey);
+            if (checksum == null && artifact.isFile()) {
+                try (InputStream in = Files.newInputStream(artifact.toPath())) {
+                    MessageDigest digest = newSha256();
+                    byte[] buffer = new byte[8192];
+                    for (int n; (n = in.read(buffer)) >= 0; ) {
+                        digest.update(buffer, 0, n);
+                    }
+                    checksum = toHex(digest.digest());
+                    if (crossBuildCache != null) {
+                        crossBuildCache.put(cacheKey, checksum, Collections.singletonList(artifact.toPath()));
+                    }
+                } catch (IOException e) {
+                    LOGGER.debug("Failed to compute checksum of {}", artifact, e);
+                }
+            }
+            checksums.put(key, checksum);
+        }
+        return checksums.get(key);
+    }
+
+    /**
+     * @param content the content to fingerprint
+     * @return the SHA-256 hash of the content, as hexadecimal string
+     */
+    static String sha256(String content) {
+        return toHex(newSha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // required on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Plans of a report plugin: either loaded from a previous build, or recorded during the current one.
+     */
+    static class Entry {
+        private final boolean cached;
+
+        private final List<MavenReportPlan> plans = Collections.synchronizedList(new ArrayList<>());
+
+        private String groupId;
+
+        private String artifactId;
+
+        private String version;
+
+        Entry(boolean cached) {
+            this.cached = cached;
+        }
+
+        /**
+         * @return <code>true</code> if the plans were loaded from a previous build
+         */
+        boolean isCached() {
+            return cached;
+        }
+
+        String getGroupId() {
+            return groupId;
+        }
+
+        String getArtifactId() {
+            return artifactId;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        void setPlugin(String groupId, String artifactId, String version) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+        }
+
+        List<MavenReportPlan> getPlans() {
+            return plans;
+        }
+    }
+}
@@ -43,6 +43,8 @@ class ReportPlugin {
 
     private List<String> reports;
 
+    private List<String> runAfter;
+
     public String getGroupId() {
         return this.groupId;
     }
@@ -95,6 +97,43 @@ class ReportPlugin {
         this.reports = reports;
     }
 
+    public List<String> getRunAfter() {
+        return runAfter == null ? Collections.<String>emptyList() : runAfter;
+    }
+
+    /**
+     * Set the reports that must be generated before every report of this plugin, as <code>groupId:artifactId</code>
+     * for every report of a plugin or <code>groupId:artifactId:goal</code> for a single report. Read from a
+     * <code>&lt;runAfter&gt;</code> element of the plugin configuration, which is not passed to the reports.
+     *
+     * @param runAfter the reports to generate before
+     * @since 2.1.0
+     */
+    public void setRunAfter(List<String> runAfter) {
+        this.runAfter = runAfter;
+    }
+
+    /**
+     * @return the plugin key, <code>groupId:artifactId</code>
+     */
+    String getPluginKey() {
+        return getGroupId() + ':' + getArtifactId();
+    }
+
+    /**
+     * @return the default reports, without duplicates
+     */
+    List<String> getDistinctReports() {
+        return ReportSet.getDistinct(getReports());
+    }
+
+    /**
+     * @return the default reports declared more than once, once for each additional declaration
+     */
+    List<String> getDuplicateReports() {
+        return ReportSet.getDuplicates(getReports());
+    }
+
     @Override
     public String toString() {
         return "ReportPlugin(" + artifactId + "){version='" + version + "', reports=" + reports + ", reportSets="
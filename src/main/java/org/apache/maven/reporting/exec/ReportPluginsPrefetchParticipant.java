@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Starts report plugins prefetch as soon as reactor projects are read, with
+ * {@link MavenReportExecutor#prefetchReportPlugins(MavenSession)}: report plugins are resolved in background while
+ * the build runs. Only active when this library is registered as a build extension.
+ *
+ * @since 2.1.0
+ */
+@Singleton
+@Named("report-plugins-prefetch")
+public class ReportPluginsPrefetchParticipant extends AbstractMavenLifecycleParticipant {
+    private final MavenReportExecutor mavenReportExecutor;
+
+    @Inject
+    public ReportPluginsPrefetchParticipant(MavenReportExecutor mavenReportExecutor) {
+        this.mavenReportExecutor = requireNonNull(mavenReportExecutor);
+    }
+
+    @Override
+    public void afterProjectsRead(MavenSession session) {
+        mavenReportExecutor.prefetchReportPlugins(session);
+    }
+}
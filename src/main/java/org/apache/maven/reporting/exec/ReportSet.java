@@ -19,9 +19,14 @@
 package org.apache.maven.reporting.exec;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 /**
  * Represents a set of reports and a configuration to be used to generate them.
@@ -35,6 +40,8 @@ class ReportSet {
 
     private List<String> reports;
 
+    private List<String> runAfter;
+
     public String getId() {
         return this.id;
     }
@@ -63,6 +70,86 @@ class ReportSet {
         this.reports = reports;
     }
 
+    public List<String> getRunAfter() {
+        return runAfter == null ? Collections.<String>emptyList() : runAfter;
+    }
+
+    /**
+     * Set the reports that must be generated before the reports of this set, as <code>groupId:artifactId</code> for
+     * every report of a plugin or <code>groupId:artifactId:goal</code> for a single report. Read from a
+     * <code>&lt;runAfter&gt;</code> element of the report set configuration, which is not passed to the reports.
+     *
+     * @param runAfter the reports to generate before
+     * @since 2.1.0
+     */
+    public void setRunAfter(List<String> runAfter) {
+        this.runAfter = runAfter;
+    }
+
+    /**
+     * @return the reports, without duplicates
+     */
+    List<String> getDistinctReports() {
+        return getDistinct(getReports());
+    }
+
+    /**
+     * @return the reports declared more than once, once for each additional declaration
+     */
+    List<String> getDuplicateReports() {
+        return getDuplicates(getReports());
+    }
+
+    static List<String> getDistinct(List<String> reports) {
+        if (reports.size() < 2) {
+            return reports;
+        }
+        Set<String> distinct = new LinkedHashSet<>(reports);
+        return distinct.size() == reports.size() ? reports : new ArrayList<>(distinct);
+    }
+
+    /**
+     * Read report references from the <code>&lt;runAfter&gt;</code> element of a configuration: either one child
+     * element per reference, or a comma separated value.
+     */
+    static List<String> getRunAfter(Xpp3Dom configuration) {
+        Xpp3Dom runAfter = (configuration == null) ? null : configuration.getChild("runAfter");
+        if (runAfter == null) {
+            return Collections.emptyList();
+        }
+        List<String> references = new ArrayList<>();
+        if (runAfter.getChildCount() > 0) {
+            for (Xpp3Dom reference : runAfter.getChildren()) {
+                addReference(references, reference.getValue());
+            }
+        } else if (runAfter.getValue() != null) {
+            for (String reference : runAfter.getValue().split(",")) {
+                addReference(references, reference);
+            }
+        }
+        return references;
+    }
+
+    private static void addReference(List<String> references, String reference) {
+        if (reference != null && !reference.trim().isEmpty()) {
+            references.add(reference.trim());
+        }
+    }
+
+    static List<String> getDuplicates(List<String> reports) {
+        if (reports.size() < 2) {
+            return Collections.emptyList();
+        }
+        List<String> duplicates = new ArrayList<>();
+        Set<String> declared = new HashSet<>();
+        for (String report : reports) {
+            if (!declared.add(report)) {
+                duplicates.add(report);
+            }
+        }
+        return duplicates;
+    }
+
     @Override
     public String toString() {
         return "ReportSet{id='" + getId() + "', reports=" + reports + "}";
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.apache.maven.doxia.sink.Sink;
+
+/**
+ * Provides the {@link Sink} to render a {@link MavenReportExecution} into, when rendering is delegated to
+ * {@link MavenReportRenderer}. Each call must return a dedicated sink, since reports may be rendered concurrently.
+ *
+ * @since 2.1.0
+ */
+public interface ReportSinkProvider {
+    /**
+     * Create the sink for the given report execution.
+     *
+     * @param mavenReportExecution the report execution that will be rendered
+     * @param locale the locale the report will be rendered for
+     * @return a new sink, not shared with any other report execution
+     * @throws IOException on sink creation issue
+     */
+    Sink createSink(MavenReportExecution mavenReportExecution, Locale locale) throws IOException;
+
+    /**
+     * Release the sink once the report has been rendered, successfully or not. Default implementation closes the sink.
+     *
+     * @param mavenReportExecution the report execution that has been rendered
+     * @param locale the locale the report has been rendered for
+     * @param sink the sink previously created by {@link #createSink(MavenReportExecution, Locale)}
+     * @throws IOException on sink release issue
+     */
+    default void releaseSink(MavenReportExecution mavenReportExecution, Locale locale, Sink sink) throws IOException {
+        sink.close();
+    }
+}
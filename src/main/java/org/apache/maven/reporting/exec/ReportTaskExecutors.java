@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the thread pools used to run report work concurrently.
+ * <p>
+ * Virtual threads are used through reflection, since this library still targets Java 8: when they are not available
+ * (JDK &lt; 21), a pool of platform threads is used instead.
+ * </p>
+ */
+final class ReportTaskExecutors {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportTaskExecutors.class);
+
+    private static final ScheduledExecutorService WATCHDOG = newWatchdog();
+
+    private ReportTaskExecutors() {
+        // utility class
+    }
+
+    /**
+     * Get the shared scheduler used to watch tasks durations. Scheduled actions must be short, and should be cancelled
+     * as soon as they are no longer needed.
+     *
+     * @return the watchdog scheduler, whose single daemon thread stops when idle
+     */
+    static ScheduledExecutorService watchdog() {
+        return WATCHDOG;
+    }
+
+    private static ScheduledExecutorService newWatchdog() {
+        ScheduledThreadPoolExecutor watchdog =
+                new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("maven-report-watchdog"));
+        watchdog.setRemoveOnCancelPolicy(true);
+        watchdog.setKeepAliveTime(1, TimeUnit.MINUTES);
+        watchdog.allowCoreThreadTimeOut(true);
+        return watchdog;
+    }
+
+    /**
+     * Create an executor service for I/O bound tasks.
+     *
+     * @param name the prefix of the threads names
+     * @param threads the number of platform threads, if virtual threads are not used
+     * @param virtualThreads <code>true</code> to run each task in a new virtual thread when available
+     * @return the executor service, to be shut down by the caller
+     */
+    static ExecutorService newExecutor(String name, int threads, boolean virtualThreads) {
+        if (virtualThreads) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor(name);
+            if (executor != null) {
+                return executor;
+            }
+            LOGGER.debug("Virtual threads are not available, using {} platform threads", threads);
+        }
+        return newFixedThreadPool(name, threads);
+    }
+
+    /**
+     * Create a virtual-thread-per-task executor service, equivalent to
+     * <code>Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + '-', 1).factory())</code>.
+     *
+     * @param name the prefix of the threads names
+     * @return the executor service, or <code>null</code> if virtual threads are not available
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + '-', 1L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor =
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a pool of daemon platform threads.
+     *
+     * @param name the prefix of the threads names
+     * @param threads the number of threads
+     * @return the executor service, to be shut down by the caller
+     */
+    static ExecutorService newFixedThreadPool(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, new NamedThreadFactory(name));
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String name;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + '-' + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,1397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import javax.swing.text.AttributeSet;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.maven.doxia.sink.Locator;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+
+/**
+ * Decorates a {@link Sink} to write its events behind the report: events are recorded as codes and arguments in a
+ * bounded ring buffer, reused for the whole report, and replayed on the actual sink by a writer task, so that report
+ * computation and output serialization overlap. A report producing events faster than they are written waits for the
+ * writer.
+ * <p>
+ * The writer task runs on the given executor, like the pool rendering the reports. When no writer is running, for
+ * example while the writer task is queued behind reports keeping every thread of the pool busy, a report waiting for
+ * its events to be written writes them itself, so that waiting reports can't starve their writers.
+ * </p>
+ * <p>
+ * Mutable event arguments, like attributes or arrays, are copied when buffered. Events returning a value, and events
+ * with arguments that can't be copied, are invoked on the calling thread once every buffered event is written.
+ * A failure of the actual sink is thrown by the next event, or by {@link #finish()}.
+ * </p>
+ */
+class WriteBehindSink implements Sink {
+    /**
+     * Count of events handed over to the writer at once.
+     */
+    static final int BATCH_SIZE = 256;
+
+    private final Sink sink;
+
+    private final Executor executor;
+
+    private final int capacity;
+
+    private final Event[] events;
+
+    private final Object[] values;
+
+    private final int[] numbers;
+
+    private final SinkEventAttributes[] attributes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when buffered events are written, or when the writer stops.
+     */
+    private final Condition written = lock.newCondition();
+
+    /**
+     * Count of events handed over to the writer, guarded by {@link #lock}.
+     */
+    private long published;
+
+    /**
+     * Count of events written, guarded by {@link #lock}.
+     */
+    private long head;
+
+    /**
+     * Is a thread writing events, guarded by {@link #lock}.
+     */
+    private boolean writing;
+
+    /**
+     * Is a writer task queued, guarded by {@link #lock}.
+     */
+    private boolean scheduled;
+
+    private volatile boolean aborted;
+
+    private volatile Throwable failure;
+
+    /**
+     * Count of events buffered, only used by the report thread.
+     */
+    private long tail;
+
+    /**
+     * Count of events that can be buffered before waiting for the writer, as last seen by the report thread.
+     */
+    private long limit;
+
+    private WriteBehindSink(Sink sink, int bufferSize, Executor executor) {
+        this.sink = sink;
+        this.executor = executor;
+        this.capacity = Math.max(1, (bufferSize + BATCH_SIZE - 1) / BATCH_SIZE) * BATCH_SIZE;
+        this.events = new Event[capacity];
+        this.values = new Object[capacity];
+        this.numbers = new int[capacity];
+        this.attributes = new SinkEventAttributes[capacity];
+        this.limit = capacity;
+    }
+
+    /**
+     * Decorate a sink to write its events behind the report.
+     *
+     * @param sink the actual sink
+     * @param bufferSize the maximum count of buffered events, rounded up to a multiple of {@link #BATCH_SIZE}
+     * @param executor the executor running the writer tasks
+     * @return the write-behind sink, also a sink of the deprecated Doxia 1.0 API if the actual sink is one
+     */
+    static WriteBehindSink of(Sink sink, int bufferSize, Executor executor) {
+        return (sink instanceof org.codehaus.doxia.sink.Sink)
+                ? new DeprecatedWriteBehindSink(sink, bufferSize, executor)
+                : new WriteBehindSink(sink, bufferSize, executor);
+    }
+
+    /**
+     * Write every buffered event.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writer
+     */
+    void finish() throws InterruptedException {
+        drainInterruptibly();
+    }
+
+    /**
+     * Stop writing buffered events, after a failure of the report, and wait for a running writer to stop. Does
+     * nothing once finished.
+     */
+    void abort() {
+        aborted = true;
+        lock.lock();
+        try {
+            // the actual sink is released once the writer is stopped
+            while (writing) {
+                written.awaitUninterruptibly();
+            }
+            head = published;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(Event event) {
+        add(event, null, 0, null);
+    }
+
+    private void add(Event event, SinkEventAttributes eventAttributes) {
+        add(event, null, 0, eventAttributes);
+    }
+
+    private void add(Event event, Object value, int number, SinkEventAttributes eventAttributes) {
+        checkFailure();
+        SinkEventAttributes copy = copy(eventAttributes);
+        if (eventAttributes != null && copy == null) {
+            // synchronous event
+            drain();
+            event.replay(sink, value, number, eventAttributes);
+            return;
+        }
+
+        if (tail == limit) {
+            awaitSpace();
+        }
+        int slot = (int) (tail % capacity);
+        events[slot] = event;
+        values[slot] = value;
+        numbers[slot] = number;
+        attributes[slot] = copy;
+        tail++;
+        if (tail % BATCH_SIZE == 0) {
+            publish();
+        }
+    }
+
+    /**
+     * Hand the buffered events over to the writer, scheduling a writer task if none is running.
+     */
+    private void publish() {
+        lock.lock();
+        try {
+            published = tail;
+            if (!writing && !scheduled && !aborted) {
+                try {
+                    executor.execute(this::write);
+                    scheduled = true;
+                } catch (RejectedExecutionException e) {
+                    // events are written by the report thread when waiting for the writer
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the buffer has room for an event.
+     */
+    private void awaitSpace() {
+        lock.lock();
+        try {
+            published = tail;
+            while (tail - head >= capacity) {
+                awaitWriter();
+            }
+            limit = head + capacity;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing report output", e);
+        } finally {
+            lock.unlock();
+        }
+        checkFailure();
+    }
+
+    /**
+     * Wait until every buffered event is written.
+     */
+    private void drain() {
+        try {
+            drainInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing report output", e);
+        }
+    }
+
+    private void drainInterruptibly() throws InterruptedException {
+        lock.lock();
+        try {
+            published = tail;
+            while (head < published || writing) {
+                awaitWriter();
+            }
+            limit = head + capacity;
+        } finally {
+            lock.unlock();
+        }
+        checkFailure();
+    }
+
+    /**
+     * Wait for the running writer to write events, or write them on the calling thread if no writer is running.
+     * Called while holding the lock.
+     */
+    private void awaitWriter() throws InterruptedException {
+        if (writing) {
+            written.await();
+            return;
+        }
+        writing = true;
+        lock.unlock();
+        try {
+            writeAvailable();
+        } finally {
+            lock.lock();
+        }
+    }
+
+    /**
+     * Writer task.
+     */
+    private void write() {
+        lock.lock();
+        try {
+            scheduled = false;
+            if (writing) {
+                return;
+            }
+            writing = true;
+        } finally {
+            lock.unlock();
+        }
+        writeAvailable();
+    }
+
+    /**
+     * Write the published events until none is left, then stop writing. Called by the thread which started writing.
+     */
+    private void writeAvailable() {
+        long from;
+        long to;
+        lock.lock();
+        try {
+            from = head;
+            to = published;
+        } finally {
+            lock.unlock();
+        }
+        while (true) {
+            for (long i = from; i < to; i++) {
+                int slot = (int) (i % capacity);
+                if (failure == null && !aborted) {
+                    try {
+                        events[slot].replay(sink, values[slot], numbers[slot], attributes[slot]);
+                    } catch (RuntimeException | Error e) {
+                        failure = e;
+                    }
+                }
+                values[slot] = null;
+                attributes[slot] = null;
+            }
+
+            lock.lock();
+            try {
+                head = aborted ? published : to;
+                written.signalAll();
+                if (head == published) {
+                    writing = false;
+                    return;
+                }
+                from = head;
+                to = published;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void checkFailure() {
+        Throwable e = failure;
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+    }
+
+    /**
+     * @return a copy of the attributes, or <code>null</code> if they are <code>null</code> or can't be copied
+     */
+    private static SinkEventAttributes copy(SinkEventAttributes eventAttributes) {
+        if (eventAttributes == null) {
+            return null;
+        }
+        AttributeSet copy = eventAttributes.copyAttributes();
+        return (copy instanceof SinkEventAttributes) ? (SinkEventAttributes) copy : null;
+    }
+
+    @Override
+    public void head() {
+        add(Event.HEAD);
+    }
+
+    @Override
+    public void head(SinkEventAttributes attributes) {
+        add(Event.HEAD_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void head_() {
+        add(Event.HEAD_END);
+    }
+
+    @Override
+    public void title() {
+        add(Event.TITLE);
+    }
+
+    @Override
+    public void title(SinkEventAttributes attributes) {
+        add(Event.TITLE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void title_() {
+        add(Event.TITLE_END);
+    }
+
+    @Override
+    public void author() {
+        add(Event.AUTHOR);
+    }
+
+    @Override
+    public void author(SinkEventAttributes attributes) {
+        add(Event.AUTHOR_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void author_() {
+        add(Event.AUTHOR_END);
+    }
+
+    @Override
+    public void date() {
+        add(Event.DATE);
+    }
+
+    @Override
+    public void date(SinkEventAttributes attributes) {
+        add(Event.DATE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void date_() {
+        add(Event.DATE_END);
+    }
+
+    @Override
+    public void body() {
+        add(Event.BODY);
+    }
+
+    @Override
+    public void body(SinkEventAttributes attributes) {
+        add(Event.BODY_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void body_() {
+        add(Event.BODY_END);
+    }
+
+    @Override
+    public void article() {
+        add(Event.ARTICLE);
+    }
+
+    @Override
+    public void article(SinkEventAttributes attributes) {
+        add(Event.ARTICLE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void article_() {
+        add(Event.ARTICLE_END);
+    }
+
+    @Override
+    public void navigation() {
+        add(Event.NAVIGATION);
+    }
+
+    @Override
+    public void navigation(SinkEventAttributes attributes) {
+        add(Event.NAVIGATION_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void navigation_() {
+        add(Event.NAVIGATION_END);
+    }
+
+    @Override
+    public void sidebar() {
+        add(Event.SIDEBAR);
+    }
+
+    @Override
+    public void sidebar(SinkEventAttributes attributes) {
+        add(Event.SIDEBAR_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void sidebar_() {
+        add(Event.SIDEBAR_END);
+    }
+
+    @Override
+    public void sectionTitle() {
+        add(Event.SECTION_TITLE);
+    }
+
+    @Override
+    public void sectionTitle_() {
+        add(Event.SECTION_TITLE_END);
+    }
+
+    @Override
+    public void section1() {
+        add(Event.SECTION1);
+    }
+
+    @Override
+    public void section1_() {
+        add(Event.SECTION1_END);
+    }
+
+    @Override
+    public void sectionTitle1() {
+        add(Event.SECTION_TITLE1);
+    }
+
+    @Override
+    public void sectionTitle1_() {
+        add(Event.SECTION_TITLE1_END);
+    }
+
+    @Override
+    public void section2() {
+        add(Event.SECTION2);
+    }
+
+    @Override
+    public void section2_() {
+        add(Event.SECTION2_END);
+    }
+
+    @Override
+    public void sectionTitle2() {
+        add(Event.SECTION_TITLE2);
+    }
+
+    @Override
+    public void sectionTitle2_() {
+        add(Event.SECTION_TITLE2_END);
+    }
+
+    @Override
+    public void section3() {
+        add(Event.SECTION3);
+    }
+
+    @Override
+    public void section3_() {
+        add(Event.SECTION3_END);
+    }
+
+    @Override
+    public void sectionTitle3() {
+        add(Event.SECTION_TITLE3);
+    }
+
+    @Override
+    public void sectionTitle3_() {
+        add(Event.SECTION_TITLE3_END);
+    }
+
+    @Override
+    public void section4() {
+        add(Event.SECTION4);
+    }
+
+    @Override
+    public void section4_() {
+        add(Event.SECTION4_END);
+    }
+
+    @Override
+    public void sectionTitle4() {
+        add(Event.SECTION_TITLE4);
+    }
+
+    @Override
+    public void sectionTitle4_() {
+        add(Event.SECTION_TITLE4_END);
+    }
+
+    @Override
+    public void section5() {
+        add(Event.SECTION5);
+    }
+
+    @Override
+    public void section5_() {
+        add(Event.SECTION5_END);
+    }
+
+    @Override
+    public void sectionTitle5() {
+        add(Event.SECTION_TITLE5);
+    }
+
+    @Override
+    public void sectionTitle5_() {
+        add(Event.SECTION_TITLE5_END);
+    }
+
+    @Override
+    public void section6() {
+        add(Event.SECTION6);
+    }
+
+    @Override
+    public void section6_() {
+        add(Event.SECTION6_END);
+    }
+
+    @Override
+    public void sectionTitle6() {
+        add(Event.SECTION_TITLE6);
+    }
+
+    @Override
+    public void sectionTitle6_() {
+        add(Event.SECTION_TITLE6_END);
+    }
+
+    @Override
+    public void section(int level, SinkEventAttributes attributes) {
+        add(Event.SECTION, null, level, attributes);
+    }
+
+    @Override
+    public void section_(int level) {
+        add(Event.SECTION_END, null, level, null);
+    }
+
+    @Override
+    public void sectionTitle(int level, SinkEventAttributes attributes) {
+        add(Event.SECTION_TITLE_ATTRIBUTES, null, level, attributes);
+    }
+
+    @Override
+    public void sectionTitle_(int level) {
+        add(Event.SECTION_TITLE_LEVEL_END, null, level, null);
+    }
+
+    @Override
+    public void header() {
+        add(Event.HEADER);
+    }
+
+    @Override
+    public void header(SinkEventAttributes attributes) {
+        add(Event.HEADER_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void header_() {
+        add(Event.HEADER_END);
+    }
+
+    @Override
+    public void content() {
+        add(Event.CONTENT);
+    }
+
+    @Override
+    public void content(SinkEventAttributes attributes) {
+        add(Event.CONTENT_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void content_() {
+        add(Event.CONTENT_END);
+    }
+
+    @Override
+    public void footer() {
+        add(Event.FOOTER);
+    }
+
+    @Override
+    public void footer(SinkEventAttributes attributes) {
+        add(Event.FOOTER_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void footer_() {
+        add(Event.FOOTER_END);
+    }
+
+    @Override
+    public void list() {
+        add(Event.LIST);
+    }
+
+    @Override
+    public void list(SinkEventAttributes attributes) {
+        add(Event.LIST_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void list_() {
+        add(Event.LIST_END);
+    }
+
+    @Override
+    public void listItem() {
+        add(Event.LIST_ITEM);
+    }
+
+    @Override
+    public void listItem(SinkEventAttributes attributes) {
+        add(Event.LIST_ITEM_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void listItem_() {
+        add(Event.LIST_ITEM_END);
+    }
+
+    @Override
+    public void numberedList(int numbering) {
+        add(Event.NUMBERED_LIST, null, numbering, null);
+    }
+
+    @Override
+    public void numberedList(int numbering, SinkEventAttributes attributes) {
+        add(Event.NUMBERED_LIST_ATTRIBUTES, null, numbering, attributes);
+    }
+
+    @Override
+    public void numberedList_() {
+        add(Event.NUMBERED_LIST_END);
+    }
+
+    @Override
+    public void numberedListItem() {
+        add(Event.NUMBERED_LIST_ITEM);
+    }
+
+    @Override
+    public void numberedListItem(SinkEventAttributes attributes) {
+        add(Event.NUMBERED_LIST_ITEM_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void numberedListItem_() {
+        add(Event.NUMBERED_LIST_ITEM_END);
+    }
+
+    @Override
+    public void definitionList() {
+        add(Event.DEFINITION_LIST);
+    }
+
+    @Override
+    public void definitionList(SinkEventAttributes attributes) {
+        add(Event.DEFINITION_LIST_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void definitionList_() {
+        add(Event.DEFINITION_LIST_END);
+    }
+
+    @Override
+    public void definitionListItem() {
+        add(Event.DEFINITION_LIST_ITEM);
+    }
+
+    @Override
+    public void definitionListItem(SinkEventAttributes attributes) {
+        add(Event.DEFINITION_LIST_ITEM_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void definitionListItem_() {
+        add(Event.DEFINITION_LIST_ITEM_END);
+    }
+
+    @Override
+    public void definition() {
+        add(Event.DEFINITION);
+    }
+
+    @Override
+    public void definition(SinkEventAttributes attributes) {
+        add(Event.DEFINITION_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void definition_() {
+        add(Event.DEFINITION_END);
+    }
+
+    @Override
+    public void definedTerm() {
+        add(Event.DEFINED_TERM);
+    }
+
+    @Override
+    public void definedTerm(SinkEventAttributes attributes) {
+        add(Event.DEFINED_TERM_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void definedTerm_() {
+        add(Event.DEFINED_TERM_END);
+    }
+
+    @Override
+    public void figure() {
+        add(Event.FIGURE);
+    }
+
+    @Override
+    public void figure(SinkEventAttributes attributes) {
+        add(Event.FIGURE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void figure_() {
+        add(Event.FIGURE_END);
+    }
+
+    @Override
+    public void figureCaption() {
+        add(Event.FIGURE_CAPTION);
+    }
+
+    @Override
+    public void figureCaption(SinkEventAttributes attributes) {
+        add(Event.FIGURE_CAPTION_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void figureCaption_() {
+        add(Event.FIGURE_CAPTION_END);
+    }
+
+    @Override
+    public void figureGraphics(String src) {
+        add(Event.FIGURE_GRAPHICS, src, 0, null);
+    }
+
+    @Override
+    public void figureGraphics(String src, SinkEventAttributes attributes) {
+        add(Event.FIGURE_GRAPHICS_ATTRIBUTES, src, 0, attributes);
+    }
+
+    @Override
+    public void table() {
+        add(Event.TABLE);
+    }
+
+    @Override
+    public void table(SinkEventAttributes attributes) {
+        add(Event.TABLE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void table_() {
+        add(Event.TABLE_END);
+    }
+
+    @Override
+    public void tableRows() {
+        add(Event.TABLE_ROWS);
+    }
+
+    @Override
+    public void tableRows(int[] justification, boolean grid) {
+        add(Event.TABLE_ROWS_JUSTIFIED, (justification == null) ? null : justification.clone(), grid ? 1 : 0, null);
+    }
+
+    @Override
+    public void tableRows_() {
+        add(Event.TABLE_ROWS_END);
+    }
+
+    @Override
+    public void tableRow() {
+        add(Event.TABLE_ROW);
+    }
+
+    @Override
+    public void tableRow(SinkEventAttributes attributes) {
+        add(Event.TABLE_ROW_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void tableRow_() {
+        add(Event.TABLE_ROW_END);
+    }
+
+    @Override
+    public void tableCell() {
+        add(Event.TABLE_CELL);
+    }
+
+    @Override
+    public void tableCell(SinkEventAttributes attributes) {
+        add(Event.TABLE_CELL_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void tableCell_() {
+        add(Event.TABLE_CELL_END);
+    }
+
+    @Override
+    public void tableHeaderCell() {
+        add(Event.TABLE_HEADER_CELL);
+    }
+
+    @Override
+    public void tableHeaderCell(SinkEventAttributes attributes) {
+        add(Event.TABLE_HEADER_CELL_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void tableHeaderCell_() {
+        add(Event.TABLE_HEADER_CELL_END);
+    }
+
+    @Override
+    public void tableCaption() {
+        add(Event.TABLE_CAPTION);
+    }
+
+    @Override
+    public void tableCaption(SinkEventAttributes attributes) {
+        add(Event.TABLE_CAPTION_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void tableCaption_() {
+        add(Event.TABLE_CAPTION_END);
+    }
+
+    @Override
+    public void paragraph() {
+        add(Event.PARAGRAPH);
+    }
+
+    @Override
+    public void paragraph(SinkEventAttributes attributes) {
+        add(Event.PARAGRAPH_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void paragraph_() {
+        add(Event.PARAGRAPH_END);
+    }
+
+    @Override
+    public void data(String value) {
+        add(Event.DATA, value, 0, null);
+    }
+
+    @Override
+    public void data(String value, SinkEventAttributes attributes) {
+        add(Event.DATA_ATTRIBUTES, value, 0, attributes);
+    }
+
+    @Override
+    public void data_() {
+        add(Event.DATA_END);
+    }
+
+    @Override
+    public void time(String datetime) {
+        add(Event.TIME, datetime, 0, null);
+    }
+
+    @Override
+    public void time(String datetime, SinkEventAttributes attributes) {
+        add(Event.TIME_ATTRIBUTES, datetime, 0, attributes);
+    }
+
+    @Override
+    public void time_() {
+        add(Event.TIME_END);
+    }
+
+    @Override
+    public void address() {
+        add(Event.ADDRESS);
+    }
+
+    @Override
+    public void address(SinkEventAttributes attributes) {
+        add(Event.ADDRESS_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void address_() {
+        add(Event.ADDRESS_END);
+    }
+
+    @Override
+    public void blockquote() {
+        add(Event.BLOCKQUOTE);
+    }
+
+    @Override
+    public void blockquote(SinkEventAttributes attributes) {
+        add(Event.BLOCKQUOTE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void blockquote_() {
+        add(Event.BLOCKQUOTE_END);
+    }
+
+    @Override
+    public void division() {
+        add(Event.DIVISION);
+    }
+
+    @Override
+    public void division(SinkEventAttributes attributes) {
+        add(Event.DIVISION_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void division_() {
+        add(Event.DIVISION_END);
+    }
+
+    @Override
+    public void verbatim() {
+        add(Event.VERBATIM);
+    }
+
+    @Override
+    public void verbatim(SinkEventAttributes attributes) {
+        add(Event.VERBATIM_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void verbatim_() {
+        add(Event.VERBATIM_END);
+    }
+
+    @Override
+    public void horizontalRule() {
+        add(Event.HORIZONTAL_RULE);
+    }
+
+    @Override
+    public void horizontalRule(SinkEventAttributes attributes) {
+        add(Event.HORIZONTAL_RULE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void pageBreak() {
+        add(Event.PAGE_BREAK);
+    }
+
+    @Override
+    public void anchor(String name) {
+        add(Event.ANCHOR, name, 0, null);
+    }
+
+    @Override
+    public void anchor(String name, SinkEventAttributes attributes) {
+        add(Event.ANCHOR_ATTRIBUTES, name, 0, attributes);
+    }
+
+    @Override
+    public void anchor_() {
+        add(Event.ANCHOR_END);
+    }
+
+    @Override
+    public void link(String name) {
+        add(Event.LINK, name, 0, null);
+    }
+
+    @Override
+    public void link(String name, SinkEventAttributes attributes) {
+        add(Event.LINK_ATTRIBUTES, name, 0, attributes);
+    }
+
+    @Override
+    public void link_() {
+        add(Event.LINK_END);
+    }
+
+    @Override
+    public void inline() {
+        add(Event.INLINE);
+    }
+
+    @Override
+    public void inline(SinkEventAttributes attributes) {
+        add(Event.INLINE_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void inline_() {
+        add(Event.INLINE_END);
+    }
+
+    @Override
+    public void italic() {
+        add(Event.ITALIC);
+    }
+
+    @Override
+    public void italic_() {
+        add(Event.ITALIC_END);
+    }
+
+    @Override
+    public void bold() {
+        add(Event.BOLD);
+    }
+
+    @Override
+    public void bold_() {
+        add(Event.BOLD_END);
+    }
+
+    @Override
+    public void monospaced() {
+        add(Event.MONOSPACED);
+    }
+
+    @Override
+    public void monospaced_() {
+        add(Event.MONOSPACED_END);
+    }
+
+    @Override
+    public void lineBreak() {
+        add(Event.LINE_BREAK);
+    }
+
+    @Override
+    public void lineBreak(SinkEventAttributes attributes) {
+        add(Event.LINE_BREAK_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void lineBreakOpportunity() {
+        add(Event.LINE_BREAK_OPPORTUNITY);
+    }
+
+    @Override
+    public void lineBreakOpportunity(SinkEventAttributes attributes) {
+        add(Event.LINE_BREAK_OPPORTUNITY_ATTRIBUTES, attributes);
+    }
+
+    @Override
+    public void nonBreakingSpace() {
+        add(Event.NON_BREAKING_SPACE);
+    }
+
+    @Override
+    public void text(String text) {
+        add(Event.TEXT, text, 0, null);
+    }
+
+    @Override
+    public void text(String text, SinkEventAttributes attributes) {
+        add(Event.TEXT_ATTRIBUTES, text, 0, attributes);
+    }
+
+    @Override
+    public void rawText(String text) {
+        add(Event.RAW_TEXT, text, 0, null);
+    }
+
+    @Override
+    public void comment(String comment) {
+        add(Event.COMMENT, comment, 0, null);
+    }
+
+    @Override
+    public void markupLineBreak(int indentLevel) {
+        add(Event.MARKUP_LINE_BREAK, null, indentLevel, null);
+    }
+
+    @Override
+    public void flush() {
+        add(Event.FLUSH);
+    }
+
+    @Override
+    public void unknown(String name, Object[] requiredParams, SinkEventAttributes attributes) {
+        // arbitrary parameters can't be copied
+        drain();
+        sink.unknown(name, requiredParams, attributes);
+    }
+
+    @Override
+    public void close() {
+        drain();
+        sink.close();
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        drain();
+        sink.setDocumentLocator(locator);
+    }
+
+    @Override
+    public Locator getDocumentLocator() {
+        drain();
+        return sink.getDocumentLocator();
+    }
+
+    @Override
+    public String toString() {
+        return "write-behind " + sink;
+    }
+
+    /**
+     * Codes of the buffered events, replaying an event with its arguments: a value, a number and attributes.
+     */
+    private enum Event {
+        HEAD((s, v, n, a) -> s.head()),
+        HEAD_ATTRIBUTES((s, v, n, a) -> s.head(a)),
+        HEAD_END((s, v, n, a) -> s.head_()),
+        TITLE((s, v, n, a) -> s.title()),
+        TITLE_ATTRIBUTES((s, v, n, a) -> s.title(a)),
+        TITLE_END((s, v, n, a) -> s.title_()),
+        AUTHOR((s, v, n, a) -> s.author()),
+        AUTHOR_ATTRIBUTES((s, v, n, a) -> s.author(a)),
+        AUTHOR_END((s, v, n, a) -> s.author_()),
+        DATE((s, v, n, a) -> s.date()),
+        DATE_ATTRIBUTES((s, v, n, a) -> s.date(a)),
+        DATE_END((s, v, n, a) -> s.date_()),
+        BODY((s, v, n, a) -> s.body()),
+        BODY_ATTRIBUTES((s, v, n, a) -> s.body(a)),
+        BODY_END((s, v, n, a) -> s.body_()),
+        ARTICLE((s, v, n, a) -> s.article()),
+        ARTICLE_ATTRIBUTES((s, v, n, a) -> s.article(a)),
+        ARTICLE_END((s, v, n, a) -> s.article_()),
+        NAVIGATION((s, v, n, a) -> s.navigation()),
+        NAVIGATION_ATTRIBUTES((s, v, n, a) -> s.navigation(a)),
+        NAVIGATION_END((s, v, n, a) -> s.navigation_()),
+        SIDEBAR((s, v, n, a) -> s.sidebar()),
+        SIDEBAR_ATTRIBUTES((s, v, n, a) -> s.sidebar(a)),
+        SIDEBAR_END((s, v, n, a) -> s.sidebar_()),
+        SECTION_TITLE((s, v, n, a) -> s.sectionTitle()),
+        SECTION_TITLE_END((s, v, n, a) -> s.sectionTitle_()),
+        SECTION1((s, v, n, a) -> s.section1()),
+        SECTION1_END((s, v, n, a) -> s.section1_()),
+        SECTION_TITLE1((s, v, n, a) -> s.sectionTitle1()),
+        SECTION_TITLE1_END((s, v, n, a) -> s.sectionTitle1_()),
+        SECTION2((s, v, n, a) -> s.section2()),
+        SECTION2_END((s, v, n, a) -> s.section2_()),
+        SECTION_TITLE2((s, v, n, a) -> s.sectionTitle2()),
+        SECTION_TITLE2_END((s, v, n, a) -> s.sectionTitle2_()),
+        SECTION3((s, v, n, a) -> s.section3()),
+        SECTION3_END((s, v, n, a) -> s.section3_()),
+        SECTION_TITLE3((s, v, n, a) -> s.sectionTitle3()),
+        SECTION_TITLE3_END((s, v, n, a) -> s.sectionTitle3_()),
+        SECTION4((s, v, n, a) -> s.section4()),
+        SECTION4_END((s, v, n, a) -> s.section4_()),
+        SECTION_TITLE4((s, v, n, a) -> s.sectionTitle4()),
+        SECTION_TITLE4_END((s, v, n, a) -> s.sectionTitle4_()),
+        SECTION5((s, v, n, a) -> s.section5()),
+        SECTION5_END((s, v, n, a) -> s.section5_()),
+        SECTION_TITLE5((s, v, n, a) -> s.sectionTitle5()),
+        SECTION_TITLE5_END((s, v, n, a) -> s.sectionTitle5_()),
+        SECTION6((s, v, n, a) -> s.section6()),
+        SECTION6_END((s, v, n, a) -> s.section6_()),
+        SECTION_TITLE6((s, v, n, a) -> s.sectionTitle6()),
+        SECTION_TITLE6_END((s, v, n, a) -> s.sectionTitle6_()),
+        SECTION((s, v, n, a) -> s.section(n, a)),
+        SECTION_END((s, v, n, a) -> s.section_(n)),
+        SECTION_TITLE_ATTRIBUTES((s, v, n, a) -> s.sectionTitle(n, a)),
+        SECTION_TITLE_LEVEL_END((s, v, n, a) -> s.sectionTitle_(n)),
+        HEADER((s, v, n, a) -> s.header()),
+        HEADER_ATTRIBUTES((s, v, n, a) -> s.header(a)),
+        HEADER_END((s, v, n, a) -> s.header_()),
+        CONTENT((s, v, n, a) -> s.content()),
+        CONTENT_ATTRIBUTES((s, v, n, a) -> s.content(a)),
+        CONTENT_END((s, v, n, a) -> s.content_()),
+        FOOTER((s, v, n, a) -> s.footer()),
+        FOOTER_ATTRIBUTES((s, v, n, a) -> s.footer(a)),
+        FOOTER_END((s, v, n, a) -> s.footer_()),
+        LIST((s, v, n, a) -> s.list()),
+        LIST_ATTRIBUTES((s, v, n, a) -> s.list(a)),
+        LIST_END((s, v, n, a) -> s.list_()),
+        LIST_ITEM((s, v, n, a) -> s.listItem()),
+        LIST_ITEM_ATTRIBUTES((s, v, n, a) -> s.listItem(a)),
+        LIST_ITEM_END((s, v, n, a) -> s.listItem_()),
+        NUMBERED_LIST((s, v, n, a) -> s.numberedList(n)),
+        NUMBERED_LIST_ATTRIBUTES((s, v, n, a) -> s.numberedList(n, a)),
+        NUMBERED_LIST_END((s, v, n, a) -> s.numberedList_()),
+        NUMBERED_LIST_ITEM((s, v, n, a) -> s.numberedListItem()),
+        NUMBERED_LIST_ITEM_ATTRIBUTES((s, v, n, a) -> s.numberedListItem(a)),
+        NUMBERED_LIST_ITEM_END((s, v, n, a) -> s.numberedListItem_()),
+        DEFINITION_LIST((s, v, n, a) -> s.definitionList()),
+        DEFINITION_LIST_ATTRIBUTES((s, v, n, a) -> s.definitionList(a)),
+        DEFINITION_LIST_END((s, v, n, a) -> s.definitionList_()),
+        DEFINITION_LIST_ITEM((s, v, n, a) -> s.definitionListItem()),
+        DEFINITION_LIST_ITEM_ATTRIBUTES((s, v, n, a) -> s.definitionListItem(a)),
+        DEFINITION_LIST_ITEM_END((s, v, n, a) -> s.definitionListItem_()),
+        DEFINITION((s, v, n, a) -> s.definition()),
+        DEFINITION_ATTRIBUTES((s, v, n, a) -> s.definition(a)),
+        DEFINITION_END((s, v, n, a) -> s.definition_()),
+        DEFINED_TERM((s, v, n, a) -> s.definedTerm()),
+        DEFINED_TERM_ATTRIBUTES((s, v, n, a) -> s.definedTerm(a)),
+        DEFINED_TERM_END((s, v, n, a) -> s.definedTerm_()),
+        FIGURE((s, v, n, a) -> s.figure()),
+        FIGURE_ATTRIBUTES((s, v, n, a) -> s.figure(a)),
+        FIGURE_END((s, v, n, a) -> s.figure_()),
+        FIGURE_CAPTION((s, v, n, a) -> s.figureCaption()),
+        FIGURE_CAPTION_ATTRIBUTES((s, v, n, a) -> s.figureCaption(a)),
+        FIGURE_CAPTION_END((s, v, n, a) -> s.figureCaption_()),
+        FIGURE_GRAPHICS((s, v, n, a) -> s.figureGraphics((String) v)),
+        FIGURE_GRAPHICS_ATTRIBUTES((s, v, n, a) -> s.figureGraphics((String) v, a)),
+        TABLE((s, v, n, a) -> s.table()),
+        TABLE_ATTRIBUTES((s, v, n, a) -> s.table(a)),
+        TABLE_END((s, v, n, a) -> s.table_()),
+        TABLE_ROWS((s, v, n, a) -> s.tableRows()),
+        TABLE_ROWS_JUSTIFIED((s, v, n, a) -> s.tableRows((int[]) v, n != 0)),
+        TABLE_ROWS_END((s, v, n, a) -> s.tableRows_()),
+        TABLE_ROW((s, v, n, a) -> s.tableRow()),
+        TABLE_ROW_ATTRIBUTES((s, v, n, a) -> s.tableRow(a)),
+        TABLE_ROW_END((s, v, n, a) -> s.tableRow_()),
+        TABLE_CELL((s, v, n, a) -> s.tableCell()),
+        TABLE_CELL_ATTRIBUTES((s, v, n, a) -> s.tableCell(a)),
+        TABLE_CELL_END((s, v, n, a) -> s.tableCell_()),
+        TABLE_HEADER_CELL((s, v, n, a) -> s.tableHeaderCell()),
+        TABLE_HEADER_CELL_ATTRIBUTES((s, v, n, a) -> s.tableHeaderCell(a)),
+        TABLE_HEADER_CELL_END((s, v, n, a) -> s.tableHeaderCell_()),
+        TABLE_CAPTION((s, v, n, a) -> s.tableCaption()),
+        TABLE_CAPTION_ATTRIBUTES((s, v, n, a) -> s.tableCaption(a)),
+        TABLE_CAPTION_END((s, v, n, a) -> s.tableCaption_()),
+        PARAGRAPH((s, v, n, a) -> s.paragraph()),
+        PARAGRAPH_ATTRIBUTES((s, v, n, a) -> s.paragraph(a)),
+        PARAGRAPH_END((s, v, n, a) -> s.paragraph_()),
+        DATA((s, v, n, a) -> s.data((String) v)),
+        DATA_ATTRIBUTES((s, v, n, a) -> s.data((String) v, a)),
+        DATA_END((s, v, n, a) -> s.data_()),
+        TIME((s, v, n, a) -> s.time((String) v)),
+        TIME_ATTRIBUTES((s, v, n, a) -> s.time((String) v, a)),
+        TIME_END((s, v, n, a) -> s.time_()),
+        ADDRESS((s, v, n, a) -> s.address()),
+        ADDRESS_ATTRIBUTES((s, v, n, a) -> s.address(a)),
+        ADDRESS_END((s, v, n, a) -> s.address_()),
+        BLOCKQUOTE((s, v, n, a) -> s.blockquote()),
+        BLOCKQUOTE_ATTRIBUTES((s, v, n, a) -> s.blockquote(a)),
+        BLOCKQUOTE_END((s, v, n, a) -> s.blockquote_()),
+        DIVISION((s, v, n, a) -> s.division()),
+        DIVISION_ATTRIBUTES((s, v, n, a) -> s.division(a)),
+        DIVISION_END((s, v, n, a) -> s.division_()),
+        VERBATIM((s, v, n, a) -> s.verbatim()),
+        VERBATIM_ATTRIBUTES((s, v, n, a) -> s.verbatim(a)),
+        VERBATIM_END((s, v, n, a) -> s.verbatim_()),
+        HORIZONTAL_RULE((s, v, n, a) -> s.horizontalRule()),
+        HORIZONTAL_RULE_ATTRIBUTES((s, v, n, a) -> s.horizontalRule(a)),
+        PAGE_BREAK((s, v, n, a) -> s.pageBreak()),
+        ANCHOR((s, v, n, a) -> s.anchor((String) v)),
+        ANCHOR_ATTRIBUTES((s, v, n, a) -> s.anchor((String) v, a)),
+        ANCHOR_END((s, v, n, a) -> s.anchor_()),
+        LINK((s, v, n, a) -> s.link((String) v)),
+        LINK_ATTRIBUTES((s, v, n, a) -> s.link((String) v, a)),
+        LINK_END((s, v, n, a) -> s.link_()),
+        INLINE((s, v, n, a) -> s.inline()),
+        INLINE_ATTRIBUTES((s, v, n, a) -> s.inline(a)),
+        INLINE_END((s, v, n, a) -> s.inline_()),
+        ITALIC((s, v, n, a) -> s.italic()),
+        ITALIC_END((s, v, n, a) -> s.italic_()),
+        BOLD((s, v, n, a) -> s.bold()),
+        BOLD_END((s, v, n, a) -> s.bold_()),
+        MONOSPACED((s, v, n, a) -> s.monospaced()),
+        MONOSPACED_END((s, v, n, a) -> s.monospaced_()),
+        LINE_BREAK((s, v, n, a) -> s.lineBreak()),
+        LINE_BREAK_ATTRIBUTES((s, v, n, a) -> s.lineBreak(a)),
+        LINE_BREAK_OPPORTUNITY((s, v, n, a) -> s.lineBreakOpportunity()),
+        LINE_BREAK_OPPORTUNITY_ATTRIBUTES((s, v, n, a) -> s.lineBreakOpportunity(a)),
+        NON_BREAKING_SPACE((s, v, n, a) -> s.nonBreakingSpace()),
+        TEXT((s, v, n, a) -> s.text((String) v)),
+        TEXT_ATTRIBUTES((s, v, n, a) -> s.text((String) v, a)),
+        RAW_TEXT((s, v, n, a) -> s.rawText((String) v)),
+        COMMENT((s, v, n, a) -> s.comment((String) v)),
+        MARKUP_LINE_BREAK((s, v, n, a) -> s.markupLineBreak(n)),
+        FLUSH((s, v, n, a) -> s.flush());
+
+        private final Replay replay;
+
+        Event(Replay replay) {
+            this.replay = replay;
+        }
+
+        void replay(Sink sink, Object value, int number, SinkEventAttributes attributes) {
+            replay.replay(sink, value, number, attributes);
+        }
+    }
+
+    /**
+     * Write-behind sink of a sink of the deprecated Doxia 1.0 API, for reports expecting one.
+     */
+    @SuppressWarnings("deprecation")
+    private static final class DeprecatedWriteBehindSink extends WriteBehindSink
+            implements org.codehaus.doxia.sink.Sink {
+        DeprecatedWriteBehindSink(Sink sink, int bufferSize, Executor executor) {
+            super(sink, bufferSize, executor);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Replay {
+        void replay(Sink sink, Object value, int number, SinkEventAttributes attributes);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.net.MalformedURLException;
+import java.util.Collections;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.classworlds.realm.DuplicateRealmException;
+import org.codehaus.plexus.configuration.xml.XmlPlexusConfiguration;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+
+/**
+ * Projects, sessions and report executors backed by in-memory Maven components, shared by the benchmarks and
+ * allocation tests.
+ */
+final class InMemoryFixtures {
+    static final String GROUP_ID = "org.apache.maven.reporting.exec.inmemory";
+
+    private InMemoryFixtures() {}
+
+    /**
+     * Create a plugin realm. A cold realm loads its own copy of {@link InMemoryReport}, like a freshly created plugin
+     * realm, while a warm realm delegates to the test classloader, where it is already loaded.
+     */
+    static ClassRealm newRealm(boolean cold) throws DuplicateRealmException, MalformedURLException {
+        ClassWorld world = new ClassWorld();
+        ClassRealm realm = world.newRealm("in-memory", InMemoryFixtures.class.getClassLoader());
+        if (cold) {
+            realm.addURL(InMemoryReport.class
+                    .getProtectionDomain()
+                    .getCodeSource()
+                    .getLocation());
+        }
+        return realm;
+    }
+
+    static DefaultMavenReportExecutor newExecutor(ClassRealm realm) {
+        InMemoryMavenPluginManager mavenPluginManager = new InMemoryMavenPluginManager(realm);
+        return new DefaultMavenReportExecutor(
+                mavenPluginManager,
+                new DefaultMavenPluginManagerHelper(mavenPluginManager),
+                new InMemoryLifecycleExecutor(),
+                new InMemoryPluginVersionResolver());
+    }
+
+    static String getArtifactId(int index) {
+        return "report" + index + "-maven-plugin";
+    }
+
+    /**
+     * Create report plugins: odd ones declare their reports in report sets, even ones let reports be detected and
+     * have their version resolved.
+     */
+    static ReportPlugin[] newReportPlugins(int count) {
+        ReportPlugin[] reportPlugins = new ReportPlugin[count];
+        for (int i = 0; i < count; i++) {
+            ReportPlugin reportPlugin = new ReportPlugin();
+            reportPlugin.setGroupId(GROUP_ID);
+            reportPlugin.setArtifactId(getArtifactId(i));
+            reportPlugin.setConfiguration(
+                    new XmlPlexusConfiguration(newConfiguration(InMemoryMavenPluginManager.PARAMETERS / 2, 2, 1)));
+            if (i % 2 == 1) {
+                reportPlugin.setVersion(InMemoryPluginVersionResolver.VERSION);
+                ReportSet reportSet = new ReportSet();
+                reportSet.setId("reports");
+                reportSet.getReports().add("report");
+                reportSet.getReports().add("test-report");
+                reportSet.setConfiguration(
+                        new XmlPlexusConfiguration(newConfiguration(InMemoryMavenPluginManager.PARAMETERS, 2, 1)));
+                reportPlugin.getReportSets().add(reportSet);
+            }
+            reportPlugins[i] = reportPlugin;
+        }
+        return reportPlugins;
+    }
+
+    /**
+     * Create a project whose build plugins and plugin management declare <code>managedPlugins</code> plugins, report
+     * plugins being the last ones, so that looking them up scans the whole lists.
+     */
+    static MavenProject newProject(int reportPlugins, int managedPlugins) {
+        Model model = new Model();
+        model.setGroupId(GROUP_ID);
+        model.setArtifactId("project");
+        model.setVersion("1.0-SNAPSHOT");
+        model.setPackaging("jar");
+
+        Build build = new Build();
+        build.setPluginManagement(new PluginManagement());
+        for (int i = managedPlugins - 1; i >= 0; i--) {
+            Plugin plugin = new Plugin();
+            plugin.setGroupId(GROUP_ID);
+            plugin.setArtifactId(getArtifactId(i < reportPlugins ? i : i + reportPlugins));
+            plugin.setVersion(InMemoryPluginVersionResolver.VERSION);
+            plugin.setConfiguration(newConfiguration(InMemoryMavenPluginManager.PARAMETERS, 2, 1));
+            build.addPlugin(plugin);
+            build.getPluginManagement().addPlugin(plugin.clone());
+        }
+        model.setBuild(build);
+
+        MavenProject project = new MavenProject(model);
+        project.setExecutionRoot(true);
+        return project;
+    }
+
+    static MavenSession newSession(MavenProject project) {
+        @SuppressWarnings("deprecation")
+        MavenSession session = new MavenSession(
+                null,
+                new DefaultRepositorySystemSession(),
+                new DefaultMavenExecutionRequest(),
+                new DefaultMavenExecutionResult());
+        session.setCurrentProject(project);
+        session.setProjects(Collections.singletonList(project));
+        return session;
+    }
+
+    static MavenReportExecutorRequest newRequest(MavenProject project, ReportPlugin[] reportPlugins) {
+        MavenReportExecutorRequest request = new MavenReportExecutorRequest();
+        request.setProject(project);
+        request.setMavenSession(newSession(project));
+        request.setReportPlugins(reportPlugins);
+        return request;
+    }
+
+    /**
+     * Create a configuration of <code>parameters</code> parameters, each one with <code>items</code> children
+     * nested <code>depth</code> levels deep.
+     */
+    static Xpp3Dom newConfiguration(int parameters, int items, int depth) {
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        for (int i = 0; i < parameters; i++) {
+            Xpp3Dom parameter = new Xpp3Dom("parameter" + i);
+            addItems(parameter, items, depth);
+            configuration.addChild(parameter);
+        }
+        return configuration;
+    }
+
+    private static void addItems(Xpp3Dom parent, int items, int depth) {
+        if (depth == 0) {
+            parent.setValue("value");
+            return;
+        }
+        for (int i = 0; i < items; i++) {
+            Xpp3Dom item = new Xpp3Dom("item");
+            item.setAttribute("id", Integer.toString(i));
+            addItems(item, items, depth - 1);
+            parent.addChild(item);
+        }
+    }
+}
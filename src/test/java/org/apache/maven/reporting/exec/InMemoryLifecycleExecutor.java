@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifecycleExecutor;
+import org.apache.maven.lifecycle.MavenExecutionPlan;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * In-memory {@link LifecycleExecutor}: report goals never fork.
+ */
+class InMemoryLifecycleExecutor implements LifecycleExecutor {
+    @Override
+    public Set<Plugin> getPluginsBoundByDefaultToAllLifecycles(String packaging) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public MavenExecutionPlan calculateExecutionPlan(MavenSession session, String... tasks) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MavenExecutionPlan calculateExecutionPlan(MavenSession session, boolean setup, String... tasks) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void execute(MavenSession session) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void calculateForkedExecutions(MojoExecution mojoExecution, MavenSession session) {}
+
+    @Override
+    public List<MavenProject> executeForkedExecutions(MojoExecution mojoExecution, MavenSession session) {
+        return Collections.emptyList();
+    }
+}
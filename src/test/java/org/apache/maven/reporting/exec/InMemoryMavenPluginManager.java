@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.ExtensionRealmCache;
+import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.DuplicateMojoDescriptorException;
+import org.apache.maven.plugin.descriptor.DuplicateParameterException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * In-memory {@link MavenPluginManager}: every plugin has the same report goals, implemented by
+ * {@link InMemoryReport}, and shares the same realm.
+ */
+class InMemoryMavenPluginManager implements MavenPluginManager {
+    static final String[] GOALS = {"report", "aggregate", "test-report"};
+
+    static final int PARAMETERS = 20;
+
+    private final ClassRealm realm;
+
+    private final Map<String, PluginDescriptor> pluginDescriptors = new ConcurrentHashMap<>();
+
+    InMemoryMavenPluginManager(ClassRealm realm) {
+        this.realm = realm;
+    }
+
+    @Override
+    public PluginDescriptor getPluginDescriptor(
+            Plugin plugin, List<RemoteRepository> repositories, RepositorySystemSession session) {
+        return pluginDescriptors.computeIfAbsent(plugin.getId(), id -> newPluginDescriptor(plugin));
+    }
+
+    private static PluginDescriptor newPluginDescriptor(Plugin plugin) {
+        try {
+            return newPluginDescriptor(plugin, GOALS);
+        } catch (DuplicateMojoDescriptorException | DuplicateParameterException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static PluginDescriptor newPluginDescriptor(Plugin plugin, String... goals)
+            throws DuplicateMojoDescriptorException, DuplicateParameterException {
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId(plugin.getGroupId());
+        pluginDescriptor.setArtifactId(plugin.getArtifactId());
+        pluginDescriptor.setVersion(plugin.getVersion());
+        pluginDescriptor.setGoalPrefix(PluginDescriptor.getGoalPrefixFromArtifactId(plugin.getArtifactId()));
+        pluginDescriptor.setPlugin(plugin.clone());
+
+        for (String goal : goals) {
+            MojoDescriptor mojoDescriptor = new MojoDescriptor();
+            mojoDescriptor.setGoal(goal);
+            mojoDescriptor.setImplementation(InMemoryReport.class.getName());
+            mojoDescriptor.setAggregator(goal.equals("aggregate"));
+            mojoDescriptor.setThreadSafe(true);
+
+            PlexusConfiguration configuration = new DefaultPlexusConfiguration("configuration");
+            for (int i = 0; i < PARAMETERS; i++) {
+                Parameter parameter = new Parameter();
+                parameter.setName("parameter" + i);
+                parameter.setType("java.lang.String");
+                mojoDescriptor.addParameter(parameter);
+
+                PlexusConfiguration child = new DefaultPlexusConfiguration(parameter.getName());
+                child.setValue("${project.parameter" + i + "}");
+                child.setAttribute("default-value", "value" + i);
+                configuration.addChild(child);
+            }
+            mojoDescriptor.setMojoConfiguration(configuration);
+
+            mojoDescriptor.setPluginDescriptor(pluginDescriptor);
+            pluginDescriptor.addMojo(mojoDescriptor);
+        }
+        return pluginDescriptor;
+    }
+
+    @Override
+    public MojoDescriptor getMojoDescriptor(
+            Plugin plugin, String goal, List<RemoteRepository> repositories, RepositorySystemSession session) {
+        return getPluginDescriptor(plugin, repositories, session).getMojo(goal);
+    }
+
+    @Override
+    public void checkRequiredMavenVersion(PluginDescriptor pluginDescriptor) {}
+
+    @Override
+    public void setupPluginRealm(
+            PluginDescriptor pluginDescriptor,
+            MavenSession session,
+            ClassLoader parent,
+            List<String> imports,
+            DependencyFilter filter) {
+        pluginDescriptor.setClassRealm(realm);
+    }
+
+    @Override
+    public ExtensionRealmCache.CacheRecord setupExtensionsRealm(
+            MavenProject project, Plugin plugin, RepositorySystemSession session) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> T getConfiguredMojo(Class<T> mojoInterface, MavenSession session, MojoExecution mojoExecution) {
+        InMemoryReport report = new InMemoryReport();
+        // like the ${project} expression
+        report.setProject(session.getCurrentProject());
+        return mojoInterface.cast(report);
+    }
+
+    @Override
+    public void releaseMojo(Object mojo, MojoExecution mojoExecution) {}
+}
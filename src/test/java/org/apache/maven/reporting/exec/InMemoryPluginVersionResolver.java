@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import org.apache.maven.plugin.version.PluginVersionRequest;
+import org.apache.maven.plugin.version.PluginVersionResolver;
+import org.apache.maven.plugin.version.PluginVersionResult;
+import org.eclipse.aether.repository.ArtifactRepository;
+
+/**
+ * In-memory {@link PluginVersionResolver}: every plugin resolves to the same version.
+ */
+class InMemoryPluginVersionResolver implements PluginVersionResolver {
+    static final String VERSION = "1.0";
+
+    @Override
+    public PluginVersionResult resolve(PluginVersionRequest request) {
+        return new PluginVersionResult() {
+            @Override
+            public String getVersion() {
+                return VERSION;
+            }
+
+            @Override
+            public ArtifactRepository getRepository() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestAdaptiveConcurrencyLimiter {
+    private double heapOccupancy;
+
+    private double cpuLoad;
+
+    private final AdaptiveConcurrencyLimiter.LoadProbe probe = new AdaptiveConcurrencyLimiter.LoadProbe() {
+        @Override
+        public double getHeapOccupancy() {
+            return heapOccupancy;
+        }
+
+        @Override
+        public double getCpuLoad() {
+            return cpuLoad;
+        }
+    };
+
+    @Test
+    void growsWithSpareCapacity() throws Exception {
+        heapOccupancy = 0.2;
+        cpuLoad = Double.NaN;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 8, probe, 0);
+        assertEquals(5, limiter.getLimit());
+
+        for (int i = 0; i < 8; i++) {
+            limiter.acquire();
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksUnderPressure() throws Exception {
+        heapOccupancy = 0.9;
+        cpuLoad = 0.5;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 8, probe, 0);
+
+        limiter.acquire();
+        limiter.release();
+        assertEquals(2, limiter.getLimit());
+
+        heapOccupancy = 0.2;
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+        }
+        assertEquals(3, limiter.getLimit());
+
+        cpuLoad = 1.5;
+        for (int i = 0; i < 3; i++) {
+            limiter.release();
+        }
+        limiter.acquire();
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void waitingTaskStartsWhenTaskEnds() throws Exception {
+        heapOccupancy = 0.2;
+        cpuLoad = 0.5;
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("test", 1, 1, probe, TimeUnit.SECONDS.toNanos(60));
+        limiter.acquire();
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> waiting.get(100, TimeUnit.MILLISECONDS));
+
+        limiter.release();
+        waiting.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void waitingTaskInterrupted() throws Exception {
+        heapOccupancy = 0.2;
+        cpuLoad = 0.5;
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("test", 1, 1, probe, TimeUnit.SECONDS.toNanos(60));
+        limiter.acquire();
+
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                limiter.acquire();
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+        });
+        thread.start();
+        thread.interrupt();
+
+        assertTrue(interrupted.get(10, TimeUnit.SECONDS));
+        // the interrupted task did not start
+        limiter.release();
+        limiter.acquire();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestBoundedCache {
+    @Test
+    void boundedBySize() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test-size", 100);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "value" + i);
+        }
+
+        assertTrue(cache.size() <= 100, "size " + cache.size());
+        assertTrue(getStats("test-size").getEvictionCount() >= 900);
+    }
+
+    @Test
+    void frequentValuesSurviveScan() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test-scan", 64);
+        for (int i = 0; i < 32; i++) {
+            cache.put(i, "hot" + i);
+            for (int j = 0; j < 5; j++) {
+                assertNotNull(cache.get(i));
+            }
+        }
+
+        // fewer than 10 times the cache size, not to age frequencies of unused values
+        for (int i = 1000; i < 1400; i++) {
+            cache.put(i, "cold" + i);
+        }
+
+        for (int i = 0; i < 32; i++) {
+            assertEquals("hot" + i, cache.get(i));
+        }
+        assertTrue(cache.size() <= 64);
+    }
+
+    @Test
+    void boundedByWeight() {
+        List<String> removed = new ArrayList<>();
+        BoundedCache<String, String> cache = new BoundedCache<>(
+                "test-weight", 100, (key, value) -> value.length(), (key, value) -> removed.add(key));
+
+        cache.put("a", repeat('a', 60));
+        cache.get("a");
+        cache.put("b", repeat('b', 60));
+        cache.put("c", repeat('c', 200));
+
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("a"));
+        assertEquals(2, removed.size());
+        assertTrue(removed.contains("b"));
+        assertTrue(removed.contains("c"));
+    }
+
+    @Test
+    void statistics() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test-statistics", 10);
+
+        assertNull(cache.get("key"));
+        assertEquals("value", cache.computeIfAbsent("key", key -> "value"));
+        assertEquals("value", cache.computeIfAbsent("key", key -> "other"));
+        assertEquals("value", cache.get("key"));
+        assertEquals("value", cache.remove("key"));
+
+        ReportCacheStats stats = getStats("test-statistics");
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0, stats.getEvictionCount());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    private static ReportCacheStats getStats(String name) {
+        return BoundedCache.getStats().stream()
+                .filter(stats -> stats.getName().equals(name))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.reporting.MavenReport;
+import org.apache.maven.reporting.MavenReportException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCanGenerateReportChecker {
+    @Test
+    void resultsInReportsOrder() throws Exception {
+        List<MavenReportExecution> mavenReportExecutions = Arrays.asList(
+                newExecution(new CheckedReport(true), true),
+                newExecution(new CheckedReport(false), true),
+                newExecution(new CheckedReport(true), false));
+
+        CanGenerateReportChecker checker = new CanGenerateReportChecker();
+        checker.setParallelism(4);
+        List<CanGenerateReportResult> results = checker.check(mavenReportExecutions);
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertSame(mavenReportExecutions.get(i), results.get(i).getMavenReportExecution());
+            assertNull(results.get(i).getException());
+            assertTrue(results.get(i).getDurationNanos() >= 0);
+        }
+        assertTrue(results.get(0).isCanGenerateReport());
+        assertFalse(results.get(1).isCanGenerateReport());
+        assertTrue(results.get(2).isCanGenerateReport());
+    }
+
+    @Test
+    void failureDoesNotStopOtherReports() throws Exception {
+        MavenReportException failure = new MavenReportException("no sources");
+        CheckedReport failing = new CheckedReport(true) {
+            @Override
+            boolean canGenerateReport() throws MavenReportException {
+                throw failure;
+            }
+        };
+        CheckedReport other = new CheckedReport(true);
+
+        CanGenerateReportChecker checker = new CanGenerateReportChecker();
+        checker.setParallelism(2);
+        List<CanGenerateReportResult> results =
+                checker.check(Arrays.asList(newExecution(failing, true), newExecution(other, true)));
+
+        assertFalse(results.get(0).isCanGenerateReport());
+        assertSame(failure, results.get(0).getException());
+        assertTrue(results.get(1).isCanGenerateReport());
+        assertNull(results.get(1).getException());
+    }
+
+    @Test
+    void threadSafeReportsAreCheckedConcurrently() throws Exception {
+        // each report waits for the other one: they only complete when checked concurrently
+        CountDownLatch latch = new CountDownLatch(2);
+        List<MavenReportExecution> mavenReportExecutions = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            mavenReportExecutions.add(newExecution(
+                    new CheckedReport(true) {
+                        @Override
+                        boolean canGenerateReport() {
+                            latch.countDown();
+                            try {
+                                return latch.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return false;
+                            }
+                        }
+                    },
+                    true));
+        }
+
+        CanGenerateReportChecker checker = new CanGenerateReportChecker();
+        checker.setParallelism(2);
+        List<CanGenerateReportResult> results = checker.check(mavenReportExecutions);
+
+        assertTrue(results.get(0).isCanGenerateReport());
+        assertTrue(results.get(1).isCanGenerateReport());
+    }
+
+    @Test
+    void reportsNotThreadSafeAreCheckedOnCallingThread() throws Exception {
+        CheckedReport threadSafe = new CheckedReport(true);
+        CheckedReport notThreadSafe = new CheckedReport(true);
+        CheckedReport otherThreadSafe = new CheckedReport(true);
+
+        CanGenerateReportChecker checker = new CanGenerateReportChecker();
+        checker.setParallelism(4);
+        checker.check(Arrays.asList(
+                newExecution(threadSafe, true),
+                newExecution(notThreadSafe, false),
+                newExecution(otherThreadSafe, true)));
+
+        assertSame(Thread.currentThread(), notThreadSafe.thread);
+        assertNotEquals(Thread.currentThread(), threadSafe.thread);
+        assertNotEquals(Thread.currentThread(), otherThreadSafe.thread);
+    }
+
+    @Test
+    void serialWithParallelismOfOne() throws Exception {
+        CheckedReport first = new CheckedReport(true);
+        CheckedReport second = new CheckedReport(true);
+
+        CanGenerateReportChecker checker = new CanGenerateReportChecker();
+        checker.setParallelism(1);
+        checker.check(Arrays.asList(newExecution(first, true), newExecution(second, true)));
+
+        assertSame(Thread.currentThread(), first.thread);
+        assertSame(Thread.currentThread(), second.thread);
+    }
+
+    @Test
+    void reportClassLoaderIsContextClassLoader() throws Exception {
+        ClassLoader callerClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader reportClassLoader = new URLClassLoader(new URL[0])) {
+            CheckedReport threadSafe = new CheckedReport(true);
+            CheckedReport notThreadSafe = new CheckedReport(true);
+            CheckedReport otherThreadSafe = new CheckedReport(true);
+
+            CanGenerateReportChecker checker = new CanGenerateReportChecker();
+            checker.setParallelism(2);
+            checker.check(Arrays.asList(
+                    newExecution(threadSafe, true, reportClassLoader),
+                    newExecution(notThreadSafe, false, reportClassLoader),
+                    newExecution(otherThreadSafe, true, reportClassLoader)));
+
+            assertSame(reportClassLoader, threadSafe.contextClassLoader);
+            assertSame(reportClassLoader, notThreadSafe.contextClassLoader);
+            assertSame(reportClassLoader, otherThreadSafe.contextClassLoader);
+        }
+        assertSame(callerClassLoader, Thread.currentThread().getContextClassLoader());
+    }
+
+    @Test
+    void parallelismMustBePositive() {
+        CanGenerateReportChecker checker = new CanGenerateReportChecker();
+        assertThrows(IllegalArgumentException.class, () -> checker.setParallelism(0));
+    }
+
+    private static MavenReportExecution newExecution(CheckedReport report, boolean threadSafe) {
+        return newExecution(report, threadSafe, null);
+    }
+
+    private static MavenReportExecution newExecution(
+            CheckedReport report, boolean threadSafe, ClassLoader classLoader) {
+        MavenReport mavenReport = (MavenReport) Proxy.newProxyInstance(
+                TestCanGenerateReportChecker.class.getClassLoader(),
+                new Class<?>[] {MavenReport.class},
+                (proxy, method, args) -> {
+                    if ("canGenerateReport".equals(method.getName())) {
+                        report.thread = Thread.currentThread();
+                        report.contextClassLoader = report.thread.getContextClassLoader();
+                        return report.canGenerateReport();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        MavenReportExecution mavenReportExecution =
+                new MavenReportExecution("report", null, mavenReport, classLoader, false);
+        mavenReportExecution.setThreadSafe(threadSafe);
+        return mavenReportExecution;
+    }
+
+    /**
+     * <code>canGenerateReport()</code> implementation of a report, recording the thread calling it.
+     */
+    private static class CheckedReport {
+        private final boolean canGenerateReport;
+
+        private volatile Thread thread;
+
+        private volatile ClassLoader contextClassLoader;
+
+        CheckedReport(boolean canGenerateReport) {
+            this.canGenerateReport = canGenerateReport;
+        }
+
+        boolean canGenerateReport() throws MavenReportException {
+            return canGenerateReport;
+        }
+    }
+}
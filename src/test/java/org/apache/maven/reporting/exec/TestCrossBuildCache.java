@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestCrossBuildCache {
+    @TempDir
+    Path directory;
+
+    @Test
+    void invalidatedByFileChange() throws Exception {
+        Path pom = Files.write(directory.resolve("pom.xml"), "<project/>".getBytes(UTF_8));
+        Path other = Files.write(directory.resolve("other.xml"), "<other/>".getBytes(UTF_8));
+        CrossBuildCache cache = new CrossBuildCache(FileSystems.getDefault().newWatchService());
+
+        cache.put("plans", "value", Collections.singletonList(pom));
+        assertEquals("value", cache.get("plans"));
+
+        Files.write(other, "<other>changed</other>".getBytes(UTF_8));
+        assertEquals("value", cache.get("plans"));
+
+        Files.write(pom, "<project>changed</project>".getBytes(UTF_8));
+        assertNull(cache.get("plans"));
+    }
+
+    @Test
+    void invalidatedByDirectoryChange() throws Exception {
+        Path metadata = Files.createDirectories(directory.resolve("org/example/plugin"));
+        Path file = Files.write(directory.resolve("plugin.jar"), "jar".getBytes(UTF_8));
+        CrossBuildCache cache = new CrossBuildCache(FileSystems.getDefault().newWatchService());
+
+        cache.put("version", "1.0", Collections.singletonList(metadata));
+        cache.put("both", "value", Arrays.asList(metadata, file));
+        assertEquals("1.0", cache.get("version"));
+
+        Files.write(metadata.resolve("maven-metadata-central.xml"), "<metadata/>".getBytes(UTF_8));
+        assertNull(cache.get("version"));
+        assertNull(cache.get("both"));
+    }
+
+    @Test
+    void notCachedWhenUnwatchable() throws Exception {
+        CrossBuildCache cache = new CrossBuildCache(FileSystems.getDefault().newWatchService());
+
+        cache.put("missing", "value", Collections.singletonList(directory.resolve("missing/pom.xml")));
+        assertNull(cache.get("missing"));
+    }
+
+    @Test
+    void directoriesWatchedWhileValuesDependOnThem() throws Exception {
+        Path first = Files.createDirectories(directory.resolve("first"));
+        Path second = Files.createDirectories(directory.resolve("second"));
+        Path pom = Files.write(first.resolve("pom.xml"), "<project/>".getBytes(UTF_8));
+        Path other = Files.write(first.resolve("other.xml"), "<other/>".getBytes(UTF_8));
+        CrossBuildCache cache = new CrossBuildCache(FileSystems.getDefault().newWatchService());
+
+        cache.put("a", "value", Collections.singletonList(pom));
+        cache.put("b", "value", Arrays.asList(pom, other));
+        assertEquals(1, cache.getWatchCount());
+
+        // replaced value
+        cache.put("a", "value", Collections.singletonList(second));
+        assertEquals(2, cache.getWatchCount());
+
+        // invalidated value
+        Files.write(other, "<other>changed</other>".getBytes(UTF_8));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getWatchCount());
+        assertEquals("value", cache.get("a"));
+    }
+
+    @Test
+    void directoriesNotWatchedWhenValueNotCached() throws Exception {
+        Path pom = Files.write(directory.resolve("pom.xml"), "<project/>".getBytes(UTF_8));
+        CrossBuildCache cache = new CrossBuildCache(FileSystems.getDefault().newWatchService());
+
+        cache.put("missing", "value", Arrays.asList(pom, directory.resolve("missing/pom.xml")));
+
+        assertNull(cache.get("missing"));
+        assertEquals(0, cache.getWatchCount());
+    }
+}
@@ -22,9 +22,14 @@ import javax.inject.Inject;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.DefaultMaven;
 import org.apache.maven.Maven;
@@ -149,8 +154,50 @@ public class TestDefaultMavenReportExecutor {
         assertEquals("2.6", dependencies.get(0).getVersion());
     }
 
+    @Test
+    void concurrentBuildReports() throws Exception {
+        ReportSet reportSet = new ReportSet();
+        reportSet.getReports().add("test-javadoc");
+        reportSet.getReports().add("javadoc");
+
+        MavenProject mavenProject = getMavenProject();
+        MavenSession mavenSession = getMavenSession(getLocalRepo(), mavenProject);
+
+        // modules of a reactor built with -T share the session, and its plugin realms
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    List<MavenReportExecution> mavenReportExecutions =
+                            buildReports(mavenSession, mavenProject, reportSet);
+                    List<String> outputPaths = new ArrayList<>();
+                    for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+                        // the realm must not be disposed while the report is in use
+                        outputPaths.add(mavenReportExecution.getMavenReport().getOutputPath());
+                    }
+                    for (MavenReportExecution mavenReportExecution : mavenReportExecutions) {
+                        mavenReportExecution.release();
+                    }
+                    return outputPaths;
+                }));
+            }
+
+            for (Future<List<String>> future : futures) {
+                assertEquals(Arrays.asList("testapidocs/index", "apidocs/index"), future.get(5, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private List<MavenReportExecution> buildReports(MavenProject mavenProject, ReportSet... javadocReportSets)
             throws Exception {
+        return buildReports(getMavenSession(getLocalRepo(), mavenProject), mavenProject, javadocReportSets);
+    }
+
+    private List<MavenReportExecution> buildReports(
+            MavenSession mavenSession, MavenProject mavenProject, ReportSet... javadocReportSets) throws Exception {
         ClassLoader orig = Thread.currentThread().getContextClassLoader();
         ClassRealm realm = plexusContainer.getContainerRealm();
 
@@ -162,7 +209,6 @@ public class TestDefaultMavenReportExecutor {
 
             mavenReportExecutorRequest.setProject(mavenProject);
 
-            MavenSession mavenSession = getMavenSession(getLocalRepo(), mavenProject);
             mavenSession.setCurrentProject(mavenProject);
             mavenSession.setProjects(Arrays.asList(mavenProject));
             mavenReportExecutorRequest.setMavenSession(mavenSession);
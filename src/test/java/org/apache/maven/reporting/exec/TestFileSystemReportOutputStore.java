@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestFileSystemReportOutputStore {
+    private static final String KEY = "0123456789abcdef-en";
+
+    @TempDir
+    Path tempDir;
+
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path file) throws Exception {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> list(Path directory) throws Exception {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream.filter(Files::isRegularFile)
+                    .map(file -> directory.relativize(file).toString().replace('\\', '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void storeAndRetrieve() throws Exception {
+        FileSystemReportOutputStore store = new FileSystemReportOutputStore(tempDir.resolve("store"));
+        Path output = tempDir.resolve("output");
+        write(output.resolve("sink-events"), "events");
+        write(output.resolve("files/org/example/Example.html"), "example");
+
+        store.store(KEY, output);
+        FileSystemReportOutputStore.delete(output);
+
+        Path retrieved = Files.createDirectory(tempDir.resolve("retrieved"));
+        assertTrue(store.retrieve(KEY, retrieved));
+        assertEquals(Arrays.asList("files/org/example/Example.html", "sink-events"), list(retrieved));
+        assertEquals("example", read(retrieved.resolve("files/org/example/Example.html")));
+        // no temporary directory left
+        try (Stream<Path> outputs = Files.list(store.getBaseDirectory())) {
+            assertEquals(
+                    Collections.singletonList(KEY),
+                    outputs.map(Path::getFileName).map(Path::toString).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void retrieveMissingOutput() throws Exception {
+        FileSystemReportOutputStore store = new FileSystemReportOutputStore(tempDir.resolve("store"));
+        Path retrieved = Files.createDirectory(tempDir.resolve("retrieved"));
+
+        assertFalse(store.retrieve(KEY, retrieved));
+        assertEquals(Collections.emptyList(), list(retrieved));
+    }
+
+    @Test
+    void storeReplacesPreviousOutput() throws Exception {
+        FileSystemReportOutputStore store = new FileSystemReportOutputStore(tempDir.resolve("store"));
+        Path first = tempDir.resolve("first");
+        write(first.resolve("sink-events"), "first");
+        write(first.resolve("files/removed.html"), "removed");
+        store.store(KEY, first);
+        Path second = tempDir.resolve("second");
+        write(second.resolve("sink-events"), "second");
+        store.store(KEY, second);
+
+        Path retrieved = Files.createDirectory(tempDir.resolve("retrieved"));
+        assertTrue(store.retrieve(KEY, retrieved));
+        assertEquals(Collections.singletonList("sink-events"), list(retrieved));
+        assertEquals("second", read(retrieved.resolve("sink-events")));
+    }
+
+    @Test
+    void deleteTree() throws Exception {
+        Path tree = tempDir.resolve("tree");
+        write(tree.resolve("a/b/c.txt"), "c");
+        write(tree.resolve("d.txt"), "d");
+
+        FileSystemReportOutputStore.delete(tree);
+        FileSystemReportOutputStore.delete(tree);
+
+        assertFalse(Files.exists(tree));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestMavenReportExecution {
+    private ClassRealm realm;
+
+    private DefaultMavenReportExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        realm = InMemoryFixtures.newRealm(false);
+        executor = InMemoryFixtures.newExecutor(realm);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        realm.getWorld().disposeRealm(realm.getId());
+    }
+
+    @Test
+    void reportsConfiguredAgainstRequestProject() throws Exception {
+        MavenProject project = InMemoryFixtures.newProject(2, 2);
+        MavenProject otherProject = InMemoryFixtures.newProject(0, 0);
+        MavenReportExecutorRequest request = InMemoryFixtures.newRequest(project, InMemoryFixtures.newReportPlugins(2));
+        request.setSoftReferencedReports(true);
+        // like another module of a parallel build
+        request.getMavenSession().setCurrentProject(otherProject);
+
+        List<MavenReportExecution> executions = executor.buildMavenReports(request);
+
+        assertFalse(executions.isEmpty());
+        for (MavenReportExecution execution : executions) {
+            assertSame(project, ((InMemoryReport) execution.getMavenReport()).getProject());
+        }
+        assertSame(otherProject, request.getMavenSession().getCurrentProject());
+    }
+
+    @Test
+    void releasedExecutionFails() {
+        MavenReportExecution execution = new MavenReportExecution(new InMemoryReport());
+        execution.release();
+
+        assertThrows(IllegalStateException.class, execution::getMavenReport);
+        assertThrows(IllegalStateException.class, () -> execution.generateReport(null, Locale.ENGLISH));
+    }
+}
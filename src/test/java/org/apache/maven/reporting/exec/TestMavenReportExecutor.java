@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Plugin;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestMavenReportExecutor {
+    @Test
+    void defaultPlansFromBuiltReports() throws Exception {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.example");
+        plugin.setArtifactId("example-maven-plugin");
+        plugin.setVersion("1.0");
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(new Xpp3Dom("parameter"));
+        MavenReportExecution mavenReportExecution =
+                new MavenReportExecution("report", plugin, new InMemoryReport(), null, true);
+        mavenReportExecution.setInputs(null, configuration);
+        // an implementation written against a previous version
+        MavenReportExecutor executor = request -> Collections.singletonList(mavenReportExecution);
+
+        List<MavenReportPlan> plans = executor.planMavenReports(new MavenReportExecutorRequest());
+
+        assertEquals(1, plans.size());
+        MavenReportPlan plan = plans.get(0);
+        assertEquals("org.example:example-maven-plugin", plan.getPluginKey());
+        assertEquals("1.0", plan.getVersion());
+        assertEquals("report", plan.getGoal());
+        assertEquals(configuration, plan.getConfiguration());
+        assertTrue(plan.isUserDefined());
+        assertFalse(plan.isForking());
+        assertTrue(mavenReportExecution.isReleased());
+    }
+}
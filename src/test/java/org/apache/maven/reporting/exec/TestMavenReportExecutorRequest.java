@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.model.ReportSet;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestMavenReportExecutorRequest {
+    @Test
+    void reportPluginsConvertedFromModel() {
+        MavenReportExecutorRequest request = new MavenReportExecutorRequest();
+        request.setReportPlugins(new org.apache.maven.model.ReportPlugin[] {newModel()});
+
+        ReportPlugin reportPlugin = request.getReportPlugins()[0];
+        assertEquals("org.apache.maven.plugins:maven-javadoc-plugin", reportPlugin.getPluginKey());
+        assertEquals("outputDirectory", reportPlugin.getConfiguration().getChild(0).getName());
+        assertEquals(
+                Collections.singletonList("org.apache.maven.plugins:maven-jxr-plugin"), reportPlugin.getRunAfter());
+        org.apache.maven.reporting.exec.ReportSet reportSet = reportPlugin.getReportSets().get(0);
+        assertEquals(Arrays.asList("javadoc", "aggregate"), reportSet.getDistinctReports());
+        assertEquals(Arrays.asList("javadoc"), reportSet.getDuplicateReports());
+    }
+
+    @Test
+    void reportPluginsConvertedForEachRequest() {
+        org.apache.maven.model.ReportPlugin model = newModel();
+        MavenReportExecutorRequest request = new MavenReportExecutorRequest();
+        request.setReportPlugins(new org.apache.maven.model.ReportPlugin[] {model});
+        ReportPlugin reportPlugin = request.getReportPlugins()[0];
+
+        // converted plugins stay mutable beans
+        reportPlugin.setVersion("3.6.3");
+        ((Xpp3Dom) model.getConfiguration()).addChild(new Xpp3Dom("show"));
+        MavenReportExecutorRequest other = new MavenReportExecutorRequest();
+        other.setReportPlugins(new org.apache.maven.model.ReportPlugin[] {model});
+
+        ReportPlugin converted = other.getReportPlugins()[0];
+        assertNotSame(reportPlugin, converted);
+        assertNull(converted.getVersion());
+        assertEquals(3, converted.getConfiguration().getChildCount());
+    }
+
+    private static org.apache.maven.model.ReportPlugin newModel() {
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(new Xpp3Dom("outputDirectory"));
+        Xpp3Dom runAfter = new Xpp3Dom("runAfter");
+        runAfter.setValue("org.apache.maven.plugins:maven-jxr-plugin");
+        configuration.addChild(runAfter);
+
+        ReportSet reportSet = new ReportSet();
+        reportSet.setReports(Arrays.asList("javadoc", "aggregate", "javadoc"));
+
+        org.apache.maven.model.ReportPlugin model = new org.apache.maven.model.ReportPlugin();
+        model.setArtifactId("maven-javadoc-plugin");
+        model.setConfiguration(configuration);
+        model.addReportSet(reportSet);
+        return model;
+    }
+}
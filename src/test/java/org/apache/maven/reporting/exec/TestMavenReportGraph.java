@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestMavenReportGraph {
+    private static final String GROUP_ID = "org.apache.maven.plugins";
+
+    private final MavenReportExecution pmd = newExecution("maven-pmd-plugin", "pmd");
+
+    private final MavenReportExecution jxr = newExecution("maven-jxr-plugin", "jxr");
+
+    private final MavenReportExecution checkstyle = newExecution("maven-checkstyle-plugin", "checkstyle");
+
+    private final MavenReportExecution javadoc = newExecution("maven-javadoc-plugin", "javadoc");
+
+    @Test
+    void ordering() throws Exception {
+        ReportPlugin pmdPlugin = newReportPlugin("maven-pmd-plugin");
+        pmdPlugin.setRunAfter(Collections.singletonList(GROUP_ID + ":maven-jxr-plugin"));
+        ReportPlugin checkstylePlugin = newReportPlugin("maven-checkstyle-plugin");
+        ReportSet reportSet = new ReportSet();
+        reportSet.setReports(Collections.singletonList("checkstyle"));
+        reportSet.setRunAfter(Arrays.asList(GROUP_ID + ":maven-jxr-plugin:jxr", "org.example:missing-plugin"));
+        checkstylePlugin.setReportSets(Collections.singletonList(reportSet));
+        checkstyle.setReportSetId(reportSet.getId());
+
+        MavenReportGraph graph = buildReportGraph(pmdPlugin, checkstylePlugin);
+
+        assertEquals(Arrays.asList(jxr, pmd, checkstyle, javadoc), graph.getExecutions());
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(Collections.singletonList(jxr), graph.getPredecessors(checkstyle));
+        assertEquals(Arrays.asList(pmd, checkstyle), graph.getSuccessors(jxr));
+        assertEquals(Collections.emptyList(), graph.getPredecessors(javadoc));
+    }
+
+    @Test
+    void runAfterOfReportSetSharingGoal() throws Exception {
+        ReportPlugin checkstylePlugin = newReportPlugin("maven-checkstyle-plugin");
+        ReportSet afterJxr = new ReportSet();
+        afterJxr.setId("after-jxr");
+        afterJxr.setReports(Collections.singletonList("checkstyle"));
+        afterJxr.setRunAfter(Collections.singletonList(GROUP_ID + ":maven-jxr-plugin"));
+        ReportSet unordered = new ReportSet();
+        unordered.setId("unordered");
+        unordered.setReports(Collections.singletonList("checkstyle"));
+        checkstylePlugin.setReportSets(Arrays.asList(afterJxr, unordered));
+        MavenReportExecution checkstyleAfterJxr = newExecution("maven-checkstyle-plugin", "checkstyle");
+        checkstyleAfterJxr.setReportSetId("after-jxr");
+        MavenReportExecution checkstyleUnordered = newExecution("maven-checkstyle-plugin", "checkstyle");
+        checkstyleUnordered.setReportSetId("unordered");
+
+        MavenReportGraph graph = buildReportGraph(
+                Arrays.asList(checkstyleAfterJxr, checkstyleUnordered, jxr), checkstylePlugin);
+
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(Collections.singletonList(jxr), graph.getPredecessors(checkstyleAfterJxr));
+        assertEquals(Collections.emptyList(), graph.getPredecessors(checkstyleUnordered));
+    }
+
+    @Test
+    void cycle() {
+        ReportPlugin pmdPlugin = newReportPlugin("maven-pmd-plugin");
+        pmdPlugin.setRunAfter(Collections.singletonList(GROUP_ID + ":maven-checkstyle-plugin"));
+        ReportPlugin checkstylePlugin = newReportPlugin("maven-checkstyle-plugin");
+        checkstylePlugin.setRunAfter(Collections.singletonList(GROUP_ID + ":maven-pmd-plugin:pmd"));
+
+        MojoExecutionException e =
+                assertThrows(MojoExecutionException.class, () -> buildReportGraph(pmdPlugin, checkstylePlugin));
+
+        assertTrue(e.getMessage().contains(GROUP_ID + ":maven-pmd-plugin:pmd -> "), e.getMessage());
+        assertTrue(e.getMessage().contains(GROUP_ID + ":maven-checkstyle-plugin:checkstyle -> "), e.getMessage());
+    }
+
+    @Test
+    void runAfterFromModel() {
+        Xpp3Dom runAfter = new Xpp3Dom("runAfter");
+        Xpp3Dom reference = new Xpp3Dom("report");
+        reference.setValue(GROUP_ID + ":maven-jxr-plugin");
+        runAfter.addChild(reference);
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(runAfter);
+        org.apache.maven.model.ReportSet reportSet = new org.apache.maven.model.ReportSet();
+        Xpp3Dom reportSetConfiguration = new Xpp3Dom("configuration");
+        Xpp3Dom reportSetRunAfter = new Xpp3Dom("runAfter");
+        reportSetRunAfter.setValue("org.example:a-plugin, org.example:b-plugin:goal");
+        reportSetConfiguration.addChild(reportSetRunAfter);
+        reportSet.setConfiguration(reportSetConfiguration);
+        org.apache.maven.model.ReportPlugin model = new org.apache.maven.model.ReportPlugin();
+        model.setArtifactId("maven-pmd-plugin");
+        model.setConfiguration(configuration);
+        model.addReportSet(reportSet);
+
+        MavenReportExecutorRequest request = new MavenReportExecutorRequest();
+        request.setReportPlugins(new org.apache.maven.model.ReportPlugin[] {model});
+        ReportPlugin reportPlugin = request.getReportPlugins()[0];
+
+        assertEquals(Collections.singletonList(GROUP_ID + ":maven-jxr-plugin"), reportPlugin.getRunAfter());
+        assertEquals(
+                Arrays.asList("org.example:a-plugin", "org.example:b-plugin:goal"),
+                reportPlugin.getReportSets().get(0).getRunAfter());
+    }
+
+    private MavenReportGraph buildReportGraph(ReportPlugin... reportPlugins) throws MojoExecutionException {
+        return buildReportGraph(Arrays.asList(pmd, jxr, checkstyle, javadoc), reportPlugins);
+    }
+
+    private MavenReportGraph buildReportGraph(List<MavenReportExecution> executions, ReportPlugin... reportPlugins)
+            throws MojoExecutionException {
+        MavenReportExecutorRequest request = new MavenReportExecutorRequest();
+        request.setReportPlugins(reportPlugins);
+        return InMemoryFixtures.newExecutor(null).buildReportGraph(request, executions);
+    }
+
+    private static ReportPlugin newReportPlugin(String artifactId) {
+        ReportPlugin reportPlugin = new ReportPlugin();
+        reportPlugin.setArtifactId(artifactId);
+        return reportPlugin;
+    }
+
+    private static MavenReportExecution newExecution(String artifactId, String goal) {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId(GROUP_ID);
+        plugin.setArtifactId(artifactId);
+        return new MavenReportExecution(goal, plugin, new InMemoryReport(), null, false);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.model.Plugin;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestMavenReportRenderer {
+    private static final List<Locale> LOCALES = Arrays.asList(Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN);
+
+    @Test
+    void renderLocales() throws Exception {
+        List<String> generated = Collections.synchronizedList(new ArrayList<>());
+        List<MavenReportExecution> mavenReportExecutions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MavenReportExecution mavenReportExecution =
+                    new MavenReportExecution(new RecordingReport("report" + i, generated));
+            mavenReportExecution.setThreadSafe(true);
+            mavenReportExecutions.add(mavenReportExecution);
+        }
+        List<Sink> sinks = Collections.synchronizedList(new ArrayList<>());
+
+        MavenReportRenderer renderer = new MavenReportRenderer();
+        renderer.setParallelism(4);
+        renderer.setWriteBehindBufferSize(WriteBehindSink.BATCH_SIZE);
+        renderer.render(mavenReportExecutions, LOCALES, (mavenReportExecution, locale) -> {
+            Sink sink = newSink();
+            sinks.add(sink);
+            return sink;
+        });
+
+        assertEquals(9, generated.size());
+        assertEquals(9, sinks.size());
+        assertNotSame(sinks.get(0), sinks.get(1));
+        for (int i = 0; i < 3; i++) {
+            String report = "report" + i;
+            List<String> locales = new ArrayList<>();
+            for (String generation : generated) {
+                if (generation.startsWith(report + ':')) {
+                    locales.add(generation.substring(report.length() + 1));
+                }
+            }
+            assertEquals(Arrays.asList("en", "fr", "de"), locales);
+        }
+    }
+
+    @Test
+    void renderGraph() throws Exception {
+        List<String> generated = Collections.synchronizedList(new ArrayList<>());
+        List<MavenReportExecution> mavenReportExecutions = new ArrayList<>();
+        for (String name : Arrays.asList("pmd", "jxr", "checkstyle", "javadoc")) {
+            Plugin plugin = new Plugin();
+            plugin.setArtifactId("maven-" + name + "-plugin");
+            MavenReportExecution mavenReportExecution =
+                    new MavenReportExecution(name, plugin, new RecordingReport(name, generated), null, false);
+            mavenReportExecution.setThreadSafe(true);
+            mavenReportExecutions.add(mavenReportExecution);
+        }
+        MavenReportGraph graph = MavenReportGraph.of(
+                mavenReportExecutions,
+                Arrays.asList(
+                        Collections.singleton(1),
+                        Collections.<Integer>emptySet(),
+                        Collections.singleton(1),
+                        Collections.singleton(2)));
+
+        MavenReportRenderer renderer = new MavenReportRenderer();
+        renderer.setParallelism(4);
+        renderer.render(graph, LOCALES, (mavenReportExecution, locale) -> newSink());
+
+        assertEquals(12, generated.size());
+        int lastJxr = generated.lastIndexOf("jxr:de");
+        assertTrue(lastJxr < generated.indexOf("pmd:en"));
+        assertTrue(lastJxr < generated.indexOf("checkstyle:en"));
+        assertTrue(generated.lastIndexOf("checkstyle:de") < generated.indexOf("javadoc:en"));
+    }
+
+    private static Sink newSink() {
+        return (Sink) Proxy.newProxyInstance(
+                TestMavenReportRenderer.class.getClassLoader(),
+                new Class<?>[] {Sink.class},
+                (proxy, method, args) -> null);
+    }
+
+    private static class RecordingReport extends InMemoryReport {
+        private final String outputName;
+
+        private final List<String> generated;
+
+        RecordingReport(String outputName, List<String> generated) {
+            this.outputName = outputName;
+            this.generated = generated;
+        }
+
+        @Override
+        public void generate(Sink sink, Locale locale) {
+            generated.add(outputName + ':' + locale);
+        }
+
+        @Override
+        public String getOutputName() {
+            return outputName;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.PluginResolutionException;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batched resolution of report plugins artifacts and dependencies, before plugin descriptors loading.
+ */
+public class TestPluginPreResolution {
+    private static final List<RemoteRepository> REPOSITORIES = Collections.singletonList(
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2").build());
+
+    private final RepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    private final List<List<ArtifactRequest>> artifactRequests = new ArrayList<>();
+
+    private final List<DependencyRequest> dependencyRequests = new ArrayList<>();
+
+    /**
+     * Artifact ids of the plugins that fail to resolve.
+     */
+    private final List<String> missing = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    private final RepositorySystem repositorySystem = (RepositorySystem) Proxy.newProxyInstance(
+            RepositorySystem.class.getClassLoader(), new Class<?>[] {RepositorySystem.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "resolveArtifacts":
+                        return resolveArtifacts((List<ArtifactRequest>) args[1]);
+                    case "resolveDependencies":
+                        DependencyRequest request = (DependencyRequest) args[1];
+                        dependencyRequests.add(request);
+                        return new DependencyResult(request);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    private List<ArtifactResult> resolveArtifacts(List<ArtifactRequest> requests) throws ArtifactResolutionException {
+        artifactRequests.add(requests);
+        List<ArtifactResult> results = new ArrayList<>();
+        for (ArtifactRequest request : requests) {
+            ArtifactResult result = new ArtifactResult(request);
+            if (!missing.contains(request.getArtifact().getArtifactId())) {
+                result.setArtifact(request.getArtifact().setFile(new File("plugin.jar")));
+            }
+            results.add(result);
+        }
+        for (ArtifactResult result : results) {
+            if (!result.isResolved()) {
+                throw new ArtifactResolutionException(results);
+            }
+        }
+        return results;
+    }
+
+    private static Plugin newPlugin(String artifactId) {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.example");
+        plugin.setArtifactId(artifactId);
+        plugin.setVersion("1.0");
+        return plugin;
+    }
+
+    @Test
+    void pluginsArtifactsAreResolvedInOneRequest() throws Exception {
+        DefaultMavenPluginManagerHelper helper = new DefaultMavenPluginManagerHelper(
+                new InMemoryMavenPluginManager(null), repositorySystem);
+
+        helper.resolvePluginArtifacts(Arrays.asList(newPlugin("a"), newPlugin("b")), REPOSITORIES, session);
+
+        assertEquals(1, artifactRequests.size());
+        List<ArtifactRequest> requests = artifactRequests.get(0);
+        assertEquals(2, requests.size());
+        assertEquals("org.example:a:jar:1.0", requests.get(0).getArtifact().toString());
+        assertEquals("org.example:b:jar:1.0", requests.get(1).getArtifact().toString());
+        for (ArtifactRequest request : requests) {
+            assertEquals(REPOSITORIES, request.getRepositories());
+            assertEquals("plugin", request.getRequestContext());
+        }
+    }
+
+    @Test
+    void failureReportsFirstUnresolvedPlugin() {
+        DefaultMavenPluginManagerHelper helper = new DefaultMavenPluginManagerHelper(
+                new InMemoryMavenPluginManager(null), repositorySystem);
+        missing.add("b");
+        missing.add("c");
+
+        PluginResolutionException e = assertThrows(
+                PluginResolutionException.class,
+                () -> helper.resolvePluginArtifacts(
+                        Arrays.asList(newPlugin("a"), newPlugin("b"), newPlugin("c")), REPOSITORIES, session));
+
+        assertEquals("org.example:b:1.0", e.getPlugin().getId());
+        assertTrue(e.getCause() instanceof ArtifactResolutionException);
+    }
+
+    @Test
+    void pluginDependenciesAreFilteredLikeRealmSetup() throws Exception {
+        DefaultMavenPluginManagerHelper helper = new DefaultMavenPluginManagerHelper(
+                new InMemoryMavenPluginManager(null), repositorySystem);
+        Plugin plugin = newPlugin("a");
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId("extra");
+        dependency.setVersion("2.0");
+        plugin.addDependency(dependency);
+
+        helper.resolvePluginDependencies(
+                plugin, Collections.singletonList("maven-reporting-api"), REPOSITORIES, session);
+
+        assertEquals(1, dependencyRequests.size());
+        DependencyRequest request = dependencyRequests.get(0);
+        CollectRequest collectRequest = request.getCollectRequest();
+        assertEquals(REPOSITORIES, collectRequest.getRepositories());
+        assertEquals("org.example:a:jar:1.0", collectRequest.getRoot().getArtifact().toString());
+        assertEquals(1, collectRequest.getDependencies().size());
+        assertEquals(
+                "org.example:extra:jar:2.0",
+                collectRequest.getDependencies().get(0).getArtifact().toString());
+
+        assertTrue(request.getFilter().accept(newNode("commons-lang3", "compile"), Collections.emptyList()));
+        assertFalse(request.getFilter().accept(newNode("maven-reporting-api", "compile"), Collections.emptyList()));
+        assertFalse(request.getFilter().accept(newNode("junit", "test"), Collections.emptyList()));
+    }
+
+    private static DefaultDependencyNode newNode(String artifactId, String scope) {
+        return new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(
+                new DefaultArtifact("org.example", artifactId, "jar", "1.0"), scope));
+    }
+
+    @Test
+    void nothingIsResolvedWithoutRepositorySystem() throws Exception {
+        DefaultMavenPluginManagerHelper helper =
+                new DefaultMavenPluginManagerHelper(new InMemoryMavenPluginManager(null));
+
+        helper.resolvePluginArtifacts(Collections.singletonList(newPlugin("a")), REPOSITORIES, session);
+        helper.resolvePluginDependencies(newPlugin("a"), Collections.emptyList(), REPOSITORIES, session);
+
+        assertTrue(artifactRequests.isEmpty());
+        assertTrue(dependencyRequests.isEmpty());
+    }
+
+    @Test
+    void reportPluginsArePreResolvedInOneBatch() throws Exception {
+        ClassRealm realm = InMemoryFixtures.newRealm(false);
+        try {
+            List<List<String>> batches = new ArrayList<>();
+            List<String> dependencies = Collections.synchronizedList(new ArrayList<>());
+            List<List<RemoteRepository>> repositories = Collections.synchronizedList(new ArrayList<>());
+            InMemoryMavenPluginManager mavenPluginManager = new InMemoryMavenPluginManager(realm);
+            MavenPluginManagerHelper helper = new DefaultMavenPluginManagerHelper(mavenPluginManager) {
+                @Override
+                public void resolvePluginArtifacts(
+                        List<Plugin> plugins, List<RemoteRepository> remoteRepositories, RepositorySystemSession s) {
+                    List<String> batch = new ArrayList<>();
+                    plugins.forEach(plugin -> batch.add(plugin.getId()));
+                    batches.add(batch);
+                    repositories.add(remoteRepositories);
+                }
+
+                @Override
+                public void resolvePluginDependencies(
+                        Plugin plugin,
+                        List<String> excludeArtifactIds,
+                        List<RemoteRepository> remoteRepositories,
+                        RepositorySystemSession s) {
+                    dependencies.add(plugin.getId());
+                    repositories.add(remoteRepositories);
+                }
+            };
+            DefaultMavenReportExecutor executor = new DefaultMavenReportExecutor(
+                    mavenPluginManager,
+                    helper,
+                    new InMemoryLifecycleExecutor(),
+                    new InMemoryPluginVersionResolver());
+
+            MavenProject project = InMemoryFixtures.newProject(3, 3);
+            project.setPluginArtifactRepositories(Collections.singletonList(new MavenArtifactRepository(
+                    "central",
+                    "https://repo.maven.apache.org/maven2",
+                    new DefaultRepositoryLayout(),
+                    new ArtifactRepositoryPolicy(),
+                    new ArtifactRepositoryPolicy())));
+            MavenReportExecutorRequest request =
+                    InMemoryFixtures.newRequest(project, InMemoryFixtures.newReportPlugins(3));
+            request.setPreResolvePlugins(true);
+            List<MavenReportExecution> executions = executor.buildMavenReports(request);
+            executions.forEach(MavenReportExecution::release);
+
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                ids.add(InMemoryFixtures.GROUP_ID + ':' + InMemoryFixtures.getArtifactId(i) + ':'
+                        + InMemoryPluginVersionResolver.VERSION);
+            }
+            assertEquals(Collections.singletonList(ids), batches);
+            Collections.sort(dependencies);
+            assertEquals(ids, dependencies);
+            assertEquals(1, project.getRemotePluginRepositories().size());
+            for (List<RemoteRepository> remoteRepositories : repositories) {
+                assertSame(project.getRemotePluginRepositories(), remoteRepositories);
+            }
+        } finally {
+            realm.getWorld().disposeRealm(realm.getId());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPreparationBudget {
+    @Test
+    void phaseWithinBudget() throws Exception {
+        PreparationBudget budget = new PreparationBudget("report plugin test", 10_000);
+
+        assertEquals("done", budget.run("resolving plugin version", () -> "done"));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void overrunInterruptsPhase() {
+        PreparationBudget budget = new PreparationBudget("report plugin test", 50);
+
+        TimeoutException e = assertThrows(TimeoutException.class, () -> budget.run("loading plugin descriptor", () -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return null;
+        }));
+
+        assertTrue(e.getMessage().contains("while loading plugin descriptor"), e.getMessage());
+        assertTrue(e.getCause() instanceof InterruptedException);
+        // the interruption by the watchdog does not leak to the caller
+        assertFalse(Thread.currentThread().isInterrupted());
+
+        // the exhausted budget fails the next phase without running it
+        TimeoutException next = assertThrows(TimeoutException.class, () -> budget.run("setting up plugin realm", () -> {
+            throw new AssertionError("must not run");
+        }));
+        assertTrue(next.getMessage().contains("while loading plugin descriptor"), next.getMessage());
+    }
+
+    @Test
+    void overrunOfPhaseIgnoringInterruption() {
+        PreparationBudget budget = new PreparationBudget("report goal test", 20);
+        long end = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+
+        TimeoutException e = assertThrows(TimeoutException.class, () -> budget.run("configuring the mojo", () -> {
+            while (!Thread.currentThread().isInterrupted() && System.nanoTime() < end) {
+                // busy phase
+            }
+            // completes normally, ignoring interruption
+            return "ignored";
+        }));
+
+        assertTrue(e.getMessage().contains("while configuring the mojo"), e.getMessage());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class TestPreparationHistory {
+    @TempDir
+    Path tempDir;
+
+    private File writeHistory(String... durations) throws IOException {
+        Properties properties = new Properties();
+        for (int i = 0; i < durations.length; i += 2) {
+            properties.setProperty(durations[i], durations[i + 1]);
+        }
+        File file = tempDir.resolve("history.properties").toFile();
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            properties.store(out, null);
+        }
+        return file;
+    }
+
+    private static Properties readHistory(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static ReportPlugin[] newReportPlugins(String... artifactIds) {
+        ReportPlugin[] reportPlugins = new ReportPlugin[artifactIds.length];
+        for (int i = 0; i < artifactIds.length; i++) {
+            reportPlugins[i] = new ReportPlugin();
+            reportPlugins[i].setGroupId("org.example");
+            reportPlugins[i].setArtifactId(artifactIds[i]);
+        }
+        return reportPlugins;
+    }
+
+    @Test
+    void storedDurationsAreAveraged() throws Exception {
+        File file = writeHistory("org.example:a", "100", "org.example:b", "40");
+
+        PreparationHistory history = PreparationHistory.load(file);
+        assertEquals(100, history.getDuration("org.example:a"));
+        history.record("org.example:a", 150);
+        history.record("org.example:a", 50);
+        history.record("org.example:c", 30);
+        history.store();
+
+        Properties properties = readHistory(file);
+        assertEquals("150", properties.getProperty("org.example:a"));
+        assertEquals("40", properties.getProperty("org.example:b"));
+        assertEquals("30", properties.getProperty("org.example:c"));
+    }
+
+    @Test
+    void unreadableHistoryIsIgnored() throws Exception {
+        File file = writeHistory("org.example:a", "100", "org.example:b", "not a number");
+
+        PreparationHistory history = PreparationHistory.load(file);
+
+        assertEquals(0, history.getDuration("org.example:a"));
+        assertEquals(0, history.getDuration("org.example:b"));
+    }
+
+    @Test
+    void notStoredWithoutDurations() {
+        File file = tempDir.resolve("history.properties").toFile();
+
+        PreparationHistory.load(file).store();
+        PreparationHistory withoutFile = PreparationHistory.load(null);
+        withoutFile.record("org.example:a", 100);
+        withoutFile.store();
+
+        assertFalse(file.exists());
+    }
+
+    @Test
+    void goalsDurationOfPlugin() throws Exception {
+        PreparationHistory history = PreparationHistory.load(writeHistory(
+                "org.example:a",
+                "100",
+                "org.example:a:report",
+                "20",
+                "org.example:a:test-report",
+                "30",
+                "org.example:a-extra:report",
+                "1000"));
+
+        assertEquals(50, history.getGoalsDuration("org.example:a"));
+        assertEquals(1000, history.getGoalsDuration("org.example:a-extra"));
+        assertEquals(0, history.getGoalsDuration("org.example:b"));
+    }
+
+    @Test
+    void scheduleWithoutHistoryKeepsDeclarationOrder() {
+        PreparationHistory history = PreparationHistory.load(null);
+
+        assertEquals(Arrays.asList(0, 1, 2), history.schedule(newReportPlugins("a", "b", "c")));
+    }
+
+    @Test
+    void scheduleLongestFirstWithoutGoalsDurations() throws Exception {
+        PreparationHistory history =
+                PreparationHistory.load(writeHistory("org.example:b", "50", "org.example:c", "200"));
+
+        assertEquals(Arrays.asList(2, 1, 0), history.schedule(newReportPlugins("a", "b", "c")));
+    }
+
+    @Test
+    void scheduleStartsLongestPreparationsAmongPluginsNeededLater() throws Exception {
+        // b and c are only needed once the goals of a are prepared, longer than preparing any of them
+        PreparationHistory history = PreparationHistory.load(writeHistory(
+                "org.example:a",
+                "10",
+                "org.example:a:report",
+                "100",
+                "org.example:b",
+                "50",
+                "org.example:c",
+                "60"));
+
+        assertEquals(Arrays.asList(0, 2, 1), history.schedule(newReportPlugins("a", "b", "c")));
+    }
+
+    @Test
+    void scheduleStartsFirstPluginNeededFirst() throws Exception {
+        // a is needed right away, while b is only needed once the goals of a are prepared
+        PreparationHistory history = PreparationHistory.load(writeHistory(
+                "org.example:a",
+                "100",
+                "org.example:a:report",
+                "1000",
+                "org.example:b",
+                "300"));
+
+        assertEquals(Arrays.asList(0, 1), history.schedule(newReportPlugins("a", "b")));
+    }
+}
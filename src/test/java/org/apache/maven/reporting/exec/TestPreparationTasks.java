@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPreparationTasks {
+    @Test
+    void failFastCancelsOtherTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        IllegalStateException cause = new IllegalStateException("broken plugin");
+
+        try (PreparationTasks tasks = new PreparationTasks(Executors.newFixedThreadPool(2), true)) {
+            Future<String> slow = tasks.submit("org.example:slow", new PreparationBudget("slow", 0), "phase", () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "slow";
+            });
+            started.await();
+            Future<String> failing =
+                    tasks.submit("org.example:failing", new PreparationBudget("failing", 0), "phase", () -> {
+                        throw cause;
+                    });
+
+            MojoExecutionException e =
+                    assertThrows(MojoExecutionException.class, () -> tasks.await("org.example:slow", slow));
+            assertEquals("Failed to get report for org.example:failing", e.getMessage());
+            assertSame(cause, e.getCause());
+            assertTrue(interrupted.await(1, TimeUnit.MINUTES));
+
+            assertSame(
+                    cause,
+                    assertThrows(MojoExecutionException.class, () -> tasks.await("org.example:failing", failing))
+                            .getCause());
+        }
+    }
+
+    @Test
+    void budgetOverrunCompletesResultOfTaskIgnoringInterruption() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (PreparationTasks tasks = new PreparationTasks(Executors.newFixedThreadPool(1), false)) {
+            PreparationBudget budget = new PreparationBudget("stuck", 50);
+            Future<String> stuck = tasks.submit("org.example:stuck", budget, "phase", () -> {
+                while (release.getCount() > 0) {
+                    // stuck, ignoring interruption
+                }
+                return "stuck";
+            });
+
+            // the result is available at the deadline, without waiting for the task
+            MojoExecutionException e =
+                    assertThrows(MojoExecutionException.class, () -> tasks.await("org.example:stuck", stuck));
+            assertTrue(e.getCause() instanceof TimeoutException);
+            release.countDown();
+        }
+    }
+}
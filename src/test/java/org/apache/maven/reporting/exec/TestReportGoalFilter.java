@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestReportGoalFilter {
+
+    private static PluginDescriptor descriptor(String groupId, String artifactId) {
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId(groupId);
+        pluginDescriptor.setArtifactId(artifactId);
+        pluginDescriptor.setGoalPrefix(PluginDescriptor.getGoalPrefixFromArtifactId(artifactId));
+        return pluginDescriptor;
+    }
+
+    @Test
+    void includePrefixAndGoal() {
+        ReportGoalFilter filter = ReportGoalFilter.of(Collections.singletonList("jacoco:report"), null);
+
+        assertTrue(filter.includesPlugin("org.jacoco", "jacoco-maven-plugin"));
+        // the goal prefix is only known from the descriptor
+        assertTrue(filter.includesPlugin("org.apache.maven.plugins", "maven-javadoc-plugin"));
+
+        PluginDescriptor jacoco = descriptor("org.jacoco", "jacoco-maven-plugin");
+        assertTrue(filter.includesGoal(jacoco, "report"));
+        assertFalse(filter.includesGoal(jacoco, "report-aggregate"));
+        assertFalse(filter.includesGoal(descriptor("org.apache.maven.plugins", "maven-javadoc-plugin"), "report"));
+    }
+
+    @Test
+    void includePrefixDifferentFromArtifactId() {
+        ReportGoalFilter filter = ReportGoalFilter.of(Collections.singletonList("acme:summary"), null);
+
+        assertTrue(filter.includesPlugin("com.example", "reporting-tools-maven-plugin"));
+
+        PluginDescriptor acme = descriptor("com.example", "reporting-tools-maven-plugin");
+        acme.setGoalPrefix("acme");
+        assertTrue(filter.includesGoal(acme, "summary"));
+        assertFalse(filter.includesGoal(acme, "details"));
+    }
+
+    @Test
+    void includeGlobs() {
+        ReportGoalFilter filter =
+                ReportGoalFilter.of(Arrays.asList("org.apache.maven.plugins:*:*-report", "pmd"), null);
+
+        assertTrue(filter.includesPlugin("org.apache.maven.plugins", "maven-surefire-report-plugin"));
+        assertTrue(filter.includesPlugin("org.apache.maven.plugins", "maven-pmd-plugin"));
+        assertFalse(filter.includesPlugin("org.jacoco", "jacoco-maven-plugin"));
+
+        PluginDescriptor surefireReport = descriptor("org.apache.maven.plugins", "maven-surefire-report-plugin");
+        assertTrue(filter.includesGoal(surefireReport, "failsafe-report"));
+        assertFalse(filter.includesGoal(surefireReport, "report"));
+        assertTrue(filter.includesGoal(descriptor("org.apache.maven.plugins", "maven-pmd-plugin"), "cpd"));
+    }
+
+    @Test
+    void excludes() {
+        ReportGoalFilter filter = ReportGoalFilter.of(
+                null, Arrays.asList("org.apache.maven.plugins:maven-javadoc-plugin", "surefire-report:failsafe-*"));
+
+        assertFalse(filter.includesPlugin("org.apache.maven.plugins", "maven-javadoc-plugin"));
+        // only some goals are excluded: the plugin is still needed
+        assertTrue(filter.includesPlugin("org.apache.maven.plugins", "maven-surefire-report-plugin"));
+
+        PluginDescriptor surefireReport = descriptor("org.apache.maven.plugins", "maven-surefire-report-plugin");
+        assertTrue(filter.includesGoal(surefireReport, "report"));
+        assertFalse(filter.includesGoal(surefireReport, "failsafe-report-only"));
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestReportInputs {
+    @TempDir
+    Path tempDir;
+
+    private MavenProject project;
+
+    private Path source;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+        project = new MavenProject(model);
+
+        Path sources = tempDir.resolve("src/main/java");
+        source = sources.resolve("org/example/Example.java");
+        Files.createDirectories(source.getParent());
+        write(source, "class Example {}");
+        project.addCompileSourceRoot(sources.toString());
+    }
+
+    /**
+     * Create a project in the given directory, with paths interpolated like in an effective model.
+     */
+    private static MavenProject newProject(Path basedir) throws Exception {
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+        Build build = new Build();
+        build.setDirectory(basedir.resolve("target").toString());
+        build.setOutputDirectory(basedir.resolve("target/classes").toString());
+        build.setSourceDirectory(basedir.resolve("src/main/java").toString());
+        model.setBuild(build);
+        MavenProject project = new MavenProject(model);
+        project.setFile(basedir.resolve("pom.xml").toFile());
+
+        Path sources = basedir.resolve("src/main/java");
+        Files.createDirectories(sources.resolve("org/example"));
+        write(sources.resolve("org/example/Example.java"), "class Example {}");
+        project.addCompileSourceRoot(sources.toString());
+        return project;
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MavenReportExecution newExecution(String goal, String version, Xpp3Dom configuration) {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.example");
+        plugin.setArtifactId("example-maven-plugin");
+        plugin.setVersion(version);
+
+        MavenReportExecution mavenReportExecution =
+                new MavenReportExecution(goal, plugin, new InMemoryReport(), null, false);
+        mavenReportExecution.setInputs(project, configuration);
+        return mavenReportExecution;
+    }
+
+    private static Xpp3Dom newConfiguration(String value) {
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        Xpp3Dom parameter = new Xpp3Dom("parameter");
+        parameter.setValue(value);
+        configuration.addChild(parameter);
+        return configuration;
+    }
+
+    @Test
+    void fingerprintIsStable() throws Exception {
+        String fingerprint = newExecution("report", "1.0", newConfiguration("a")).getInputFingerprint();
+
+        assertEquals(64, fingerprint.length());
+        assertEquals(fingerprint, newExecution("report", "1.0", newConfiguration("a")).getInputFingerprint());
+        assertEquals(
+                ReportInputs.projectFingerprint(project),
+                ReportInputs.projectFingerprint(project),
+                "project fingerprint");
+    }
+
+    @Test
+    void fingerprintDependsOnReportPluginAndConfiguration() throws Exception {
+        String fingerprint = newExecution("report", "1.0", newConfiguration("a")).getInputFingerprint();
+
+        assertNotEquals(fingerprint, newExecution("other-report", "1.0", newConfiguration("a")).getInputFingerprint());
+        assertNotEquals(fingerprint, newExecution("report", "1.1", newConfiguration("a")).getInputFingerprint());
+        assertNotEquals(fingerprint, newExecution("report", "1.0", newConfiguration("b")).getInputFingerprint());
+
+        MavenReportExecution withDependency = newExecution("report", "1.0", newConfiguration("a"));
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId("extra");
+        dependency.setVersion("1.0");
+        withDependency.getPlugin().addDependency(dependency);
+        assertNotEquals(fingerprint, withDependency.getInputFingerprint());
+    }
+
+    @Test
+    void fingerprintDependsOnProject() throws Exception {
+        MavenReportExecution mavenReportExecution = newExecution("report", "1.0", newConfiguration("a"));
+        String fingerprint = mavenReportExecution.getInputFingerprint();
+
+        write(source, "class Example { int field; }");
+        String changedSource = mavenReportExecution.getInputFingerprint();
+        assertNotEquals(fingerprint, changedSource);
+        assertEquals(changedSource, mavenReportExecution.getInputFingerprint());
+
+        project.getModel().setDescription("described");
+        assertNotEquals(changedSource, mavenReportExecution.getInputFingerprint());
+    }
+
+    @Test
+    void fingerprintDependsOnInputPaths() throws Exception {
+        File input = tempDir.resolve("target/jacoco.exec").toFile();
+        MavenReportExecution mavenReportExecution = newExecution("report", "1.0", newConfiguration("a"));
+        mavenReportExecution.setInputPaths(Collections.singletonList(input));
+        String missing = mavenReportExecution.getInputFingerprint();
+
+        Files.createDirectories(input.toPath().getParent());
+        write(input.toPath(), "coverage");
+        String present = mavenReportExecution.getInputFingerprint();
+        assertNotEquals(missing, present);
+
+        write(input.toPath(), "more coverage");
+        assertNotEquals(present, mavenReportExecution.getInputFingerprint());
+        assertEquals(missing, newExecution("report", "1.0", newConfiguration("a")).getInputFingerprint());
+    }
+
+    @Test
+    void fingerprintDoesNotDependOnProjectLocation() throws Exception {
+        MavenProject checkout = newProject(tempDir.resolve("checkout"));
+        MavenProject copy = newProject(tempDir.resolve("copy"));
+
+        assertEquals(ReportInputs.projectFingerprint(checkout), ReportInputs.projectFingerprint(copy));
+
+        copy.getBuild().setOutputDirectory(tempDir.resolve("copy/target/other").toString());
+        assertNotEquals(ReportInputs.projectFingerprint(checkout), ReportInputs.projectFingerprint(copy));
+    }
+
+    @Test
+    void fingerprintDependsOnReactorDependencyOutputDirectory() throws Exception {
+        Path classes = tempDir.resolve("module/target/classes");
+        Files.createDirectories(classes.resolve("org/example"));
+        Path classFile = classes.resolve("org/example/Module.class");
+        write(classFile, "version 1");
+
+        Artifact artifact = new DefaultArtifact(
+                "org.example", "module", "1.0", Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(classes.toFile());
+        project.setArtifacts(Collections.singleton(artifact));
+        String fingerprint = ReportInputs.projectFingerprint(project);
+
+        write(classFile, "version 2");
+        classFile.toFile().setLastModified(classes.toFile().lastModified());
+        assertNotEquals(fingerprint, ReportInputs.projectFingerprint(project));
+    }
+
+    @Test
+    void noFingerprintWithoutInputs() throws Exception {
+        assertNull(newExecution("report", "1.0", null).getInputFingerprint());
+        assertNull(new MavenReportExecution(new InMemoryReport()).getInputFingerprint());
+
+        MavenReportExecution released = newExecution("report", "1.0", newConfiguration("a"));
+        released.release();
+        assertNull(released.getInputFingerprint());
+    }
+
+    @Test
+    void upToDate() throws Exception {
+        MavenReportExecution mavenReportExecution = newExecution("report", "1.0", newConfiguration("a"));
+        String fingerprint = mavenReportExecution.getInputFingerprint();
+
+        assertTrue(mavenReportExecution.isUpToDate(fingerprint));
+        assertFalse(mavenReportExecution.isUpToDate(null));
+        write(source, "class Example { int field; }");
+        assertFalse(mavenReportExecution.isUpToDate(fingerprint));
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import javax.swing.text.AttributeSet;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestReportOutputCache {
+    @TempDir
+    Path tempDir;
+
+    private ReportOutputCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportOutputCache(new FileSystemReportOutputStore(tempDir.resolve("store")));
+    }
+
+    private InMemoryReport newReport(String outputName) {
+        InMemoryReport report = new InMemoryReport() {
+            @Override
+            public String getOutputName() {
+                return outputName;
+            }
+        };
+        report.setReportOutputDirectory(tempDir.resolve("site").toFile());
+        return report;
+    }
+
+    private static MavenReportExecution newExecution(String goal, InMemoryReport report) {
+        return newExecution(goal, report, null);
+    }
+
+    /**
+     * Create a report execution of a project in the given base directory, with paths interpolated like in an
+     * effective model and a mojo configuration.
+     */
+    private static MavenReportExecution newExecution(String goal, InMemoryReport report, Path basedir) {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.example");
+        plugin.setArtifactId("example-maven-plugin");
+        plugin.setVersion("1.0");
+
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+
+        MavenProject project = new MavenProject(model);
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        if (basedir != null) {
+            Path sources = basedir.resolve("src/main/java");
+            Build build = new Build();
+            build.setDirectory(basedir.resolve("target").toString());
+            build.setSourceDirectory(sources.toString());
+            model.setBuild(build);
+            project.setFile(basedir.resolve("pom.xml").toFile());
+            project.addCompileSourceRoot(sources.toString());
+            Xpp3Dom sourcepath = new Xpp3Dom("sourcepath");
+            sourcepath.setValue(sources.toString());
+            configuration.addChild(sourcepath);
+        }
+
+        MavenReportExecution mavenReportExecution = new MavenReportExecution(goal, plugin, report, null, false);
+        mavenReportExecution.setInputs(project, configuration);
+        return mavenReportExecution;
+    }
+
+    @Test
+    void restoreReplaysEventsAndFiles() throws Exception {
+        InMemoryReport report = newReport("apidocs/index");
+        String key = cache.getKey(newExecution("javadoc", report), Locale.ENGLISH);
+        assertNotNull(key);
+
+        List<String> generated = new ArrayList<>();
+        ReportOutputCache.Recorder recorder = cache.record(newSink(generated));
+        Sink sink = recorder.getSink();
+        sink.section1();
+        sink.text("Javadoc");
+        SinkEventAttributeSet attributes = new SinkEventAttributeSet();
+        attributes.addAttribute(SinkEventAttributeSet.CLASS, "external");
+        sink.link("apidocs/index.html", attributes);
+        sink.section1_();
+        Path page = tempDir.resolve("site/apidocs/org/example/Example.html");
+        Files.createDirectories(page.getParent());
+        Files.write(page, "example".getBytes(StandardCharsets.UTF_8));
+        assertTrue(recorder.isRecordable());
+        cache.store(key, report, recorder);
+
+        FileSystemReportOutputStore.delete(tempDir.resolve("site"));
+        List<String> restored = new ArrayList<>();
+        assertTrue(cache.restore(key, report, newSink(restored)));
+
+        assertEquals(
+                Arrays.asList(
+                        "section1[]", "text[Javadoc]", "link[apidocs/index.html, {class=external}]", "section1_[]"),
+                generated);
+        assertEquals(generated, restored);
+        assertEquals("example", new String(Files.readAllBytes(page), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void restoreWithoutStoredOutput() throws Exception {
+        InMemoryReport report = newReport("apidocs/index");
+        String key = cache.getKey(newExecution("javadoc", report), Locale.ENGLISH);
+
+        List<String> restored = new ArrayList<>();
+        assertFalse(cache.restore(key, report, newSink(restored)));
+
+        assertEquals(Collections.emptyList(), restored);
+    }
+
+    @Test
+    void filesOfReportAtRootAreNotStored() throws Exception {
+        InMemoryReport report = newReport("dependencies");
+        String key = cache.getKey(newExecution("dependencies", report), Locale.ENGLISH);
+        // written by another report
+        Path file = tempDir.resolve("site/apidocs/index.html");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "other".getBytes(StandardCharsets.UTF_8));
+
+        ReportOutputCache.Recorder recorder = cache.record(newSink(new ArrayList<>()));
+        recorder.getSink().text("Dependencies");
+        cache.store(key, report, recorder);
+
+        assertTrue(Files.isDirectory(tempDir.resolve("store").resolve(key)));
+        assertFalse(Files.exists(tempDir.resolve("store").resolve(key).resolve("files")));
+    }
+
+    @Test
+    void unrecordableEventsAreNotStored() throws Exception {
+        InMemoryReport report = newReport("apidocs/index");
+        String key = cache.getKey(newExecution("javadoc", report), Locale.ENGLISH);
+
+        List<String> generated = new ArrayList<>();
+        ReportOutputCache.Recorder recorder = cache.record(newSink(generated));
+        SinkEventAttributeSet attributes = new SinkEventAttributeSet();
+        attributes.addAttribute(SinkEventAttributeSet.WIDTH, new Object());
+        recorder.getSink().figureGraphics("image.png", attributes);
+        cache.store(key, report, recorder);
+
+        // the event still reached the actual sink
+        assertEquals(1, generated.size());
+        assertFalse(recorder.isRecordable());
+        assertFalse(cache.restore(key, report, newSink(new ArrayList<>())));
+    }
+
+    @Test
+    void keyDependsOnGoalAndLocale() throws Exception {
+        InMemoryReport report = newReport("apidocs/index");
+        MavenReportExecution javadoc = newExecution("javadoc", report);
+        String key = cache.getKey(javadoc, Locale.ENGLISH);
+
+        assertEquals(key, cache.getKey(javadoc, Locale.ENGLISH));
+        assertTrue(key.endsWith("-en"));
+        assertNotEquals(key, cache.getKey(javadoc, Locale.FRENCH));
+        assertNotEquals(key, cache.getKey(newExecution("test-javadoc", report), Locale.ENGLISH));
+    }
+
+    @Test
+    void restoreOutputOfProjectCopiedElsewhere() throws Exception {
+        Path checkout = tempDir.resolve("checkout");
+        Path source = checkout.resolve("src/main/java/org/example/Example.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, "class Example {}".getBytes(StandardCharsets.UTF_8));
+        Path copy = tempDir.resolve("copy");
+        FileSystemReportOutputStore.copy(checkout, copy);
+
+        InMemoryReport report = newReport("apidocs/index");
+        String key = cache.getKey(newExecution("javadoc", report, checkout), Locale.ENGLISH);
+        List<String> generated = new ArrayList<>();
+        ReportOutputCache.Recorder recorder = cache.record(newSink(generated));
+        recorder.getSink().text("Javadoc");
+        cache.store(key, report, recorder);
+
+        // another build, like on another machine sharing the store
+        ReportOutputCache copyCache = new ReportOutputCache(new FileSystemReportOutputStore(tempDir.resolve("store")));
+        String copyKey = copyCache.getKey(newExecution("javadoc", report, copy), Locale.ENGLISH);
+        assertEquals(key, copyKey);
+        List<String> restored = new ArrayList<>();
+        assertTrue(copyCache.restore(copyKey, report, newSink(restored)));
+        assertEquals(generated, restored);
+
+        Files.write(copy.resolve(checkout.relativize(source)), "class Changed {}".getBytes(StandardCharsets.UTF_8));
+        ReportOutputCache changedCache =
+                new ReportOutputCache(new FileSystemReportOutputStore(tempDir.resolve("store")));
+        assertNotEquals(key, changedCache.getKey(newExecution("javadoc", report, copy), Locale.ENGLISH));
+    }
+
+    @Test
+    void noKeyWithoutInputs() throws Exception {
+        InMemoryReport report = newReport("apidocs/index");
+        MavenReportExecution released = newExecution("javadoc", report);
+        released.release();
+
+        assertNull(cache.getKey(released, Locale.ENGLISH));
+        assertNull(cache.getKey(new MavenReportExecution(report), Locale.ENGLISH));
+    }
+
+    /**
+     * Create a sink recording its events as <code>method[arguments]</code>.
+     */
+    private static Sink newSink(List<String> events) {
+        return (Sink) Proxy.newProxyInstance(
+                TestReportOutputCache.class.getClassLoader(), new Class<?>[] {Sink.class}, (proxy, method, args) -> {
+                    List<String> values = new ArrayList<>();
+                    for (Object arg : (args == null) ? new Object[0] : args) {
+                        values.add((arg instanceof AttributeSet) ? toString((AttributeSet) arg) : String.valueOf(arg));
+                    }
+                    events.add(method.getName() + values);
+                    return null;
+                });
+    }
+
+    private static String toString(AttributeSet attributes) {
+        Map<String, Object> values = new TreeMap<>();
+        for (Enumeration<?> names = attributes.getAttributeNames(); names.hasMoreElements(); ) {
+            Object name = names.nextElement();
+            values.put(String.valueOf(name), attributes.getAttribute(name));
+        }
+        return values.toString();
+    }
+}
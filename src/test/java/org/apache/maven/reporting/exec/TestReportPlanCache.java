@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
+import org.eclipse.aether.repository.LocalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestReportPlanCache {
+    @TempDir
+    Path directory;
+
+    private DefaultRepositorySystemSession repositorySession;
+
+    private File file;
+
+    private Path artifact;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repositorySession = new DefaultRepositorySystemSession();
+        repositorySession.setLocalRepositoryManager(new SimpleLocalRepositoryManagerFactory()
+                .newInstance(repositorySession, new LocalRepository(directory.resolve("repository").toFile())));
+        file = directory.resolve("target/maven-reporting-exec/report-plans.xml").toFile();
+
+        artifact = directory.resolve("repository")
+                .resolve(repositorySession
+                        .getLocalRepositoryManager()
+                        .getPathForLocalArtifact(new DefaultArtifact("org.example", "report-plugin", "jar", "1.0")));
+        Files.createDirectories(artifact.getParent());
+        Files.write(artifact, "plugin".getBytes(UTF_8));
+    }
+
+    private ReportPlanCache newCache(String fingerprint) {
+        return new ReportPlanCache(file, fingerprint, repositorySession, null, null);
+    }
+
+    private static ReportPlugin[] newReportPlugins() {
+        ReportPlugin reportPlugin = new ReportPlugin();
+        reportPlugin.setGroupId("org.example");
+        reportPlugin.setArtifactId("report-plugin");
+        return new ReportPlugin[] {reportPlugin};
+    }
+
+    private static List<ReportPlanCache.Entry> newEntries() {
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        Xpp3Dom parameter = new Xpp3Dom("parameter");
+        parameter.setValue("value");
+        configuration.addChild(parameter);
+
+        ReportPlanCache.Entry entry = new ReportPlanCache.Entry(false);
+        entry.setPlugin("org.example", "report-plugin", "1.0");
+        entry.getPlans()
+                .add(new MavenReportPlan.Builder()
+                        .plugin("org.example", "report-plugin", "1.0")
+                        .goal("report")
+                        .reportSet("reports")
+                        .configuration(configuration)
+                        .userDefined(true)
+                        .aggregator(false)
+                        .fork("generate-sources", null, null)
+                        .build());
+        return Collections.singletonList(entry);
+    }
+
+    @Test
+    void roundTrip() {
+        newCache("fingerprint").store(newEntries());
+
+        List<ReportPlanCache.Entry> entries = newCache("fingerprint").load(newReportPlugins());
+
+        assertNotNull(entries);
+        assertEquals(1, entries.size());
+        ReportPlanCache.Entry entry = entries.get(0);
+        assertTrue(entry.isCached());
+        assertEquals("1.0", entry.getVersion());
+        assertEquals(1, entry.getPlans().size());
+        MavenReportPlan plan = entry.getPlans().get(0);
+        assertEquals("org.example:report-plugin", plan.getPluginKey());
+        assertEquals("report", plan.getGoal());
+        assertEquals("reports", plan.getReportSetId());
+        assertEquals("value", plan.getConfiguration().getChild("parameter").getValue());
+        assertTrue(plan.isUserDefined());
+        assertFalse(plan.isAggregator());
+        assertTrue(plan.isForking());
+        assertEquals("generate-sources", plan.getExecutePhase());
+        assertNull(plan.getExecuteLifecycle());
+        assertNull(plan.getExecuteGoal());
+    }
+
+    @Test
+    void staleWhenFingerprintChanges() {
+        newCache("fingerprint").store(newEntries());
+
+        assertNull(newCache("other").load(newReportPlugins()));
+    }
+
+    @Test
+    void staleWhenPluginArtifactChanges() throws Exception {
+        newCache("fingerprint").store(newEntries());
+
+        Files.write(artifact, "rebuilt plugin".getBytes(UTF_8));
+
+        assertNull(newCache("fingerprint").load(newReportPlugins()));
+    }
+
+    @Test
+    void staleWhenPluginArtifactIsMissing() throws Exception {
+        newCache("fingerprint").store(newEntries());
+
+        Files.delete(artifact);
+
+        assertNull(newCache("fingerprint").load(newReportPlugins()));
+    }
+
+    @Test
+    void notStoredWithoutPluginArtifact() throws Exception {
+        Files.delete(artifact);
+
+        newCache("fingerprint").store(newEntries());
+
+        assertFalse(file.exists());
+    }
+
+    @Test
+    void corruptFileIsIgnored() throws Exception {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), "<reportPlans fingerprint=\"fingerprint\"><plugin".getBytes(UTF_8));
+
+        assertNull(newCache("fingerprint").load(newReportPlugins()));
+
+        // and replaced by the next build
+        newCache("fingerprint").store(newEntries());
+        assertNotNull(newCache("fingerprint").load(newReportPlugins()));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budgets of report preparation, with in-memory Maven components: bytes allocated by
+ * {@link DefaultMavenReportExecutor#buildMavenReports(MavenReportExecutorRequest)} for each additional report plugin
+ * and report goal must not exceed committed budgets. Raise them only with a reason.
+ * <p>
+ * Only allocations of the calling thread are measured: requests use the serial path, with the default parallelism of
+ * 1 and without plugins pre-resolution, which prepares every report on the calling thread. Allocations of the staged
+ * path, spread over preparation threads, are not covered.
+ * </p>
+ */
+public class TestReportPreparationAllocation {
+    /**
+     * Budget of bytes allocated to prepare a report plugin, excluding its goals: about 21 KB when committed.
+     */
+    private static final long PLUGIN_BUDGET = 32 * 1024;
+
+    /**
+     * Budget of bytes allocated to prepare a report goal: about 22 KB when committed.
+     */
+    private static final long GOAL_BUDGET = 32 * 1024;
+
+    private static final int WARMUP = 10;
+
+    private static final int RUNS = 5;
+
+    private ClassRealm realm;
+
+    private DefaultMavenReportExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        realm = InMemoryFixtures.newRealm(false);
+        executor = InMemoryFixtures.newExecutor(realm);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        realm.getWorld().disposeRealm(realm.getId());
+    }
+
+    @Test
+    void allocationPerPluginAndGoal() throws Exception {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        // differences between reactor sizes exclude the fixed cost of a call, and excluding one of the 2 goals of each
+        // report plugin tells the cost of a goal
+        List<String> excludes = Collections.singletonList("*:test-report");
+        MavenReportExecutorRequest small = newRequest(5, Collections.emptyList());
+        MavenReportExecutorRequest large = newRequest(25, Collections.emptyList());
+        MavenReportExecutorRequest smallExcluded = newRequest(5, excludes);
+        MavenReportExecutorRequest largeExcluded = newRequest(25, excludes);
+        assertEquals(50, buildMavenReports(large));
+        assertEquals(25, buildMavenReports(largeExcluded));
+
+        for (int i = 0; i < WARMUP; i++) {
+            buildMavenReports(small);
+            buildMavenReports(large);
+            buildMavenReports(smallExcluded);
+            buildMavenReports(largeExcluded);
+        }
+        long twoGoalsPlugin = (measure(allocationBean, large) - measure(allocationBean, small)) / 20;
+        long oneGoalPlugin = (measure(allocationBean, largeExcluded) - measure(allocationBean, smallExcluded)) / 20;
+        long perGoal = twoGoalsPlugin - oneGoalPlugin;
+        long perPlugin = oneGoalPlugin - perGoal;
+
+        assertTrue(perPlugin <= PLUGIN_BUDGET, "report plugin preparation allocates " + perPlugin + " bytes");
+        assertTrue(perGoal <= GOAL_BUDGET, "report goal preparation allocates " + perGoal + " bytes");
+    }
+
+    private static MavenReportExecutorRequest newRequest(int reportPlugins, List<String> excludes) {
+        MavenReportExecutorRequest request = InMemoryFixtures.newRequest(
+                InMemoryFixtures.newProject(reportPlugins, 2 * reportPlugins),
+                InMemoryFixtures.newReportPlugins(reportPlugins));
+        request.setReportExcludes(excludes);
+        return request;
+    }
+
+    private int buildMavenReports(MavenReportExecutorRequest request) throws MojoExecutionException {
+        List<MavenReportExecution> mavenReportExecutions = executor.buildMavenReports(request);
+        mavenReportExecutions.forEach(MavenReportExecution::release);
+        return mavenReportExecutions.size();
+    }
+
+    /**
+     * Measure the median of bytes allocated by the current thread to build reports.
+     */
+    private long measure(com.sun.management.ThreadMXBean allocationBean, MavenReportExecutorRequest request)
+            throws MojoExecutionException {
+        long threadId = Thread.currentThread().getId();
+        long[] allocations = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = allocationBean.getThreadAllocatedBytes(threadId);
+            buildMavenReports(request);
+            allocations[i] = allocationBean.getThreadAllocatedBytes(threadId) - start;
+        }
+        Arrays.sort(allocations);
+        return allocations[RUNS / 2];
+    }
+}
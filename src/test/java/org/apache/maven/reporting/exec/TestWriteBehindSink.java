@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.reporting.exec;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.text.SimpleAttributeSet;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestWriteBehindSink {
+    private final List<String> written = new ArrayList<>();
+
+    private final List<Thread> writerThreads = new ArrayList<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+
+    private volatile CountDownLatch blocked = new CountDownLatch(0);
+
+    private final Sink sink = (Sink) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] {Sink.class}, (proxy, method, args) -> {
+                entered.countDown();
+                blocked.await();
+                if ("getDocumentLocator".equals(method.getName())) {
+                    written.add("locator after " + written.size());
+                    return null;
+                }
+                if ("rawText".equals(method.getName())) {
+                    throw new IllegalStateException("disk full");
+                }
+                writerThreads.add(Thread.currentThread());
+                StringBuilder event = new StringBuilder(method.getName());
+                if (args != null) {
+                    for (Object arg : args) {
+                        Object value = (arg instanceof SinkEventAttributes)
+                                ? ((SinkEventAttributes) arg).getAttribute("id")
+                                : arg;
+                        event.append(' ').append(value);
+                    }
+                }
+                written.add(event.toString());
+                return null;
+            });
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void writeBehind() throws Exception {
+        WriteBehindSink writeBehindSink = WriteBehindSink.of(sink, 1024, executor);
+        Sink reportSink = writeBehindSink;
+        Attributes attributes = new Attributes();
+
+        for (int i = 0; i < 1000; i++) {
+            attributes.addAttribute("id", "p" + i);
+            reportSink.paragraph(attributes);
+            reportSink.text("text " + i);
+        }
+        reportSink.getDocumentLocator();
+        reportSink.paragraph_();
+        writeBehindSink.finish();
+
+        assertEquals(2002, written.size());
+        assertEquals("paragraph p0", written.get(0));
+        assertEquals("text text 999", written.get(1999));
+        assertEquals("locator after 2000", written.get(2000));
+        assertEquals("paragraph_", written.get(2001));
+    }
+
+    @Test
+    void writeOnReportThreadWhenNoWriterRuns() throws Exception {
+        WriteBehindSink writeBehindSink = WriteBehindSink.of(sink, 256, task -> {});
+
+        for (int i = 0; i < 1000; i++) {
+            writeBehindSink.text("text " + i);
+        }
+        writeBehindSink.finish();
+
+        assertEquals(1000, written.size());
+        assertEquals("text text 999", written.get(999));
+        assertSame(Thread.currentThread(), writerThreads.get(0));
+    }
+
+    @Test
+    void failure() throws Exception {
+        WriteBehindSink writeBehindSink = WriteBehindSink.of(sink, 256, executor);
+
+        writeBehindSink.rawText("raw");
+        IllegalStateException e = assertThrows(IllegalStateException.class, writeBehindSink::finish);
+
+        assertEquals("disk full", e.getMessage());
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void backpressure() throws Exception {
+        blocked = new CountDownLatch(1);
+        WriteBehindSink writeBehindSink = WriteBehindSink.of(sink, 512, executor);
+        for (int i = 0; i < WriteBehindSink.BATCH_SIZE; i++) {
+            writeBehindSink.text("text " + i);
+        }
+        // the writer is blocked writing the first batch
+        entered.await();
+
+        AtomicInteger produced = new AtomicInteger(WriteBehindSink.BATCH_SIZE);
+        Thread report = new Thread(() -> {
+            for (int i = WriteBehindSink.BATCH_SIZE; i < 10 * WriteBehindSink.BATCH_SIZE; i++) {
+                writeBehindSink.text("text " + i);
+                produced.incrementAndGet();
+            }
+        });
+        report.start();
+
+        report.join(500);
+        assertTrue(report.isAlive());
+        assertTrue(produced.get() <= 512, "produced " + produced);
+
+        blocked.countDown();
+        report.join();
+        writeBehindSink.finish();
+        assertEquals(10 * WriteBehindSink.BATCH_SIZE, written.size());
+        assertEquals("text text 2559", written.get(written.size() - 1));
+        assertNotEquals(Thread.currentThread(), writerThreads.get(0));
+    }
+
+    private static class Attributes extends SimpleAttributeSet implements SinkEventAttributes {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return Collections.singletonMap("id", getAttribute("id")).entrySet();
+        }
+    }
+}